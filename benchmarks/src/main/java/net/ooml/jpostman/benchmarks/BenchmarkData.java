@@ -0,0 +1,94 @@
+package net.ooml.jpostman.benchmarks;
+
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.model.Environment;
+import net.ooml.jpostman.model.Header;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.RequestBody;
+import net.ooml.jpostman.model.Variable;
+import net.ooml.jpostman.model.enums.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistic model instances shared by the benchmarks
+ */
+public final class BenchmarkData {
+
+    private static final HttpMethod[] METHODS = {HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE};
+
+    /**
+     * Build a collection of requests spread over folders
+     * Each request has a templated URL, query parameters, headers and, for
+     * writes, a JSON body of about 1 KB.
+     */
+    public static Collection collection(int requestCount) {
+        Collection collection = Collection.createNew("Benchmark API");
+        collection.setDescription("Generated collection with " + requestCount + " requests");
+
+        int folderCount = Math.max(1, requestCount / 25);
+        for (int i = 0; i < folderCount; i++) {
+            collection.getFolders().add(Collection.Folder.createNew("Folder " + i));
+        }
+
+        for (int i = 0; i < requestCount; i++) {
+            HttpMethod method = METHODS[i % METHODS.length];
+            Request request = Request.createNew("Request " + i, method);
+            request.setCollectionId(collection.getId());
+            request.setFolderId(collection.getFolders().get(i % folderCount).getId());
+            request.setUrl("{{baseUrl}}/api/v1/resources/" + i + "/items?page={{page}}");
+            request.getQueryParams().add(Header.builder().key("page").value("{{page}}").build());
+            request.getQueryParams().add(Header.builder().key("limit").value("50").build());
+            request.getHeaders().add(Header.builder().key("Authorization").value("Bearer {{token}}").build());
+            request.getHeaders().add(Header.builder().key("Accept").value("application/json").build());
+            request.getHeaders().add(Header.builder().key("X-Request-Id").value("req-" + i).build());
+            if (method == HttpMethod.POST || method == HttpMethod.PUT) {
+                request.setBody(RequestBody.createJson(jsonBody(i)));
+            }
+            collection.getRequests().add(request);
+        }
+        return collection;
+    }
+
+    /**
+     * Build an environment with the variables used by {@link #collection}
+     */
+    public static Environment environment(int extraVariables) {
+        List<Variable> variables = new ArrayList<>();
+        variables.add(variable("baseUrl", "https://api.example.com"));
+        variables.add(variable("page", "1"));
+        variables.add(variable("token", "eyJhbGciOiJIUzI1NiJ9.benchmark.token"));
+        for (int i = 0; i < extraVariables; i++) {
+            variables.add(variable("var" + i, "value-" + i));
+        }
+        return Environment.builder()
+                .name("benchmark")
+                .variables(variables)
+                .build();
+    }
+
+    /**
+     * JSON body of about 1 KB
+     */
+    public static String jsonBody(int seed) {
+        StringBuilder body = new StringBuilder("{\"id\":").append(seed).append(",\"items\":[");
+        for (int i = 0; i < 16; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"sku\":\"SKU-").append(seed).append('-').append(i)
+                    .append("\",\"quantity\":").append(i + 1)
+                    .append(",\"note\":\"{{note}}\"}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private static Variable variable(String key, String value) {
+        return Variable.builder().key(key).value(value).enabled(true).build();
+    }
+
+    private BenchmarkData() {
+        // Prevent instantiation
+    }
+}
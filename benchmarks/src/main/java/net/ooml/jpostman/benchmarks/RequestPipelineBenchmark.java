@@ -0,0 +1,145 @@
+package net.ooml.jpostman.benchmarks;
+
+import net.ooml.jpostman.model.Environment;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.Response;
+import net.ooml.jpostman.service.http.HttpRequestBuilder;
+import net.ooml.jpostman.service.http.HttpResponseHandler;
+import net.ooml.jpostman.service.variable.VariableResolver;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
+import net.ooml.jpostman.util.CurlGenerator;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request hot paths: variable resolution, request building, response
+ * handling and cURL export
+ * Responses are canned okhttp3.Response objects, so no network is involved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestPipelineBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    @Benchmark
+    public String resolveVariables(RequestState state) {
+        return state.resolver.resolve(state.template);
+    }
+
+    @Benchmark
+    public String resolveWithSnapshot(RequestState state) {
+        return state.snapshot.resolve(state.template);
+    }
+
+    @Benchmark
+    public okhttp3.Request buildRequest(RequestState state) {
+        return state.requestBuilder.build(state.request, state.snapshot);
+    }
+
+    @Benchmark
+    public String generateCurl(RequestState state) {
+        return CurlGenerator.generateCurl(state.request);
+    }
+
+    @Benchmark
+    public Response handleResponse(ResponseState state) {
+        // A response body can only be read once, so each call gets a new one
+        okhttp3.Response okHttpResponse = new okhttp3.Response.Builder()
+                .request(state.okHttpRequest)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .headers(state.headers)
+                .body(ResponseBody.create(state.body, JSON))
+                .build();
+        Response response = state.responseHandler.handleResponse(okHttpResponse, 0L);
+        response.releaseBody();
+        return response;
+    }
+
+    /**
+     * Resolver and a POST request with templated URL, params, headers and JSON body
+     */
+    @State(Scope.Benchmark)
+    public static class RequestState {
+
+        /**
+         * Number of variables besides the ones the request uses
+         */
+        @Param({"10", "1000"})
+        private int variables;
+
+        private VariableResolver resolver;
+        private VariableSnapshot snapshot;
+        private HttpRequestBuilder requestBuilder;
+        private Request request;
+        private String template;
+
+        @Setup
+        public void setUp() {
+            Environment globals = Environment.createNew("globals");
+            globals.setVariable("note", "benchmark");
+
+            resolver = new VariableResolver();
+            resolver.setGlobalVariables(globals);
+            resolver.setEnvironmentVariables(BenchmarkData.environment(variables));
+            snapshot = resolver.snapshot();
+            requestBuilder = new HttpRequestBuilder(resolver);
+
+            request = BenchmarkData.collection(2).getRequests().get(1);
+            template = request.getUrl() + " " + request.getBody().getContent();
+        }
+    }
+
+    /**
+     * Canned response parts
+     */
+    @State(Scope.Benchmark)
+    public static class ResponseState {
+
+        /**
+         * Response body size in bytes; 4 MB is spilled to a temp file
+         */
+        @Param({"1024", "65536", "4194304"})
+        private int responseSize;
+
+        private HttpResponseHandler responseHandler;
+        private okhttp3.Request okHttpRequest;
+        private Headers headers;
+        private byte[] body;
+
+        @Setup
+        public void setUp() {
+            responseHandler = new HttpResponseHandler();
+            okHttpRequest = new okhttp3.Request.Builder().url("https://api.example.com/api/v1/resources").build();
+            headers = new Headers.Builder()
+                    .add("Content-Type", "application/json")
+                    .add("Cache-Control", "no-cache")
+                    .add("Date", "Mon, 01 Jan 2024 00:00:00 GMT")
+                    .add("Server", "benchmark")
+                    .build();
+            body = new byte[responseSize];
+            Arrays.fill(body, (byte) 'x');
+        }
+    }
+}
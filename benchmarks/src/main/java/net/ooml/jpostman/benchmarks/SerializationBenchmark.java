@@ -0,0 +1,118 @@
+package net.ooml.jpostman.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.ooml.jpostman.config.AppConfig;
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.service.storage.JsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load and save of collections and app config
+ * The "fresh" benchmarks reproduce a new ObjectMapper per call, as AppConfig
+ * used to do; the "shared" ones use the pre-built readers and writers of
+ * {@link JsonSerializer}. Run with -jvmArgsAppend -Djpostman.json.blackbird=false
+ * to measure without the Blackbird module.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int requests;
+
+    private Collection collection;
+    private byte[] collectionJson;
+    private byte[] collectionSmile;
+    private byte[] appConfigJson;
+
+    private ObjectReader collectionReader;
+    private ObjectWriter collectionWriter;
+    private ObjectReader collectionSmileReader;
+    private ObjectWriter collectionSmileWriter;
+    private ObjectReader appConfigReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        collection = BenchmarkData.collection(requests);
+        collectionReader = JsonSerializer.readerFor(Collection.class);
+        collectionWriter = JsonSerializer.writerFor(Collection.class);
+        collectionSmileReader = JsonSerializer.smileReaderFor(Collection.class);
+        collectionSmileWriter = JsonSerializer.smileWriterFor(Collection.class);
+        appConfigReader = JsonSerializer.readerFor(AppConfig.class);
+
+        collectionJson = collectionWriter.writeValueAsBytes(collection);
+        collectionSmile = collectionSmileWriter.writeValueAsBytes(collection);
+        appConfigJson = JsonSerializer.writerFor(AppConfig.class).writeValueAsBytes(AppConfig.getDefault());
+    }
+
+    @Benchmark
+    public Collection loadCollectionFreshMapper() throws IOException {
+        return freshMapper().readValue(collectionJson, Collection.class);
+    }
+
+    @Benchmark
+    public Collection loadCollectionShared() throws IOException {
+        return collectionReader.readValue(collectionJson);
+    }
+
+    @Benchmark
+    public Collection loadCollectionSmile() throws IOException {
+        return collectionSmileReader.readValue(collectionSmile);
+    }
+
+    @Benchmark
+    public byte[] saveCollectionFreshMapper() throws IOException {
+        return freshMapper().writerWithDefaultPrettyPrinter().writeValueAsBytes(collection);
+    }
+
+    @Benchmark
+    public byte[] saveCollectionShared() throws IOException {
+        return collectionWriter.writeValueAsBytes(collection);
+    }
+
+    @Benchmark
+    public byte[] saveCollectionSmile() throws IOException {
+        return collectionSmileWriter.writeValueAsBytes(collection);
+    }
+
+    @Benchmark
+    public AppConfig loadAppConfigFreshMapper() throws IOException {
+        return new ObjectMapper().readValue(appConfigJson, AppConfig.class);
+    }
+
+    @Benchmark
+    public AppConfig loadAppConfigShared() throws IOException {
+        return appConfigReader.readValue(appConfigJson);
+    }
+
+    /**
+     * Mapper configured like the application's, built per call
+     */
+    private static ObjectMapper freshMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+}
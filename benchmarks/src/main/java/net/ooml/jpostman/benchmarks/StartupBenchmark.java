@@ -0,0 +1,87 @@
+package net.ooml.jpostman.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.ooml.jpostman.config.AppConfig;
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.service.storage.JsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start: the first config and collection load in a fresh JVM
+ * Each fork measures one call, so serializer introspection is included.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private byte[] appConfigJson;
+    private byte[] collectionJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Written with an unrelated mapper so the measured one starts cold
+        ObjectMapper setupMapper = new ObjectMapper();
+        setupMapper.registerModule(new JavaTimeModule());
+        setupMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        appConfigJson = setupMapper.writeValueAsBytes(AppConfig.getDefault());
+        collectionJson = setupMapper.writeValueAsBytes(BenchmarkData.collection(200));
+    }
+
+    /**
+     * Separate mappers for config and collections, as before the facade
+     */
+    @Benchmark
+    public void firstLoadSeparateMappers(Blackhole blackhole) throws IOException {
+        blackhole.consume(new ObjectMapper().readValue(appConfigJson, AppConfig.class));
+
+        ObjectMapper storageMapper = new ObjectMapper();
+        storageMapper.registerModule(new JavaTimeModule());
+        storageMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        blackhole.consume(storageMapper.readValue(collectionJson, Collection.class));
+    }
+
+    @Benchmark
+    public void firstLoadShared(Blackhole blackhole) throws IOException {
+        blackhole.consume(JsonSerializer.readerFor(AppConfig.class).<AppConfig>readValue(appConfigJson));
+        blackhole.consume(JsonSerializer.readerFor(Collection.class).<Collection>readValue(collectionJson));
+    }
+
+    /**
+     * Main-thread cost once the startup prefetch has finished
+     */
+    @Benchmark
+    public void firstLoadAfterPrefetch(Blackhole blackhole, Prefetched prefetched) throws IOException {
+        blackhole.consume(JsonSerializer.readerFor(AppConfig.class).<AppConfig>readValue(appConfigJson));
+        blackhole.consume(JsonSerializer.readerFor(Collection.class).<Collection>readValue(collectionJson));
+    }
+
+    /**
+     * Runs the prefetch outside of the measurement
+     */
+    @State(Scope.Benchmark)
+    public static class Prefetched {
+        @Setup
+        public void prefetch() {
+            JsonSerializer.prefetch();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package net.ooml.jpostman.benchmarks;
+
+import net.ooml.jpostman.config.PathConfig;
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.model.enums.StorageFormat;
+import net.ooml.jpostman.service.storage.StorageCodec;
+import net.ooml.jpostman.service.storage.StorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * StorageService load and save of realistic collections
+ * Runs against a throwaway data directory: user.home is pointed at a temp
+ * directory before PathConfig is loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+
+    private static final String PROJECT = "benchmark";
+    private static final int COLLECTIONS = 10;
+
+    @Param({"100", "1000"})
+    private int requests;
+
+    @Param({"JSON", "SMILE"})
+    private StorageFormat format;
+
+    private Path home;
+    private StorageService storage;
+    private Collection collection;
+    private Path collectionFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        home = Files.createTempDirectory("jpostman-bench");
+        System.setProperty("user.home", home.toString());
+        PathConfig.initializeDirectories();
+
+        storage = StorageService.getInstance();
+        storage.createProject(PROJECT);
+        for (int i = 0; i < COLLECTIONS; i++) {
+            storage.saveCollection(PROJECT, BenchmarkData.collection(requests));
+        }
+        storage.flush();
+        storage.convertProject(PROJECT, format);
+
+        collection = storage.loadAllCollections(PROJECT).get(0);
+        collectionFile = StorageCodec.of(format)
+                .resolve(PathConfig.getCollectionsDirectory(PROJECT), collection.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.flush();
+        try (Stream<Path> files = Files.walk(home)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Serialize and write one collection through the write-behind queue
+     * Flushed right away, so the coalescing delay is not measured.
+     */
+    @Benchmark
+    public void saveCollection() throws IOException {
+        storage.saveCollection(PROJECT, collection);
+        storage.flush();
+    }
+
+    /**
+     * Parse one collection file
+     */
+    @Benchmark
+    public Collection parseCollection() throws IOException {
+        return StorageCodec.of(format).read(collectionFile, Collection.class);
+    }
+
+    /**
+     * Load one collection, served from the collection cache
+     */
+    @Benchmark
+    public Collection loadCollectionCached() throws IOException {
+        return storage.loadCollection(PROJECT, collection.getId());
+    }
+
+    /**
+     * Load the collection tree from the collection index
+     */
+    @Benchmark
+    public List<Collection> loadCollectionSummaries() throws IOException {
+        return storage.loadCollectionSummaries(PROJECT);
+    }
+}
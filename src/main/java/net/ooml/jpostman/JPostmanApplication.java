@@ -3,6 +3,8 @@ package net.ooml.jpostman;
 import net.ooml.jpostman.config.AppConfig;
 import net.ooml.jpostman.config.Constants;
 import net.ooml.jpostman.config.PathConfig;
+import net.ooml.jpostman.service.http.ResponseBodyReader;
+import net.ooml.jpostman.service.storage.JsonSerializer;
 import net.ooml.jpostman.service.storage.StorageService;
 import net.ooml.jpostman.ui.MainFrame;
 import net.ooml.jpostman.ui.i18n.I18nManager;
@@ -28,6 +30,11 @@ public class JPostmanApplication {
             System.setProperty("apple.awt.application.appearance", "system");
         }
 
+        // Build JSON readers and writers while the GUI starts
+        Thread prefetch = new Thread(JsonSerializer::prefetch, "json-prefetch");
+        prefetch.setDaemon(true);
+        prefetch.start();
+
         // Launch GUI on Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
             try {
@@ -44,6 +51,7 @@ public class JPostmanApplication {
 
         // Step 1: Initialize application directories
         PathConfig.initializeDirectories();
+        ResponseBodyReader.cleanupTempFiles();
         log.info("Application directories initialized");
 
         // Step 2: Load application configuration
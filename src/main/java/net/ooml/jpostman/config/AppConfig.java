@@ -1,11 +1,11 @@
 package net.ooml.jpostman.config;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import net.ooml.jpostman.service.storage.JsonSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -127,8 +127,7 @@ public class AppConfig {
         }
 
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            AppConfig config = mapper.readValue(configFile.toFile(), AppConfig.class);
+            AppConfig config = JsonSerializer.readerFor(AppConfig.class).readValue(configFile.toFile());
             log.info("Configuration loaded successfully");
             return config;
         } catch (IOException e) {
@@ -142,13 +141,11 @@ public class AppConfig {
      */
     public void save() throws IOException {
         Path configFile = PathConfig.getAppSettingsFile();
-        ObjectMapper mapper = new ObjectMapper();
 
         // Ensure config directory exists
         Files.createDirectories(configFile.getParent());
 
-        mapper.writerWithDefaultPrettyPrinter()
-                .writeValue(configFile.toFile(), this);
+        JsonSerializer.writerFor(AppConfig.class).writeValue(configFile.toFile(), this);
 
         log.info("Configuration saved successfully");
     }
@@ -23,6 +23,17 @@ public class Constants {
     public static final boolean DEFAULT_FOLLOW_REDIRECTS = true;
     public static final boolean DEFAULT_VALIDATE_SSL = true;
 
+    // HTTP Client Pool Defaults
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 32;
+    public static final long DEFAULT_KEEP_ALIVE_MS = 300000; // 5 minutes
+    public static final int DEFAULT_MAX_REQUESTS = 256;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+    public static final int DEFAULT_WORKER_THREADS = 256; // Platform threads, matches DEFAULT_MAX_REQUESTS
+    public static final long DEFAULT_DNS_TTL_MS = 60000;
+    public static final long DEFAULT_DNS_NEGATIVE_TTL_MS = 5000;
+    public static final long PREWARM_TIMEOUT_MS = 10000;
+    public static final long HTTP_CACHE_MAX_BYTES = 50L * 1024 * 1024; // Per project
+
     // UI Constants
     public static final int DIVIDER_SIZE = 6;
     public static final int COMPONENT_PADDING = 10;
@@ -1,5 +1,6 @@
 package net.ooml.jpostman.config;
 
+import net.ooml.jpostman.model.enums.StorageFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +24,7 @@ public class PathConfig {
     private static final Path CONFIG_DIR = APP_HOME.resolve("config");
     private static final Path PROJECTS_DIR = APP_HOME.resolve("projects");
     private static final Path LOGS_DIR = APP_HOME.resolve("logs");
+    private static final Path TEMP_DIR = APP_HOME.resolve("tmp");
 
     // Config files
     private static final Path APP_SETTINGS_FILE = CONFIG_DIR.resolve("app-settings.json");
@@ -43,6 +45,7 @@ public class PathConfig {
         createDirectory(CONFIG_DIR);
         createDirectory(PROJECTS_DIR);
         createDirectory(LOGS_DIR);
+        createDirectory(TEMP_DIR);
 
         // Create default project structure
         Path defaultProjectDir = PROJECTS_DIR.resolve(DEFAULT_PROJECT_NAME);
@@ -91,6 +94,13 @@ public class PathConfig {
         return LOGS_DIR;
     }
 
+    /**
+     * Get the temp directory (large response bodies etc.)
+     */
+    public static Path getTempDirectory() {
+        return TEMP_DIR;
+    }
+
     /**
      * Get the app settings file path
      */
@@ -150,15 +160,36 @@ public class PathConfig {
     /**
      * Get globals file path for a project
      */
-    public static Path getGlobalsFile(String projectName) {
-        return getProjectDirectory(projectName).resolve("globals.json");
+    public static Path getGlobalsFile(String projectName, StorageFormat format) {
+        return getProjectDirectory(projectName).resolve("globals" + format.getExtension());
+    }
+
+    /**
+     * Get collection index file path for a project
+     */
+    public static Path getCollectionIndexFile(String projectName, StorageFormat format) {
+        return getProjectDirectory(projectName).resolve("collections-index" + format.getExtension());
     }
 
     /**
      * Get history file path for a project
      */
-    public static Path getHistoryFile(String projectName) {
-        return getProjectDirectory(projectName).resolve("history.json");
+    public static Path getHistoryFile(String projectName, StorageFormat format) {
+        return getProjectDirectory(projectName).resolve("history" + format.getExtension());
+    }
+
+    /**
+     * Get history log directory for a project
+     */
+    public static Path getHistoryDirectory(String projectName) {
+        return getProjectDirectory(projectName).resolve("history");
+    }
+
+    /**
+     * Get HTTP response cache directory for a project
+     */
+    public static Path getHttpCacheDirectory(String projectName) {
+        return getProjectDirectory(projectName).resolve("http-cache");
     }
 
     /**
@@ -0,0 +1,141 @@
+package net.ooml.jpostman.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.ref.SoftReference;
+import java.nio.charset.Charset;
+import java.nio.charset.MalformedInputException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Handle to a response body
+ * Small bodies are kept in memory as text; large bodies live in a temp file
+ * and are only loaded when explicitly asked for.
+ */
+public class BodyHandle {
+
+    private final String inMemoryText;
+    private final Path file;
+    private final long size;
+    private final Charset charset;
+
+    // Text of a file-backed body, loaded on demand and released under memory pressure
+    private SoftReference<String> loadedText;
+
+    private BodyHandle(String inMemoryText, Path file, long size, Charset charset) {
+        this.inMemoryText = inMemoryText;
+        this.file = file;
+        this.size = size;
+        this.charset = charset;
+    }
+
+    /**
+     * Create a handle for a body held in memory
+     */
+    public static BodyHandle inMemory(String text, long size, Charset charset) {
+        return new BodyHandle(text, null, size, charset);
+    }
+
+    /**
+     * Create a handle for a body stored in a file
+     */
+    public static BodyHandle ofFile(Path file, long size, Charset charset) {
+        return new BodyHandle(null, file, size, charset);
+    }
+
+    /**
+     * Check if the body is held in memory
+     */
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * Get body size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the backing file, or null for in-memory bodies
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Get the charset used to decode the body
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Open a stream over the raw body bytes
+     */
+    public InputStream openStream() throws IOException {
+        if (isInMemory()) {
+            return new ByteArrayInputStream(inMemoryText.getBytes(charset));
+        }
+        return Files.newInputStream(file);
+    }
+
+    /**
+     * Get the whole body as text
+     * File-backed bodies are loaded lazily; prefer {@link #getPreview(int)} for display
+     */
+    public synchronized String getText() throws IOException {
+        if (isInMemory()) {
+            return inMemoryText;
+        }
+        String text = loadedText != null ? loadedText.get() : null;
+        if (text == null) {
+            text = new String(Files.readAllBytes(file), charset);
+            loadedText = new SoftReference<>(text);
+        }
+        return text;
+    }
+
+    /**
+     * Get at most the first maxChars characters of the body
+     */
+    public String getPreview(int maxChars) throws IOException {
+        if (isInMemory()) {
+            return inMemoryText.length() <= maxChars ? inMemoryText : inMemoryText.substring(0, maxChars);
+        }
+        try (Reader reader = Files.newBufferedReader(file, charset)) {
+            char[] buffer = new char[maxChars];
+            int total = 0;
+            int read;
+            while (total < maxChars && (read = reader.read(buffer, total, maxChars - total)) != -1) {
+                total += read;
+            }
+            return new String(buffer, 0, total);
+        } catch (MalformedInputException e) {
+            // Binary content; show what can be decoded leniently
+            byte[] bytes = new byte[(int) Math.min(size, maxChars)];
+            try (InputStream in = Files.newInputStream(file)) {
+                int total = in.readNBytes(bytes, 0, bytes.length);
+                return new String(bytes, 0, total, charset);
+            }
+        }
+    }
+
+    /**
+     * Delete the backing file, if any
+     */
+    public void release() {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Left for cleanup on next start
+            }
+            loadedText = null;
+        }
+    }
+}
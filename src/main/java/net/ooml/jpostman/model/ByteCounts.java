@@ -0,0 +1,43 @@
+package net.ooml.jpostman.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bytes transferred by an HTTP call, as counted on the wire
+ * Totals include redirects and retries. Header sizes are those of the
+ * HTTP/1.1 text form.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ByteCounts {
+
+    private long requestHeaderBytes; // Request line and headers
+    private long requestBodyBytes; // After request compression
+    private long responseHeaderBytes; // Status line and headers
+    private long responseBodyBytes; // As received, before content decoding
+    private long decodedBodyBytes; // After content decoding
+
+    /**
+     * Get the bytes sent, headers and body
+     */
+    @JsonIgnore
+    public long getBytesSent() {
+        return requestHeaderBytes + requestBodyBytes;
+    }
+
+    /**
+     * Get the bytes received, headers and body
+     */
+    @JsonIgnore
+    public long getBytesReceived() {
+        return responseHeaderBytes + responseBodyBytes;
+    }
+}
@@ -0,0 +1,104 @@
+package net.ooml.jpostman.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.ooml.jpostman.config.AppConfig;
+import net.ooml.jpostman.config.Constants;
+import net.ooml.jpostman.model.enums.CacheMode;
+import net.ooml.jpostman.model.enums.ExecutionMode;
+import net.ooml.jpostman.model.enums.HttpProtocol;
+
+/**
+ * HTTP client settings of a project: connection pool, dispatcher limits,
+ * protocol and timeouts
+ * Timeouts are in milliseconds; 0 means no timeout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ClientProfile {
+
+    @Builder.Default
+    private Integer maxIdleConnections = Constants.DEFAULT_MAX_IDLE_CONNECTIONS;
+
+    @Builder.Default
+    private Long keepAliveMs = Constants.DEFAULT_KEEP_ALIVE_MS;
+
+    @Builder.Default
+    private Integer maxRequests = Constants.DEFAULT_MAX_REQUESTS;
+
+    @Builder.Default
+    private Integer maxRequestsPerHost = Constants.DEFAULT_MAX_REQUESTS_PER_HOST;
+
+    @Builder.Default
+    private HttpProtocol protocol = HttpProtocol.HTTP_2;
+
+    @Builder.Default
+    private ExecutionMode executionMode = ExecutionMode.AUTO;
+
+    @Builder.Default
+    private Integer workerThreads = Constants.DEFAULT_WORKER_THREADS; // Platform thread pool size
+
+    @Builder.Default
+    private Integer connectTimeoutMs = Constants.DEFAULT_TIMEOUT_MS;
+
+    @Builder.Default
+    private Integer readTimeoutMs = Constants.DEFAULT_TIMEOUT_MS;
+
+    @Builder.Default
+    private Integer writeTimeoutMs = Constants.DEFAULT_TIMEOUT_MS;
+
+    @Builder.Default
+    private Integer callTimeoutMs = 0; // Whole call including redirects and body
+
+    @Builder.Default
+    private Long dnsTtlMs = Constants.DEFAULT_DNS_TTL_MS; // 0 disables the DNS cache
+
+    @Builder.Default
+    private Long dnsNegativeTtlMs = Constants.DEFAULT_DNS_NEGATIVE_TTL_MS; // Failed lookups
+
+    @Builder.Default
+    private CacheMode cacheMode = CacheMode.OFF; // Disk cache in the project directory
+
+    @Builder.Default
+    private Boolean followRedirects = Constants.DEFAULT_FOLLOW_REDIRECTS;
+
+    @Builder.Default
+    private Boolean validateSSL = Constants.DEFAULT_VALIDATE_SSL;
+
+    /**
+     * Create the default profile using the timeout, redirect and SSL settings
+     * of the application configuration
+     */
+    public static ClientProfile fromAppConfig(AppConfig appConfig) {
+        ClientProfile profile = ClientProfile.builder().build();
+        if (appConfig.getTimeout() != null) {
+            profile.setConnectTimeoutMs(appConfig.getTimeout());
+            profile.setReadTimeoutMs(appConfig.getTimeout());
+            profile.setWriteTimeoutMs(appConfig.getTimeout());
+        }
+        if (appConfig.getFollowRedirects() != null) {
+            profile.setFollowRedirects(appConfig.getFollowRedirects());
+        }
+        if (appConfig.getValidateSSL() != null) {
+            profile.setValidateSSL(appConfig.getValidateSSL());
+        }
+        return profile;
+    }
+
+    /**
+     * Create a profile with the same timeout for connect, read and write
+     */
+    public static ClientProfile withTimeout(int timeoutMs) {
+        return ClientProfile.builder()
+                .connectTimeoutMs(timeoutMs)
+                .readTimeoutMs(timeoutMs)
+                .writeTimeoutMs(timeoutMs)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package net.ooml.jpostman.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.ooml.jpostman.model.enums.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compact index of the collections of a project
+ * Holds what the collection tree needs (names, methods, folders) together with
+ * the state of each collection file, so the tree can be built from one small
+ * file instead of parsing every collection.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CollectionIndex {
+
+    public static final int CURRENT_VERSION = 1;
+
+    @Builder.Default
+    private int version = CURRENT_VERSION;
+
+    @Builder.Default
+    private List<Entry> collections = new ArrayList<>();
+
+    /**
+     * Index entry of one collection file
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Entry {
+        private String id;
+        private String name;
+        private String description;
+        private long fileModified; // Collection file modification time in millis
+        private long fileSize;
+
+        @Builder.Default
+        private List<Collection.Folder> folders = new ArrayList<>();
+
+        @Builder.Default
+        private List<RequestSummary> requests = new ArrayList<>();
+
+        /**
+         * Create an entry from a parsed collection and its file state
+         */
+        public static Entry of(Collection collection, long fileModified, long fileSize) {
+            return Entry.builder()
+                    .id(collection.getId())
+                    .name(collection.getName())
+                    .description(collection.getDescription())
+                    .fileModified(fileModified)
+                    .fileSize(fileSize)
+                    .folders(collection.getFolders() != null ? collection.getFolders() : new ArrayList<>())
+                    .requests(collection.getRequests() == null ? new ArrayList<>() :
+                            collection.getRequests().stream()
+                                    .map(RequestSummary::of)
+                                    .collect(Collectors.toList()))
+                    .build();
+        }
+
+        /**
+         * Create a stub collection holding stub requests
+         * Stubs carry ids, names, methods and folders only; load the full
+         * request from storage before editing or sending it.
+         */
+        public Collection toStub() {
+            return Collection.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .folders(new ArrayList<>(folders))
+                    .requests(requests.stream()
+                            .map(summary -> summary.toStub(id))
+                            .collect(Collectors.toList()))
+                    .build();
+        }
+    }
+
+    /**
+     * Index entry of one request
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class RequestSummary {
+        private String id;
+        private String name;
+        private HttpMethod method;
+        private String folderId;
+
+        public static RequestSummary of(Request request) {
+            return RequestSummary.builder()
+                    .id(request.getId())
+                    .name(request.getName())
+                    .method(request.getMethod())
+                    .folderId(request.getFolderId())
+                    .build();
+        }
+
+        Request toStub(String collectionId) {
+            return Request.builder()
+                    .id(id)
+                    .name(name)
+                    .method(method)
+                    .folderId(folderId)
+                    .collectionId(collectionId)
+                    .build();
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package net.ooml.jpostman.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import net.ooml.jpostman.model.enums.CompressionType;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Environment model for managing environment variables
@@ -27,9 +37,30 @@ public class Environment {
     @Builder.Default
     private List<Variable> variables = new ArrayList<>();
 
+    // Static host overrides, host name -> IP addresses (comma separated) or another host name
+    @Builder.Default
+    private Map<String, String> hosts = new LinkedHashMap<>();
+
+    // Request body compression for requests that do not set their own (optional)
+    private CompressionType requestCompression;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Key lookup index over variables, rebuilt lazily when the list changes
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient VariableIndex variableIndex = new VariableIndex();
+
+    // Bumped by every mutator, so snapshots can tell when to re-flatten
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient AtomicLong modificationCount = new AtomicLong();
+
     /**
      * Create a new environment
      */
@@ -44,25 +75,53 @@ public class Environment {
                 .build();
     }
 
+    /**
+     * Set variables and invalidate the lookup index
+     */
+    public void setVariables(List<Variable> variables) {
+        this.variables = variables;
+        variableIndex.invalidate();
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Set request body compression
+     */
+    public void setRequestCompression(CompressionType requestCompression) {
+        this.requestCompression = requestCompression;
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Get a counter that changes whenever the variables or settings change
+     * Includes changes made directly on Variable objects; adding or removing
+     * list elements is seen through the list size.
+     */
+    @JsonIgnore
+    public long getModificationCount() {
+        long count = modificationCount.get();
+        List<Variable> current = variables;
+        if (current != null) {
+            for (Variable variable : current) {
+                count += variable.getModificationCount();
+            }
+        }
+        return count;
+    }
+
     /**
      * Get variable value by key
      */
     public String getVariableValue(String key) {
-        return variables.stream()
-                .filter(v -> v.getEnabled() && key.equals(v.getKey()))
-                .findFirst()
-                .map(Variable::getValue)
-                .orElse(null);
+        Variable variable = variableIndex.get(variables).enabled.get(key);
+        return variable != null ? variable.getValue() : null;
     }
 
     /**
      * Add or update a variable
      */
     public void setVariable(String key, String value) {
-        Variable existing = variables.stream()
-                .filter(v -> key.equals(v.getKey()))
-                .findFirst()
-                .orElse(null);
+        Variable existing = variableIndex.get(variables).all.get(key);
 
         if (existing != null) {
             existing.setValue(value);
@@ -72,6 +131,7 @@ public class Environment {
                     .value(value)
                     .enabled(true)
                     .build());
+            variableIndex.invalidate();
         }
         touch();
     }
@@ -81,5 +141,62 @@ public class Environment {
      */
     public void touch() {
         this.updatedAt = LocalDateTime.now();
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Lookup index holder
+     * Snapshots are immutable and swapped atomically, so lookups from request
+     * threads never see a partially built map. A snapshot is rebuilt when the
+     * list is replaced or resized, or when any variable's key or enabled flag
+     * changed since it was built.
+     */
+    private static class VariableIndex {
+        private volatile Snapshot snapshot;
+
+        Snapshot get(List<Variable> variables) {
+            Snapshot current = snapshot;
+            long lookupChanges = Variable.getLookupChangeCount();
+            if (current == null || current.source != variables || current.size != variables.size()
+                    || current.lookupChanges != lookupChanges) {
+                // Read before building, so a change made meanwhile triggers another rebuild
+                current = new Snapshot(variables, lookupChanges);
+                snapshot = current;
+            }
+            return current;
+        }
+
+        void invalidate() {
+            snapshot = null;
+        }
+    }
+
+    /**
+     * First variable per key, overall and among enabled variables
+     */
+    private static class Snapshot {
+        private final List<Variable> source;
+        private final int size;
+        private final long lookupChanges;
+        private final Map<String, Variable> all;
+        private final Map<String, Variable> enabled;
+
+        Snapshot(List<Variable> variables, long lookupChanges) {
+            this.source = variables;
+            this.size = variables.size();
+            this.lookupChanges = lookupChanges;
+            this.all = new HashMap<>(variables.size() * 2);
+            this.enabled = new HashMap<>(variables.size() * 2);
+
+            for (Variable variable : variables) {
+                if (variable.getKey() == null) {
+                    continue;
+                }
+                all.putIfAbsent(variable.getKey(), variable);
+                if (Boolean.TRUE.equals(variable.getEnabled())) {
+                    enabled.putIfAbsent(variable.getKey(), variable);
+                }
+            }
+        }
     }
 }
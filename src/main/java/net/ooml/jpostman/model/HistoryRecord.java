@@ -0,0 +1,47 @@
+package net.ooml.jpostman.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.model.enums.RequestStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact history record of one sent request
+ * One line per record in the history log; request and response bodies are
+ * stored separately and referenced by content hash.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class HistoryRecord {
+
+    private String id;
+    private LocalDateTime timestamp;
+    private String source; // "editor", "runner", ...
+
+    private String requestId; // Reference to the original request (optional)
+    private String collectionId; // Reference to the collection (optional)
+    private String name;
+    private HttpMethod method;
+    private String url; // URL as sent, with variables resolved
+    private String urlTemplate; // URL before variables were resolved, only when it differs
+    private String requestBodyHash;
+
+    private RequestStatus status;
+    private Integer statusCode;
+    private String statusText;
+    private Long duration; // Response time in milliseconds
+    private Long size; // Response size in bytes
+    private String contentType;
+    private String responseBodyHash;
+    private String errorMessage;
+}
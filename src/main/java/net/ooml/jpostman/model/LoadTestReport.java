@@ -0,0 +1,54 @@
+package net.ooml.jpostman.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated result of a load test run
+ * Latencies are in milliseconds and measured from the intended start time of
+ * each request (corrected for coordinated omission). The uncorrected values
+ * measure from the moment the request was actually handed to the client.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LoadTestReport {
+
+    private String target; // Request or collection name
+    private Double targetRps;
+    private Long plannedDuration; // Planned duration in milliseconds
+    private Long elapsed; // Actual wall-clock duration in milliseconds
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    private Long sent;
+    private Long completed; // Answered or failed, excluding cancelled requests
+    private Long errors;
+    private Long cancelled; // Aborted in flight, left out of throughput and error rate
+    private Long incomplete; // Still in flight when the drain timeout expired
+
+    private Long bytesSent; // Headers and bodies on the wire
+    private Long bytesReceived;
+
+    private Double throughput; // Completed requests per second
+    private Double errorRate; // errors / completed
+
+    private Double p50;
+    private Double p90;
+    private Double p99;
+    private Double p999;
+    private Double max;
+    private Double mean;
+
+    private Double uncorrectedP50;
+    private Double uncorrectedP99;
+    private Double uncorrectedMax;
+}
@@ -0,0 +1,79 @@
+package net.ooml.jpostman.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.ooml.jpostman.config.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Canned response served by the mock server for a request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MockResponse {
+
+    @Builder.Default
+    private Boolean enabled = true;
+
+    @Builder.Default
+    private Integer statusCode = 200;
+
+    @Builder.Default
+    private List<Header> headers = new ArrayList<>();
+
+    private String body;
+
+    /**
+     * Delay before the status line is sent, in milliseconds
+     */
+    @Builder.Default
+    private Long latencyMs = 0L;
+
+    /**
+     * Send the body with chunked encoding in pieces of this many bytes; 0 sends it in one piece
+     */
+    @Builder.Default
+    private Integer chunkSize = 0;
+
+    /**
+     * Delay between chunks, in milliseconds
+     */
+    @Builder.Default
+    private Long chunkDelayMs = 0L;
+
+    /**
+     * Answer with a JSON description of the received request instead of the body
+     */
+    @Builder.Default
+    private Boolean echo = false;
+
+    /**
+     * Create a response with a JSON body
+     */
+    public static MockResponse json(int statusCode, String body) {
+        List<Header> headers = new ArrayList<>();
+        headers.add(Header.builder().key("Content-Type").value(Constants.CONTENT_TYPE_JSON).enabled(true).build());
+        return MockResponse.builder()
+                .statusCode(statusCode)
+                .headers(headers)
+                .body(body)
+                .build();
+    }
+
+    /**
+     * Create a response echoing the received request
+     */
+    public static MockResponse createEcho() {
+        return MockResponse.builder()
+                .echo(true)
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import net.ooml.jpostman.model.enums.StorageFormat;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -36,6 +37,8 @@ public class Project {
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Settings {
         private String defaultEnvironment;
+        private StorageFormat storageFormat; // Format of data files, JSON if not set
+        private ClientProfile clientProfile; // HTTP client settings, app defaults if not set
     }
 
     /**
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import net.ooml.jpostman.model.enums.CompressionType;
 import net.ooml.jpostman.model.enums.HttpMethod;
 
 import java.time.LocalDateTime;
@@ -45,6 +46,13 @@ public class Request {
     private RequestBody body = RequestBody.createEmpty();
 
     private String description;
+
+    // Request body compression; null uses the environment's setting
+    private CompressionType compression;
+
+    // Canned response served by the mock server (optional)
+    private MockResponse mock;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -84,6 +92,8 @@ public class Request {
                 .auth(this.auth)
                 .body(this.body)
                 .description(this.description)
+                .compression(this.compression)
+                .mock(this.mock)
                 .createdAt(now)
                 .updatedAt(now)
                 .build();
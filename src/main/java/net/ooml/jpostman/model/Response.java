@@ -1,12 +1,15 @@
 package net.ooml.jpostman.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import net.ooml.jpostman.model.enums.CacheStatus;
 import net.ooml.jpostman.model.enums.RequestStatus;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,9 +33,17 @@ public class Response {
     @Builder.Default
     private List<Header> headers = new ArrayList<>();
 
-    private String body;
+    private String body; // Body text, null when the body is stored in a file
+
+    @JsonIgnore
+    private BodyHandle bodyHandle; // Lazily-loaded handle to the full body
     private Long size; // Response size in bytes
+    private Long wireSize; // Body bytes as received, before content decoding
+    private String contentEncoding; // Content-Encoding of the received body, null if none
+    private ByteCounts byteCounts; // Headers and bodies counted on the wire (optional)
+    private CacheStatus cacheStatus; // Null when the response came from the network
     private Long duration; // Response time in milliseconds
+    private ResponseTimings timings; // Per-phase breakdown (optional)
     private LocalDateTime timestamp;
     private String errorMessage;
 
@@ -48,7 +59,7 @@ public class Response {
                 .status(RequestStatus.SUCCESS)
                 .headers(headers != null ? headers : new ArrayList<>())
                 .body(body)
-                .size(body != null ? (long) body.length() : 0L)
+                .size(body != null ? (long) body.getBytes(StandardCharsets.UTF_8).length : 0L)
                 .duration(duration)
                 .timestamp(LocalDateTime.now())
                 .build();
@@ -76,6 +87,34 @@ public class Response {
                 .build();
     }
 
+    /**
+     * Create cancelled response
+     */
+    public static Response createCancelled() {
+        return Response.builder()
+                .status(RequestStatus.CANCELLED)
+                .errorMessage("Request cancelled")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Check if the body is stored in a file instead of in memory
+     */
+    @JsonIgnore
+    public boolean isBodyInFile() {
+        return bodyHandle != null && !bodyHandle.isInMemory();
+    }
+
+    /**
+     * Release the body file, if any
+     */
+    public void releaseBody() {
+        if (bodyHandle != null) {
+            bodyHandle.release();
+        }
+    }
+
     /**
      * Check if response is successful (2xx status code)
      */
@@ -0,0 +1,31 @@
+package net.ooml.jpostman.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-phase timing breakdown of an HTTP call, in nanoseconds
+ * Phases run one after another, so they can be laid out as a waterfall.
+ * Connection phases are zero when a pooled connection was reused.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ResponseTimings {
+
+    private long queueNanos; // Call start until the first network phase
+    private long dnsNanos;
+    private long connectNanos; // TCP connect
+    private long tlsNanos; // TLS handshake
+    private long requestWriteNanos; // Request headers and body written
+    private long firstByteNanos; // Waiting for the first response byte (TTFB)
+    private long downloadNanos; // Response headers and body read
+    private long totalNanos;
+
+    private boolean connectionReused;
+}
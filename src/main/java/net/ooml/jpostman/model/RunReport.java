@@ -0,0 +1,96 @@
+package net.ooml.jpostman.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.ooml.jpostman.model.enums.RequestStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregated result set of a collection run
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RunReport {
+
+    private String collectionId;
+    private String collectionName;
+    private String folderId; // Folder the run was limited to (optional)
+    private Integer concurrency;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long elapsed; // Wall-clock time of the whole run in milliseconds
+
+    @Builder.Default
+    private List<RunResult> results = new ArrayList<>();
+
+    private Integer successCount;
+    private Integer failureCount;
+    private Integer cancelledCount;
+    private Long totalBytes;
+    private Long totalBytesSent; // Headers and bodies on the wire
+    private Long totalBytesReceived;
+    private Long totalDuration; // Sum of all response times in milliseconds
+
+    /**
+     * Create a report from the results of a finished run
+     */
+    public static RunReport create(Collection collection, String folderId, int concurrency,
+                                   LocalDateTime startedAt, long elapsed, List<RunResult> results) {
+        int success = 0;
+        int failure = 0;
+        int cancelled = 0;
+        long bytes = 0;
+        long bytesSent = 0;
+        long bytesReceived = 0;
+        long duration = 0;
+
+        for (RunResult result : results) {
+            if (result.isSuccessful()) {
+                success++;
+            } else if (result.getStatus() == RequestStatus.CANCELLED) {
+                cancelled++;
+            } else {
+                failure++;
+            }
+            bytes += result.getBytes() != null ? result.getBytes() : 0;
+            bytesSent += result.getBytesSent() != null ? result.getBytesSent() : 0;
+            bytesReceived += result.getBytesReceived() != null ? result.getBytesReceived() : 0;
+            duration += result.getDuration() != null ? result.getDuration() : 0;
+        }
+
+        return RunReport.builder()
+                .collectionId(collection.getId())
+                .collectionName(collection.getName())
+                .folderId(folderId)
+                .concurrency(concurrency)
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .elapsed(elapsed)
+                .results(results)
+                .successCount(success)
+                .failureCount(failure)
+                .cancelledCount(cancelled)
+                .totalBytes(bytes)
+                .totalBytesSent(bytesSent)
+                .totalBytesReceived(bytesReceived)
+                .totalDuration(duration)
+                .build();
+    }
+
+    /**
+     * Get total number of requests in the run
+     */
+    public int getTotalCount() {
+        return results != null ? results.size() : 0;
+    }
+}
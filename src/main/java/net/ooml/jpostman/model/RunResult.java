@@ -0,0 +1,79 @@
+package net.ooml.jpostman.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.model.enums.RequestStatus;
+
+/**
+ * Result of a single request executed by the collection runner
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RunResult {
+
+    private String requestId;
+    private String name;
+    private HttpMethod method;
+    private String url;
+
+    private RequestStatus status;
+    private Integer statusCode;
+    private Long duration; // Response time in milliseconds
+    private Long bytes; // Response size in bytes
+    private Long bytesSent; // Request headers and body on the wire
+    private Long bytesReceived; // Response headers and body on the wire
+    private String errorMessage;
+
+    /**
+     * Create a result from an executed request and its response
+     */
+    public static RunResult of(Request request, Response response) {
+        ByteCounts bytes = response.getByteCounts();
+        return RunResult.builder()
+                .requestId(request.getId())
+                .name(request.getName())
+                .method(request.getMethod())
+                .url(request.getUrl())
+                .status(response.getStatus())
+                .statusCode(response.getStatusCode())
+                .duration(response.getDuration() != null ? response.getDuration() : 0L)
+                .bytes(response.getSize() != null ? response.getSize() : 0L)
+                .bytesSent(bytes != null ? bytes.getBytesSent() : 0L)
+                .bytesReceived(bytes != null ? bytes.getBytesReceived() : 0L)
+                .errorMessage(response.getErrorMessage())
+                .build();
+    }
+
+    /**
+     * Create a result for a request that was skipped because the run was cancelled
+     */
+    public static RunResult cancelled(Request request) {
+        return RunResult.builder()
+                .requestId(request.getId())
+                .name(request.getName())
+                .method(request.getMethod())
+                .url(request.getUrl())
+                .status(RequestStatus.CANCELLED)
+                .duration(0L)
+                .bytes(0L)
+                .bytesSent(0L)
+                .bytesReceived(0L)
+                .errorMessage("Run cancelled")
+                .build();
+    }
+
+    /**
+     * Check if the request completed with a 2xx status code
+     */
+    public boolean isSuccessful() {
+        return status == RequestStatus.SUCCESS
+                && statusCode != null && statusCode >= 200 && statusCode < 300;
+    }
+}
@@ -1,10 +1,18 @@
 package net.ooml.jpostman.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Variable model for environment and global variables
@@ -15,6 +23,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Variable {
+    // Bumped by every key or enabled change of any variable, so lookup indexes know to rebuild
+    private static final AtomicLong LOOKUP_CHANGES = new AtomicLong();
+
     private String key;
     private String value;
 
@@ -25,4 +36,44 @@ public class Variable {
 
     @Builder.Default
     private Boolean secret = false; // Mark as secret (e.g., API keys, passwords)
+
+    // Bumped by the setters that change what a variable resolves to
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient AtomicInteger modificationCount = new AtomicInteger();
+
+    public void setKey(String key) {
+        this.key = key;
+        modificationCount.incrementAndGet();
+        LOOKUP_CHANGES.incrementAndGet();
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+        modificationCount.incrementAndGet();
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+        modificationCount.incrementAndGet();
+        LOOKUP_CHANGES.incrementAndGet();
+    }
+
+    /**
+     * Get the number of changes to key, value or enabled flag
+     */
+    @JsonIgnore
+    public int getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Get the number of key or enabled changes across all variables
+     * Changing a value does not count, since it does not move a variable in a lookup index.
+     */
+    public static long getLookupChangeCount() {
+        return LOOKUP_CHANGES.get();
+    }
 }
@@ -0,0 +1,25 @@
+package net.ooml.jpostman.model.enums;
+
+/**
+ * How the HTTP client uses its disk cache
+ */
+public enum CacheMode {
+    OFF("Off"),
+    STANDARD("Standard (follow cache headers)"),
+    REVALIDATE("Always revalidate (conditional requests)");
+
+    private final String displayName;
+
+    CacheMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,24 @@
+package net.ooml.jpostman.model.enums;
+
+/**
+ * How a response was served by the HTTP cache
+ */
+public enum CacheStatus {
+    HIT("From cache"),
+    REVALIDATED("Revalidated (304)");
+
+    private final String displayName;
+
+    CacheStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,34 @@
+package net.ooml.jpostman.model.enums;
+
+/**
+ * Content encoding applied to request bodies
+ */
+public enum CompressionType {
+    NONE("None", null),
+    GZIP("gzip", "gzip"),
+    DEFLATE("deflate", "deflate");
+
+    private final String displayName;
+    private final String encoding;
+
+    CompressionType(String displayName, String encoding) {
+        this.displayName = displayName;
+        this.encoding = encoding;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Get the Content-Encoding header value, or null for NONE
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,25 @@
+package net.ooml.jpostman.model.enums;
+
+/**
+ * Threads the HTTP client runs blocking calls on
+ */
+public enum ExecutionMode {
+    AUTO("Automatic (virtual threads when available)"),
+    PLATFORM("Platform threads (bounded pool)"),
+    VIRTUAL("Virtual threads (Java 21+)");
+
+    private final String displayName;
+
+    ExecutionMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -23,6 +23,13 @@ public enum HttpMethod {
         return value;
     }
 
+    /**
+     * Whether requests with this method are sent with their body
+     */
+    public boolean sendsBody() {
+        return this != GET && this != HEAD && this != DELETE;
+    }
+
     @Override
     public String toString() {
         return value;
@@ -0,0 +1,25 @@
+package net.ooml.jpostman.model.enums;
+
+/**
+ * Protocol preference of the HTTP client
+ */
+public enum HttpProtocol {
+    HTTP_1_1("HTTP/1.1"),
+    HTTP_2("HTTP/2 (TLS, falls back to HTTP/1.1)"),
+    H2C("HTTP/2 cleartext (prior knowledge)");
+
+    private final String displayName;
+
+    HttpProtocol(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
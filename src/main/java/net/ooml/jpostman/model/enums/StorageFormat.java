@@ -0,0 +1,46 @@
+package net.ooml.jpostman.model.enums;
+
+/**
+ * On-disk format of project data files
+ */
+public enum StorageFormat {
+    JSON("JSON", ".json"),
+    SMILE("Smile (binary)", ".smile");
+
+    private final String displayName;
+    private final String extension;
+
+    StorageFormat(String displayName, String extension) {
+        this.displayName = displayName;
+        this.extension = extension;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * File extension including the dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    /**
+     * Get the format of a data file from its name
+     * @return The format, or null if the file is not a data file
+     */
+    public static StorageFormat fromFileName(String fileName) {
+        for (StorageFormat format : values()) {
+            if (fileName.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
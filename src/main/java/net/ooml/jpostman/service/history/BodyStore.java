@@ -0,0 +1,154 @@
+package net.ooml.jpostman.service.history;
+
+import net.ooml.jpostman.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for history bodies
+ * Each distinct body is stored once, in a file named by its SHA-256 hash.
+ */
+class BodyStore {
+    private static final Logger log = LoggerFactory.getLogger(BodyStore.class);
+
+    private static final String STAGING_PREFIX = ".staging-";
+
+    private final Path directory;
+
+    BodyStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Store body bytes
+     * @return Content hash of the body
+     */
+    String store(byte[] content) throws IOException {
+        String hash = toHex(newDigest().digest(content));
+        Path target = resolve(hash);
+        if (!Files.exists(target)) {
+            FileUtil.writeAtomically(target, content);
+        }
+        return hash;
+    }
+
+    /**
+     * Take over a staged body file
+     * The staged file is moved into the store, or deleted if the content is already stored.
+     * @return Content hash of the body
+     */
+    String storeFile(Path staged) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(staged)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        String hash = toHex(digest.digest());
+        Path target = resolve(hash);
+        if (Files.exists(target)) {
+            Files.delete(staged);
+        } else {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Stage a body file that is about to be deleted by its owner
+     * Uses a hard link so no bytes are copied on the calling thread.
+     * @return Staged file, or null if the file system does not support links
+     */
+    Path stage(Path file) {
+        try {
+            Files.createDirectories(directory);
+            Path staged = directory.resolve(STAGING_PREFIX + UUID.randomUUID());
+            return Files.createLink(staged, file);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("Cannot stage body file {}: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Get the file holding a body
+     */
+    Path resolve(String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Delete stored bodies not in the given set of hashes
+     * @return Number of files deleted
+     */
+    int retainOnly(Set<String> hashes) throws IOException {
+        if (!Files.exists(directory)) {
+            return 0;
+        }
+
+        Set<Path> unused;
+        try (Stream<Path> files = Files.walk(directory)) {
+            unused = files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith(STAGING_PREFIX))
+                    .filter(file -> !hashes.contains(file.getFileName().toString()))
+                    .collect(Collectors.toSet());
+        }
+        for (Path file : unused) {
+            Files.deleteIfExists(file);
+        }
+        return unused.size();
+    }
+
+    /**
+     * Delete staged files left behind by a previous session
+     */
+    void cleanupStaging() throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().startsWith(STAGING_PREFIX))
+                    .collect(Collectors.toList())) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
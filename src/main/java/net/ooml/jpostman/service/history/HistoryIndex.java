@@ -0,0 +1,473 @@
+package net.ooml.jpostman.service.history;
+
+import net.ooml.jpostman.model.HistoryRecord;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.model.enums.RequestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory search index over history records
+ * Record fields are kept in primitive columns (one array per field) and
+ * response body words in an inverted index, so a query only touches the
+ * columns it filters on. URLs and hashes are stored once in dictionaries.
+ * Positions are in log order, so results are produced newest first by
+ * scanning backwards.
+ */
+class HistoryIndex {
+    private static final Logger log = LoggerFactory.getLogger(HistoryIndex.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_INDEXED_BYTES = 64 * 1024;
+    private static final int MAX_TOKENS_PER_BODY = 4096;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int TOKEN_CACHE_SIZE = 1024;
+    private static final String[] NO_TOKENS = new String[0];
+
+    private static final HttpMethod[] METHODS = HttpMethod.values();
+    private static final RequestStatus[] STATUSES = RequestStatus.values();
+
+    private final BodyStore bodyStore;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns(INITIAL_CAPACITY);
+
+    // Tokens of recently indexed bodies, only used by the writer thread
+    private final Map<String, String[]> tokenCache = new LinkedHashMap<String, String[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+            return size() > TOKEN_CACHE_SIZE;
+        }
+    };
+
+    HistoryIndex(BodyStore bodyStore) {
+        this.bodyStore = bodyStore;
+    }
+
+    /**
+     * Add a newly written record
+     */
+    void add(HistoryRecord record) {
+        String[] tokens = bodyTokens(record);
+        lock.writeLock().lock();
+        try {
+            columns.add(record, tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the index content with the given records, oldest first
+     */
+    void rebuild(List<HistoryRecord> records) {
+        long start = System.currentTimeMillis();
+        Columns rebuilt = new Columns(Math.max(INITIAL_CAPACITY, records.size()));
+        for (HistoryRecord record : records) {
+            rebuilt.add(record, bodyTokens(record));
+        }
+
+        lock.writeLock().lock();
+        try {
+            columns = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("History index rebuilt: {} records, {} words in {}ms",
+                records.size(), rebuilt.bodyTokens.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Get number of indexed records
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find records matching a query, newest first
+     * Returned records carry the indexed fields only.
+     */
+    List<HistoryRecord> search(HistoryQuery query) {
+        lock.readLock().lock();
+        try {
+            return columns.search(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the distinct words of a record's response body
+     */
+    private String[] bodyTokens(HistoryRecord record) {
+        String hash = record.getResponseBodyHash();
+        if (hash == null || !isTextual(record.getContentType())) {
+            return NO_TOKENS;
+        }
+
+        String[] tokens = tokenCache.get(hash);
+        if (tokens == null) {
+            tokens = readTokens(bodyStore.resolve(hash));
+            tokenCache.put(hash, tokens);
+        }
+        return tokens;
+    }
+
+    private static String[] readTokens(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] prefix = in.readNBytes(MAX_INDEXED_BYTES);
+            return tokenize(new String(prefix, StandardCharsets.UTF_8), MAX_TOKENS_PER_BODY);
+        } catch (IOException e) {
+            log.debug("Cannot index history body {}: {}", file.getFileName(), e.toString());
+            return NO_TOKENS;
+        }
+    }
+
+    /**
+     * Split text into distinct lowercase words of letters and digits
+     */
+    static String[] tokenize(String text, int maxTokens) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length && tokens.size() < maxTokens; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                int tokenLength = i - start;
+                if (tokenLength >= MIN_TOKEN_LENGTH && tokenLength <= MAX_TOKEN_LENGTH) {
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return tokens.toArray(NO_TOKENS);
+    }
+
+    private static boolean isTextual(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+                || type.contains("javascript") || type.contains("x-www-form-urlencoded")
+                || type.contains("graphql") || type.contains("yaml");
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Column storage of indexed records
+     */
+    private static class Columns {
+        private int size;
+        private long[] timestamps;
+        private long[] durations;
+        private int[] statusCodes;
+        private byte[] methods;
+        private byte[] statuses;
+        private int[] urls;
+        private int[] names;
+        private int[] requestBodies;
+        private int[] responseBodies;
+
+        private final Dictionary urlDictionary = new Dictionary();
+        private final Dictionary valueDictionary = new Dictionary();
+        private final Map<String, Postings> bodyTokens = new HashMap<>();
+
+        Columns(int capacity) {
+            timestamps = new long[capacity];
+            durations = new long[capacity];
+            statusCodes = new int[capacity];
+            methods = new byte[capacity];
+            statuses = new byte[capacity];
+            urls = new int[capacity];
+            names = new int[capacity];
+            requestBodies = new int[capacity];
+            responseBodies = new int[capacity];
+        }
+
+        void add(HistoryRecord record, String[] tokens) {
+            if (size == timestamps.length) {
+                grow(size * 2);
+            }
+
+            int position = size;
+            timestamps[position] = record.getTimestamp() != null ? toMillis(record.getTimestamp()) : 0;
+            durations[position] = record.getDuration() != null ? record.getDuration() : -1;
+            statusCodes[position] = record.getStatusCode() != null ? record.getStatusCode() : 0;
+            methods[position] = (byte) (record.getMethod() != null ? record.getMethod().ordinal() + 1 : 0);
+            statuses[position] = (byte) (record.getStatus() != null ? record.getStatus().ordinal() + 1 : 0);
+            urls[position] = urlDictionary.idOf(record.getUrl());
+            names[position] = valueDictionary.idOf(record.getName());
+            requestBodies[position] = valueDictionary.idOf(record.getRequestBodyHash());
+            responseBodies[position] = valueDictionary.idOf(record.getResponseBodyHash());
+
+            for (String token : tokens) {
+                bodyTokens.computeIfAbsent(token, t -> new Postings()).add(position);
+            }
+            size++;
+        }
+
+        private void grow(int capacity) {
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            statusCodes = Arrays.copyOf(statusCodes, capacity);
+            methods = Arrays.copyOf(methods, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            urls = Arrays.copyOf(urls, capacity);
+            names = Arrays.copyOf(names, capacity);
+            requestBodies = Arrays.copyOf(requestBodies, capacity);
+            responseBodies = Arrays.copyOf(responseBodies, capacity);
+        }
+
+        List<HistoryRecord> search(HistoryQuery query) {
+            List<HistoryRecord> results = new ArrayList<>();
+            int limit = query.getLimit() > 0 ? query.getLimit() : HistoryQuery.DEFAULT_LIMIT;
+
+            // Narrow to records containing every body word, if any were given
+            int[] candidates = null;
+            if (query.getTerms() != null && !query.getTerms().isEmpty()) {
+                candidates = matchTerms(query.getTerms());
+                if (candidates.length == 0) {
+                    return results;
+                }
+            }
+
+            BitSet matchingUrls = null;
+            if (query.getUrlContains() != null && !query.getUrlContains().isEmpty()) {
+                String fragment = query.getUrlContains().toLowerCase(Locale.ROOT);
+                matchingUrls = urlDictionary.matching(url -> url.toLowerCase(Locale.ROOT).contains(fragment));
+                if (matchingUrls.isEmpty()) {
+                    return results;
+                }
+            }
+
+            Filter filter = new Filter(query, matchingUrls);
+            if (candidates == null) {
+                for (int i = size - 1; i >= 0 && results.size() < limit; i--) {
+                    if (filter.matches(i)) {
+                        results.add(toRecord(i));
+                    }
+                }
+            } else {
+                for (int k = candidates.length - 1; k >= 0 && results.size() < limit; k--) {
+                    if (filter.matches(candidates[k])) {
+                        results.add(toRecord(candidates[k]));
+                    }
+                }
+            }
+            return results;
+        }
+
+        /**
+         * Intersect the postings of all words, rarest first
+         */
+        private int[] matchTerms(List<String> terms) {
+            List<Postings> lists = new ArrayList<>();
+            for (String term : terms) {
+                for (String token : tokenize(term, Integer.MAX_VALUE)) {
+                    Postings postings = bodyTokens.get(token);
+                    if (postings == null) {
+                        return new int[0];
+                    }
+                    lists.add(postings);
+                }
+            }
+            if (lists.isEmpty()) {
+                return new int[0];
+            }
+
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+            int[] result = Arrays.copyOf(lists.get(0).positions, lists.get(0).size);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = lists.get(i).intersect(result);
+            }
+            return result;
+        }
+
+        private HistoryRecord toRecord(int position) {
+            return HistoryRecord.builder()
+                    .timestamp(timestamps[position] != 0
+                            ? LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamps[position]), ZoneId.systemDefault())
+                            : null)
+                    .duration(durations[position] >= 0 ? durations[position] : null)
+                    .statusCode(statusCodes[position] != 0 ? statusCodes[position] : null)
+                    .method(methods[position] != 0 ? METHODS[methods[position] - 1] : null)
+                    .status(statuses[position] != 0 ? STATUSES[statuses[position] - 1] : null)
+                    .url(urlDictionary.valueOf(urls[position]))
+                    .name(valueDictionary.valueOf(names[position]))
+                    .requestBodyHash(valueDictionary.valueOf(requestBodies[position]))
+                    .responseBodyHash(valueDictionary.valueOf(responseBodies[position]))
+                    .build();
+        }
+
+        /**
+         * Column predicates of a query
+         */
+        private class Filter {
+            private final int methodCode;
+            private final int statusMin;
+            private final int statusMax;
+            private final long minDuration;
+            private final long maxDuration;
+            private final long from;
+            private final long to;
+            private final BitSet matchingUrls;
+
+            Filter(HistoryQuery query, BitSet matchingUrls) {
+                this.methodCode = query.getMethod() != null ? query.getMethod().ordinal() + 1 : 0;
+                this.statusMin = query.getStatusMin() != null ? query.getStatusMin() : Integer.MIN_VALUE;
+                this.statusMax = query.getStatusMax() != null ? query.getStatusMax() : Integer.MAX_VALUE;
+                this.minDuration = query.getMinDuration() != null ? query.getMinDuration() : Long.MIN_VALUE;
+                this.maxDuration = query.getMaxDuration() != null ? query.getMaxDuration() : Long.MAX_VALUE;
+                this.from = query.getFrom() != null ? toMillis(query.getFrom()) : Long.MIN_VALUE;
+                this.to = query.getTo() != null ? toMillis(query.getTo()) : Long.MAX_VALUE;
+                this.matchingUrls = matchingUrls;
+            }
+
+            boolean matches(int i) {
+                return timestamps[i] >= from && timestamps[i] <= to
+                        && statusCodes[i] >= statusMin && statusCodes[i] <= statusMax
+                        && durations[i] >= minDuration && durations[i] <= maxDuration
+                        && (methodCode == 0 || methods[i] == methodCode)
+                        && (matchingUrls == null || matchingUrls.get(urls[i]));
+            }
+        }
+    }
+
+    /**
+     * Interned strings, referenced by id; id 0 is null
+     */
+    private static class Dictionary {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        Dictionary() {
+            values.add(null);
+        }
+
+        int idOf(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                values.add(value);
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        String valueOf(int id) {
+            return values.get(id);
+        }
+
+        /**
+         * Get ids of all values accepted by the predicate
+         */
+        BitSet matching(Predicate<String> predicate) {
+            BitSet result = new BitSet(values.size());
+            for (int id = 1; id < values.size(); id++) {
+                if (predicate.test(values.get(id))) {
+                    result.set(id);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Ascending record positions containing one word
+     */
+    private static class Postings {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        /**
+         * Keep the given ascending positions that are also in this list
+         */
+        int[] intersect(int[] other) {
+            int[] result = new int[Math.min(other.length, size)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < other.length && j < size) {
+                if (other[i] == positions[j]) {
+                    result[count++] = other[i];
+                    i++;
+                    j++;
+                } else if (other[i] < positions[j]) {
+                    i++;
+                } else {
+                    j = gallop(other[i], j);
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        /**
+         * Find the first index from start whose position is not below the target
+         */
+        private int gallop(int target, int start) {
+            int step = 1;
+            int low = start;
+            int high = start + 1;
+            while (high < size && positions[high] < target) {
+                low = high;
+                step <<= 1;
+                high = start + step;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (positions[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
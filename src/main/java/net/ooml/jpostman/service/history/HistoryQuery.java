@@ -0,0 +1,146 @@
+package net.ooml.jpostman.service.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.ooml.jpostman.model.enums.HttpMethod;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search criteria for request history
+ * All set criteria must match. Text terms match whole words of response bodies.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryQuery {
+
+    public static final int DEFAULT_LIMIT = 500;
+
+    private String urlContains;
+    private HttpMethod method;
+    private Integer statusMin;
+    private Integer statusMax;
+    private Long minDuration; // Milliseconds, inclusive
+    private Long maxDuration; // Milliseconds, inclusive
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Builder.Default
+    private List<String> terms = new ArrayList<>();
+
+    @Builder.Default
+    private int limit = DEFAULT_LIMIT;
+
+    /**
+     * Parse a query string
+     * Example: "status:5xx url:/orders since:1h duration:>500 timeout"
+     * Supported filters:
+     * - status:404, status:5xx, status:400-499
+     * - method:GET
+     * - url:/orders (substring, case-insensitive)
+     * - since:30m, since:1h, since:7d
+     * - duration:>500, duration:>=500, duration:<100, duration:<=100, duration:100-500
+     *   (milliseconds; > and < are exclusive, ranges are inclusive)
+     * Other words are matched against response body text.
+     * @throws IllegalArgumentException if a filter value is invalid
+     */
+    public static HistoryQuery parse(String text) {
+        HistoryQuery query = new HistoryQuery();
+        if (text == null) {
+            return query;
+        }
+
+        for (String part : text.trim().split("\\s+")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+
+            int colon = part.indexOf(':');
+            String key = colon > 0 ? part.substring(0, colon).toLowerCase(Locale.ROOT) : "";
+            String value = colon > 0 ? part.substring(colon + 1) : part;
+
+            switch (key) {
+                case "status":
+                    parseStatus(query, value);
+                    break;
+                case "method":
+                    query.setMethod(HttpMethod.valueOf(value.toUpperCase(Locale.ROOT)));
+                    break;
+                case "url":
+                    query.setUrlContains(value);
+                    break;
+                case "since":
+                    query.setFrom(LocalDateTime.now().minus(parseAge(value)));
+                    break;
+                case "duration":
+                    parseDuration(query, value);
+                    break;
+                default:
+                    query.getTerms().add(part);
+            }
+        }
+        return query;
+    }
+
+    private static void parseStatus(HistoryQuery query, String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        if (lower.length() == 3 && lower.endsWith("xx")) {
+            int hundreds = Integer.parseInt(lower.substring(0, 1)) * 100;
+            query.setStatusMin(hundreds);
+            query.setStatusMax(hundreds + 99);
+        } else if (lower.contains("-")) {
+            String[] range = lower.split("-", 2);
+            query.setStatusMin(Integer.parseInt(range[0]));
+            query.setStatusMax(Integer.parseInt(range[1]));
+        } else {
+            int status = Integer.parseInt(lower);
+            query.setStatusMin(status);
+            query.setStatusMax(status);
+        }
+    }
+
+    private static void parseDuration(HistoryQuery query, String value) {
+        if (value.startsWith(">=")) {
+            query.setMinDuration(Long.parseLong(value.substring(2)));
+        } else if (value.startsWith(">")) {
+            query.setMinDuration(Long.parseLong(value.substring(1)) + 1);
+        } else if (value.startsWith("<=")) {
+            query.setMaxDuration(Long.parseLong(value.substring(2)));
+        } else if (value.startsWith("<")) {
+            query.setMaxDuration(Long.parseLong(value.substring(1)) - 1);
+        } else if (value.contains("-")) {
+            String[] range = value.split("-", 2);
+            query.setMinDuration(Long.parseLong(range[0]));
+            query.setMaxDuration(Long.parseLong(range[1]));
+        } else {
+            throw new IllegalArgumentException("Invalid duration filter: " + value);
+        }
+    }
+
+    private static Duration parseAge(String value) {
+        if (value.length() < 2) {
+            throw new IllegalArgumentException("Invalid age: " + value);
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (Character.toLowerCase(value.charAt(value.length() - 1))) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            case 'h':
+                return Duration.ofHours(amount);
+            case 'd':
+                return Duration.ofDays(amount);
+            default:
+                throw new IllegalArgumentException("Invalid age: " + value);
+        }
+    }
+}
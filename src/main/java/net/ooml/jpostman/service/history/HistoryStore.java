@@ -0,0 +1,509 @@
+package net.ooml.jpostman.service.history;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import net.ooml.jpostman.config.Constants;
+import net.ooml.jpostman.model.HistoryRecord;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.Response;
+import net.ooml.jpostman.model.enums.BodyType;
+import net.ooml.jpostman.service.storage.JsonSerializer;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
+import net.ooml.jpostman.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only request history log
+ * Each send becomes one JSON line in a rolling segment file. Bodies are stored
+ * out-of-line in a content-addressed {@link BodyStore}, so a response returned
+ * a thousand times is stored once. Recording only enqueues; a single writer
+ * thread appends in batches and compacts the log down to the history limit and
+ * maximum age once it has grown past the limit.
+ * Records are also kept in an in-memory {@link HistoryIndex} for searching.
+ */
+public class HistoryStore {
+    private static final Logger log = LoggerFactory.getLogger(HistoryStore.class);
+
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofDays(30);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final long SEGMENT_MAX_BYTES = 4L * 1024 * 1024;
+    private static final int QUEUE_CAPACITY = 16 * 1024;
+    private static final int MAX_BATCH = 1024;
+    private static final int MIN_COMPACTION_SLACK = 64;
+
+    private final Path directory;
+    private final int historyLimit;
+    private final Duration maxAge;
+    private final BodyStore bodyStore;
+    private final HistoryIndex index;
+    private final ObjectWriter recordWriter;
+    private final ObjectReader recordReader;
+
+    private final BlockingQueue<Pending> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    // Writer thread state
+    private final List<Path> segments = new ArrayList<>();
+    private long currentSegmentSize;
+    private long recordCount;
+
+    public HistoryStore(Path directory, Integer historyLimit) throws IOException {
+        this(directory, historyLimit, DEFAULT_MAX_AGE);
+    }
+
+    public HistoryStore(Path directory, Integer historyLimit, Duration maxAge) throws IOException {
+        this.directory = directory;
+        this.historyLimit = historyLimit != null && historyLimit > 0 ? historyLimit : Constants.MAX_HISTORY_ENTRIES;
+        this.maxAge = maxAge;
+        this.bodyStore = new BodyStore(directory.resolve("bodies"));
+        this.index = new HistoryIndex(bodyStore);
+
+        this.recordWriter = JsonSerializer.compactWriterFor(HistoryRecord.class);
+        this.recordReader = JsonSerializer.readerFor(HistoryRecord.class);
+
+        Files.createDirectories(directory);
+        bodyStore.cleanupStaging();
+        openSegments();
+        compact();
+
+        this.writerThread = new Thread(this::writeLoop, "history-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        log.info("History store opened: {} ({} records)", directory, recordCount);
+    }
+
+    /**
+     * Record a sent request and its response
+     * The URL and request body are recorded as sent, resolved against the
+     * variables the request was sent with.
+     * Never blocks: if the writer falls behind and the queue is full, the
+     * record is dropped and counted.
+     * Call before the response body is released.
+     * @return true if the record was queued
+     */
+    public boolean record(Request request, VariableSnapshot variables, Response response, String source) {
+        if (closed) {
+            return false;
+        }
+
+        Pending pending = new Pending(toRecord(request, variables, response, source),
+                sentBody(request, variables), response.getBody());
+        if (response.isBodyInFile()) {
+            // Keep the body file alive after the response releases it
+            pending.stagedBody = bodyStore.stage(response.getBodyHandle().getFile());
+        }
+
+        if (!queue.offer(pending)) {
+            if (pending.stagedBody != null) {
+                FileUtil.deleteFile(pending.stagedBody);
+            }
+            long count = dropped.incrementAndGet();
+            if (count == 1 || count % 1000 == 0) {
+                log.warn("History writer is falling behind, {} records dropped", count);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Load the most recent records, newest first
+     */
+    public List<HistoryRecord> loadRecent(int max) throws IOException {
+        flush();
+        List<HistoryRecord> records;
+        synchronized (this) {
+            records = readAll(listSegments());
+        }
+        Collections.reverse(records);
+        return records.size() > max ? new ArrayList<>(records.subList(0, max)) : records;
+    }
+
+    /**
+     * Search records, newest first
+     * Only records already written by the writer thread are found; the
+     * returned records carry the indexed fields (no id, source or texts).
+     */
+    public List<HistoryRecord> search(HistoryQuery query) {
+        return index.search(query);
+    }
+
+    /**
+     * Get the file holding a stored body, or null if the body is not stored
+     */
+    public Path getBodyFile(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        Path file = bodyStore.resolve(hash);
+        return Files.exists(file) ? file : null;
+    }
+
+    /**
+     * Get number of records dropped because the writer could not keep up
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Wait until all queued records are written
+     */
+    public void flush() throws IOException {
+        if (closed || Thread.currentThread() == writerThread) {
+            return;
+        }
+        Pending marker = new Pending(new CompletableFuture<>());
+        try {
+            queue.put(marker);
+            marker.flushed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing history", e);
+        } catch (Exception e) {
+            throw new IOException("Failed to flush history", e);
+        }
+    }
+
+    /**
+     * Write queued records and stop the writer thread
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            log.error("Failed to flush history on close", e);
+        }
+        closed = true;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("History store closed: {}", directory);
+    }
+
+    // ===== Writer thread =====
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (!closed) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                if (closed) {
+                    break;
+                }
+            } catch (Exception e) {
+                log.error("Failed to write history batch", e);
+            } finally {
+                for (Pending pending : batch) {
+                    if (pending.flushed != null) {
+                        pending.flushed.complete(null);
+                    }
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        List<HistoryRecord> records = new ArrayList<>(batch.size());
+
+        for (Pending pending : batch) {
+            if (pending.flushed != null) {
+                continue;
+            }
+            try {
+                HistoryRecord record = storeBodies(pending);
+                lines.write(recordWriter.writeValueAsBytes(record));
+                lines.write('\n');
+                records.add(record);
+            } catch (IOException e) {
+                log.error("Failed to record history for: {}", pending.record.getUrl(), e);
+            }
+        }
+
+        if (!records.isEmpty()) {
+            synchronized (this) {
+                append(lines.toByteArray());
+                recordCount += records.size();
+                for (HistoryRecord record : records) {
+                    index.add(record);
+                }
+                if (recordCount > historyLimit + Math.max(historyLimit / 2, MIN_COMPACTION_SLACK)) {
+                    compact();
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the record fields on the calling thread, without bodies
+     */
+    private static HistoryRecord toRecord(Request request, VariableSnapshot variables, Response response,
+                                          String source) {
+        String url = variables.resolve(request.getUrl());
+        return HistoryRecord.builder()
+                .id(UUID.randomUUID().toString())
+                .timestamp(LocalDateTime.now())
+                .source(source)
+                .requestId(request.getId())
+                .collectionId(request.getCollectionId())
+                .name(request.getName())
+                .method(request.getMethod())
+                .url(url)
+                .urlTemplate(Objects.equals(url, request.getUrl()) ? null : request.getUrl())
+                .status(response.getStatus())
+                .statusCode(response.getStatusCode())
+                .statusText(response.getStatusText())
+                .duration(response.getDuration())
+                .size(response.getSize())
+                .contentType(getContentType(response))
+                .errorMessage(response.getErrorMessage())
+                .build();
+    }
+
+    /**
+     * Get the request body as sent, or null if the request was sent without one
+     */
+    private static String sentBody(Request request, VariableSnapshot variables) {
+        if (!request.getMethod().sendsBody() || request.getBody() == null
+                || request.getBody().getType() == BodyType.NONE) {
+            return null;
+        }
+        return variables.resolve(request.getBody().getContent());
+    }
+
+    /**
+     * Store bodies out-of-line and set their hashes on the record
+     */
+    private HistoryRecord storeBodies(Pending pending) throws IOException {
+        HistoryRecord record = pending.record;
+
+        if (pending.requestBody != null && !pending.requestBody.isEmpty()) {
+            record.setRequestBodyHash(bodyStore.store(pending.requestBody.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        if (pending.stagedBody != null) {
+            record.setResponseBodyHash(bodyStore.storeFile(pending.stagedBody));
+        } else if (pending.responseBody != null && !pending.responseBody.isEmpty()) {
+            record.setResponseBodyHash(bodyStore.store(pending.responseBody.getBytes(StandardCharsets.UTF_8)));
+        }
+        return record;
+    }
+
+    private static String getContentType(Response response) {
+        if (response.getHeaders() != null) {
+            for (net.ooml.jpostman.model.Header header : response.getHeaders()) {
+                if ("Content-Type".equalsIgnoreCase(header.getKey())) {
+                    return header.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Append lines to the current segment, rolling to a new one when full
+     */
+    private void append(byte[] lines) throws IOException {
+        if (segments.isEmpty() || currentSegmentSize >= SEGMENT_MAX_BYTES) {
+            segments.add(directory.resolve(segmentName(nextSegmentNumber())));
+            currentSegmentSize = 0;
+        }
+
+        Path segment = segments.get(segments.size() - 1);
+        try (FileChannel channel = FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        currentSegmentSize += lines.length;
+    }
+
+    /**
+     * Rewrite the log keeping only the newest records within the limit and age
+     * Bodies no longer referenced are deleted and the search index is rebuilt.
+     */
+    private void compact() throws IOException {
+        List<HistoryRecord> records = readAll(segments);
+        LocalDateTime oldest = LocalDateTime.now().minus(maxAge);
+
+        List<HistoryRecord> retained = records.stream()
+                .filter(record -> record.getTimestamp() == null || record.getTimestamp().isAfter(oldest))
+                .collect(Collectors.toList());
+        if (retained.size() > historyLimit) {
+            retained = retained.subList(retained.size() - historyLimit, retained.size());
+        }
+        index.rebuild(retained);
+
+        if (retained.size() == records.size() && segments.size() <= 1) {
+            return;
+        }
+
+        // Write retained records to a new segment before deleting the old ones
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (HistoryRecord record : retained) {
+            lines.write(recordWriter.writeValueAsBytes(record));
+            lines.write('\n');
+        }
+        Path compacted = directory.resolve(segmentName(nextSegmentNumber()));
+        FileUtil.writeAtomically(compacted, lines.toByteArray());
+
+        for (Path segment : segments) {
+            Files.deleteIfExists(segment);
+        }
+        segments.clear();
+        segments.add(compacted);
+        currentSegmentSize = lines.size();
+        recordCount = retained.size();
+
+        Set<String> referenced = new HashSet<>();
+        for (HistoryRecord record : retained) {
+            if (record.getRequestBodyHash() != null) {
+                referenced.add(record.getRequestBodyHash());
+            }
+            if (record.getResponseBodyHash() != null) {
+                referenced.add(record.getResponseBodyHash());
+            }
+        }
+        int deletedBodies = bodyStore.retainOnly(referenced);
+
+        log.debug("History compacted: {} of {} records kept, {} bodies deleted",
+                retained.size(), records.size(), deletedBodies);
+    }
+
+    // ===== Segment files =====
+
+    private void openSegments() throws IOException {
+        segments.addAll(listSegments());
+        recordCount = 0;
+        for (Path segment : segments) {
+            try (Stream<String> lines = Files.lines(segment, StandardCharsets.UTF_8)) {
+                recordCount += lines.filter(line -> !line.isEmpty()).count();
+            }
+        }
+        currentSegmentSize = segments.isEmpty() ? 0 : Files.size(segments.get(segments.size() - 1));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Read records from segments, oldest first
+     * A torn last line from a crash is skipped.
+     */
+    private List<HistoryRecord> readAll(List<Path> segmentFiles) throws IOException {
+        List<HistoryRecord> records = new ArrayList<>();
+        for (Path segment : segmentFiles) {
+            if (!Files.exists(segment)) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        records.add(recordReader.readValue(line));
+                    } catch (IOException e) {
+                        log.warn("Skipping unreadable history record in {}", segment.getFileName());
+                    }
+                }
+            }
+        }
+        return records;
+    }
+
+    private long nextSegmentNumber() {
+        if (segments.isEmpty()) {
+            return 1;
+        }
+        String name = segments.get(segments.size() - 1).getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())) + 1;
+    }
+
+    private static String segmentName(long number) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Queued record, or a flush marker
+     */
+    private static class Pending {
+        private final HistoryRecord record;
+        private final String requestBody;
+        private final String responseBody;
+        private final CompletableFuture<Void> flushed;
+        private Path stagedBody;
+
+        Pending(HistoryRecord record, String requestBody, String responseBody) {
+            this.record = record;
+            this.requestBody = requestBody;
+            this.responseBody = responseBody;
+            this.flushed = null;
+        }
+
+        Pending(CompletableFuture<Void> flushed) {
+            this.record = null;
+            this.requestBody = null;
+            this.responseBody = null;
+            this.flushed = flushed;
+        }
+    }
+}
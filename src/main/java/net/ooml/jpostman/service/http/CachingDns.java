@@ -0,0 +1,204 @@
+package net.ooml.jpostman.service.http;
+
+import okhttp3.Dns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * DNS resolver with an in-process cache and static host overrides
+ * Successful lookups are kept for the TTL and failed ones for the negative
+ * TTL; concurrent lookups of the same host share one system lookup. Overrides
+ * work like a hosts file: they map a host name to IP addresses (comma
+ * separated) or to another host name, and are never cached.
+ */
+public class CachingDns implements Dns {
+    private static final Logger log = LoggerFactory.getLogger(CachingDns.class);
+
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final int MAX_ALIAS_DEPTH = 8;
+
+    private final Dns delegate;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    private volatile long ttlNanos;
+    private volatile long negativeTtlNanos;
+    private volatile Supplier<Map<String, String>> overrides = Collections::emptyMap;
+
+    public CachingDns(long ttlMs, long negativeTtlMs) {
+        this(Dns.SYSTEM, ttlMs, negativeTtlMs);
+    }
+
+    public CachingDns(Dns delegate, long ttlMs, long negativeTtlMs) {
+        this.delegate = delegate;
+        setTtl(ttlMs, negativeTtlMs);
+    }
+
+    /**
+     * Change how long lookups are cached; 0 disables caching
+     * Entries already cached keep their expiry.
+     */
+    public void setTtl(long ttlMs, long negativeTtlMs) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, negativeTtlMs));
+    }
+
+    /**
+     * Set where host overrides come from
+     * The supplier is asked on every lookup, so it can follow the current environment.
+     */
+    public void setOverrides(Supplier<Map<String, String>> overrides) {
+        this.overrides = overrides != null ? overrides : Collections::emptyMap;
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        return lookup(hostname, 0);
+    }
+
+    /**
+     * Drop all cached lookups
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Number of cached hosts, including failed lookups
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private List<InetAddress> lookup(String hostname, int depth) throws UnknownHostException {
+        String override = findOverride(hostname);
+        if (override != null) {
+            if (depth >= MAX_ALIAS_DEPTH) {
+                throw new UnknownHostException(hostname + ": host override loop");
+            }
+            return resolveOverride(hostname, override, depth);
+        }
+        return cachedLookup(hostname);
+    }
+
+    private String findOverride(String hostname) {
+        Map<String, String> hosts = overrides.get();
+        if (hosts == null || hosts.isEmpty()) {
+            return null;
+        }
+        String value = hosts.get(hostname);
+        if (value == null) {
+            // Host names are case-insensitive
+            for (Map.Entry<String, String> entry : hosts.entrySet()) {
+                if (entry.getKey() != null && entry.getKey().trim().equalsIgnoreCase(hostname)) {
+                    value = entry.getValue();
+                    break;
+                }
+            }
+        }
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private List<InetAddress> resolveOverride(String hostname, String override, int depth)
+            throws UnknownHostException {
+        List<InetAddress> addresses = new ArrayList<>();
+        for (String target : override.split("\\s*,\\s*")) {
+            if (isIpLiteral(target)) {
+                // Literal addresses are parsed without a lookup
+                byte[] address = InetAddress.getByName(target).getAddress();
+                addresses.add(InetAddress.getByAddress(hostname, address));
+            } else {
+                addresses.addAll(lookup(target, depth + 1));
+            }
+        }
+        log.debug("Host override: {} -> {}", hostname, addresses);
+        return addresses;
+    }
+
+    private static boolean isIpLiteral(String value) {
+        return IPV4_LITERAL.matcher(value).matches() || value.indexOf(':') >= 0;
+    }
+
+    private List<InetAddress> cachedLookup(String hostname) throws UnknownHostException {
+        if (ttlNanos == 0 && negativeTtlNanos == 0) {
+            return delegate.lookup(hostname);
+        }
+
+        long now = System.nanoTime();
+        Entry existing = cache.get(hostname);
+        if (existing != null && !existing.isExpired(now)) {
+            return existing.await(hostname);
+        }
+
+        // One thread performs the lookup, others wait for its result
+        Entry fresh = new Entry();
+        Entry current = cache.compute(hostname,
+                (key, old) -> old != null && !old.isExpired(now) ? old : fresh);
+        if (current != fresh) {
+            return current.await(hostname);
+        }
+
+        try {
+            List<InetAddress> addresses = delegate.lookup(hostname);
+            fresh.complete(addresses, System.nanoTime() + ttlNanos);
+            log.debug("DNS lookup {} -> {} ({} ms)", hostname, addresses,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - now));
+            return addresses;
+        } catch (UnknownHostException e) {
+            fresh.fail(e, System.nanoTime() + negativeTtlNanos);
+            throw e;
+        } catch (RuntimeException e) {
+            // Not cached: let the next call retry
+            cache.remove(hostname, fresh);
+            fresh.fail(new UnknownHostException(hostname + ": " + e.getMessage()), now);
+            throw e;
+        }
+    }
+
+    /**
+     * Cached or in-progress lookup of one host
+     */
+    private static class Entry {
+        private final CompletableFuture<List<InetAddress>> result = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+
+        void complete(List<InetAddress> addresses, long expiresAt) {
+            expiresAtNanos = expiresAt;
+            result.complete(addresses);
+        }
+
+        void fail(UnknownHostException e, long expiresAt) {
+            expiresAtNanos = expiresAt;
+            result.completeExceptionally(e);
+        }
+
+        boolean isExpired(long now) {
+            return result.isDone() && now - expiresAtNanos >= 0;
+        }
+
+        List<InetAddress> await(String hostname) throws UnknownHostException {
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                UnknownHostException failure = new UnknownHostException(e.getCause().getMessage());
+                failure.initCause(e.getCause());
+                throw failure;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UnknownHostException(hostname + ": interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package net.ooml.jpostman.service.http;
+
+import net.ooml.jpostman.model.enums.ExecutionMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor that runs the blocking work of the HTTP client
+ * Backs the OkHttp dispatcher (async calls), {@link HttpClientService#submit}
+ * and the collection runner. The platform backend is a bounded thread pool;
+ * the virtual backend starts one virtual thread per task, so tens of thousands
+ * of blocking calls cost little. Virtual threads are looked up reflectively
+ * because the build targets Java 11.
+ */
+public class ExecutionBackend {
+    private static final Logger log = LoggerFactory.getLogger(ExecutionBackend.class);
+
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+    private static final Method NEW_VIRTUAL_EXECUTOR = findVirtualExecutorFactory();
+
+    private final ExecutionMode mode;
+    private final int maxThreads;
+    private final CountingExecutorService executor;
+
+    private ExecutionBackend(ExecutionMode mode, int maxThreads, ExecutorService delegate) {
+        this.mode = mode;
+        this.maxThreads = maxThreads;
+        this.executor = new CountingExecutorService(delegate);
+    }
+
+    /**
+     * Create a backend; AUTO and VIRTUAL fall back to platform threads when
+     * the runtime has no virtual threads
+     * @param maxThreads Size of the platform thread pool
+     */
+    public static ExecutionBackend create(ExecutionMode mode, int maxThreads) {
+        boolean wantsVirtual = mode == ExecutionMode.VIRTUAL || mode == ExecutionMode.AUTO;
+        if (wantsVirtual && isVirtualThreadSupported()) {
+            try {
+                ExecutorService virtual = (ExecutorService) NEW_VIRTUAL_EXECUTOR.invoke(null);
+                log.info("HTTP execution backend: virtual threads");
+                return new ExecutionBackend(ExecutionMode.VIRTUAL, 0, virtual);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Failed to create virtual thread executor, using platform threads", e);
+            }
+        } else if (mode == ExecutionMode.VIRTUAL) {
+            log.warn("Virtual threads need Java 21+ (running {}), using platform threads",
+                    System.getProperty("java.version"));
+        }
+
+        int threads = Math.max(1, maxThreads);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new PlatformThreadFactory());
+        pool.allowCoreThreadTimeOut(true);
+        log.info("HTTP execution backend: {} platform threads", threads);
+        return new ExecutionBackend(ExecutionMode.PLATFORM, threads, pool);
+    }
+
+    /**
+     * Check if the runtime supports virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_EXECUTOR != null;
+    }
+
+    private static Method findVirtualExecutorFactory() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the executor; tasks run on it are counted
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Get the mode actually in use, PLATFORM or VIRTUAL
+     */
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Get the platform pool size, or 0 for virtual threads
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Get the number of tasks running
+     */
+    public int getActiveCount() {
+        return executor.active.get();
+    }
+
+    /**
+     * Get the number of tasks waiting for a thread
+     */
+    public int getQueuedCount() {
+        return executor.submitted.get() - executor.active.get();
+    }
+
+    /**
+     * Get the number of tasks finished
+     */
+    public long getCompletedCount() {
+        return executor.completed.get();
+    }
+
+    /**
+     * Stop accepting tasks; running and queued ones still complete
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return mode == ExecutionMode.VIRTUAL ? "virtual threads" : maxThreads + " platform threads";
+    }
+
+    /**
+     * Executor wrapper keeping track of queued, running and finished tasks
+     */
+    private static class CountingExecutorService extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final AtomicInteger submitted = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+
+        CountingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            submitted.incrementAndGet();
+            try {
+                delegate.execute(() -> {
+                    active.incrementAndGet();
+                    try {
+                        command.run();
+                    } finally {
+                        active.decrementAndGet();
+                        submitted.decrementAndGet();
+                        completed.incrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                submitted.decrementAndGet();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+    /**
+     * Thread factory naming the platform worker threads
+     */
+    private static class PlatformThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "http-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
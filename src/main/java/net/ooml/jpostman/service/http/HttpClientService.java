@@ -1,18 +1,51 @@
 package net.ooml.jpostman.service.http;
 
 import net.ooml.jpostman.config.Constants;
+import net.ooml.jpostman.model.ClientProfile;
 import net.ooml.jpostman.model.Request;
 import net.ooml.jpostman.model.Response;
+import net.ooml.jpostman.model.enums.CacheMode;
+import net.ooml.jpostman.model.enums.RequestStatus;
+import net.ooml.jpostman.service.history.HistoryStore;
+import net.ooml.jpostman.service.http.interceptors.ByteCountingInterceptor;
 import net.ooml.jpostman.service.http.interceptors.LoggingInterceptor;
+import net.ooml.jpostman.service.http.interceptors.ProgressInterceptor;
 import net.ooml.jpostman.service.variable.VariableResolver;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
+import okhttp3.Cache;
+import okhttp3.CacheControl;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * HTTP client service using OkHttp
@@ -21,10 +54,45 @@ import java.util.concurrent.TimeUnit;
 public class HttpClientService {
     private static final Logger log = LoggerFactory.getLogger(HttpClientService.class);
 
-    private final OkHttpClient client;
+    private static final CacheControl REVALIDATE = new CacheControl.Builder().maxAge(0, TimeUnit.SECONDS).build();
+
+    /**
+     * Trust manager accepting any certificate, used when SSL validation is off
+     */
+    private static final X509TrustManager TRUST_ALL = new X509TrustManager() {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    };
+
+    // Replaced as a whole by applyProfile; calls keep the client they started with
+    private volatile OkHttpClient client;
+    private volatile OkHttpClient uncachedClient; // Same client without the disk cache
+    private volatile ClientProfile profile;
+    private final CachingDns dns;
+    private Path cacheDirectory; // Response cache of the current project, null for none
+    // Caches stay open until shutdown; closing one would fail calls still writing to it
+    private final Map<Path, Cache> caches = new HashMap<>();
+    private volatile ExecutionBackend backend;
+    private volatile HistoryStore historyStore; // History of the current project, null for none
+    private final InFlightRegistry inFlight = new InFlightRegistry();
     private final HttpRequestBuilder requestBuilder;
     private final HttpResponseHandler responseHandler;
 
+    // Platform TLS settings, restored when SSL validation is turned back on
+    private final SSLSocketFactory defaultSslSocketFactory;
+    private final X509TrustManager defaultTrustManager;
+    private final HostnameVerifier defaultHostnameVerifier;
+
     /**
      * Callback interface for async requests
      */
@@ -34,52 +102,366 @@ public class HttpClientService {
     }
 
     public HttpClientService(VariableResolver variableResolver) {
-        this(variableResolver, Constants.DEFAULT_TIMEOUT_MS);
+        this(variableResolver, ClientProfile.builder().build());
     }
 
     public HttpClientService(VariableResolver variableResolver, int timeoutMs) {
-        this.client = createOkHttpClient(timeoutMs);
+        this(variableResolver, ClientProfile.withTimeout(timeoutMs));
+    }
+
+    public HttpClientService(VariableResolver variableResolver, ClientProfile profile) {
+        this.dns = new CachingDns(profile.getDnsTtlMs(), profile.getDnsNegativeTtlMs());
+        this.backend = ExecutionBackend.create(profile.getExecutionMode(), profile.getWorkerThreads());
+        OkHttpClient base = createOkHttpClient(profile);
+        this.defaultSslSocketFactory = base.sslSocketFactory();
+        this.defaultTrustManager = base.x509TrustManager();
+        this.defaultHostnameVerifier = base.hostnameVerifier();
+        useClient(configure(base.newBuilder(), profile).build());
+        this.profile = profile;
         this.requestBuilder = new HttpRequestBuilder(variableResolver);
         this.responseHandler = new HttpResponseHandler();
     }
 
     /**
-     * Create configured OkHttpClient
+     * Create the OkHttpClient owning the connection pool and dispatcher
      */
-    private OkHttpClient createOkHttpClient(int timeoutMs) {
+    private OkHttpClient createOkHttpClient(ClientProfile profile) {
         return new OkHttpClient.Builder()
-                .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                .followRedirects(Constants.DEFAULT_FOLLOW_REDIRECTS)
-                .followSslRedirects(Constants.DEFAULT_FOLLOW_REDIRECTS)
+                .dispatcher(createDispatcher(backend, profile))
+                .connectionPool(createConnectionPool(profile))
+                .dns(dns)
+                .eventListenerFactory(TimingEventListener.FACTORY)
                 .addInterceptor(new LoggingInterceptor())
+                .addInterceptor(new ProgressInterceptor())
+                .addNetworkInterceptor(new ByteCountingInterceptor())
                 .build();
     }
 
+    private static Dispatcher createDispatcher(ExecutionBackend backend, ClientProfile profile) {
+        Dispatcher dispatcher = new Dispatcher(backend.getExecutor());
+        dispatcher.setMaxRequests(profile.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(profile.getMaxRequestsPerHost());
+        return dispatcher;
+    }
+
+    private static ConnectionPool createConnectionPool(ClientProfile profile) {
+        return new ConnectionPool(profile.getMaxIdleConnections(), profile.getKeepAliveMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Apply the per-call settings of a profile: timeouts, redirects, protocols, TLS and cache
+     */
+    private OkHttpClient.Builder configure(OkHttpClient.Builder builder, ClientProfile profile) {
+        builder.cache(cacheFor(profile))
+                .connectTimeout(profile.getConnectTimeoutMs(), TimeUnit.MILLISECONDS)
+                .readTimeout(profile.getReadTimeoutMs(), TimeUnit.MILLISECONDS)
+                .writeTimeout(profile.getWriteTimeoutMs(), TimeUnit.MILLISECONDS)
+                .callTimeout(profile.getCallTimeoutMs(), TimeUnit.MILLISECONDS)
+                .followRedirects(profile.getFollowRedirects())
+                .followSslRedirects(profile.getFollowRedirects())
+                .protocols(protocolsOf(profile));
+
+        if (Boolean.FALSE.equals(profile.getValidateSSL())) {
+            builder.sslSocketFactory(trustAllSocketFactory(), TRUST_ALL)
+                    .hostnameVerifier((hostname, session) -> true);
+        } else {
+            builder.sslSocketFactory(defaultSslSocketFactory, defaultTrustManager)
+                    .hostnameVerifier(defaultHostnameVerifier);
+        }
+        return builder;
+    }
+
+    private Cache cacheFor(ClientProfile profile) {
+        if (cacheDirectory == null || profile.getCacheMode() == null || profile.getCacheMode() == CacheMode.OFF) {
+            return null;
+        }
+        return caches.computeIfAbsent(cacheDirectory,
+                directory -> new Cache(directory.toFile(), Constants.HTTP_CACHE_MAX_BYTES));
+    }
+
+    private static List<Protocol> protocolsOf(ClientProfile profile) {
+        switch (profile.getProtocol()) {
+            case HTTP_1_1:
+                return Collections.singletonList(Protocol.HTTP_1_1);
+            case H2C:
+                return Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE);
+            case HTTP_2:
+            default:
+                return Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        }
+    }
+
+    private static SSLSocketFactory trustAllSocketFactory() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{TRUST_ALL}, new SecureRandom());
+            return context.getSocketFactory();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to create TLS context", e);
+        }
+    }
+
+    /**
+     * Apply a client profile to subsequent requests without discarding the pool
+     * Dispatcher limits change in place and the new client shares the pool and
+     * dispatcher of the old one, so warm connections and in-flight calls are
+     * kept. Only a different pool size or keep-alive needs a new pool; idle
+     * connections of the old one are then closed and busy ones finish normally.
+     * A different execution backend needs a new dispatcher; the old backend is
+     * shut down once its calls are done.
+     */
+    public synchronized void applyProfile(ClientProfile newProfile) {
+        if (newProfile.equals(profile)) {
+            return;
+        }
+        OkHttpClient current = client;
+        OkHttpClient.Builder builder = current.newBuilder();
+
+        Dispatcher dispatcher = current.dispatcher();
+        dispatcher.setMaxRequests(newProfile.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(newProfile.getMaxRequestsPerHost());
+        dns.setTtl(newProfile.getDnsTtlMs(), newProfile.getDnsNegativeTtlMs());
+
+        boolean backendChanged = !Objects.equals(profile.getExecutionMode(), newProfile.getExecutionMode())
+                || !Objects.equals(profile.getWorkerThreads(), newProfile.getWorkerThreads());
+        ExecutionBackend oldBackend = backend;
+        if (backendChanged) {
+            backend = ExecutionBackend.create(newProfile.getExecutionMode(), newProfile.getWorkerThreads());
+            builder.dispatcher(createDispatcher(backend, newProfile));
+        }
+
+        boolean poolChanged = !Objects.equals(profile.getMaxIdleConnections(), newProfile.getMaxIdleConnections())
+                || !Objects.equals(profile.getKeepAliveMs(), newProfile.getKeepAliveMs());
+        if (poolChanged) {
+            builder.connectionPool(createConnectionPool(newProfile));
+        }
+
+        useClient(configure(builder, newProfile).build());
+        profile = newProfile;
+        if (poolChanged) {
+            current.connectionPool().evictAll();
+        }
+        if (backendChanged) {
+            retire(dispatcher, oldBackend);
+        }
+
+        log.info("Client profile applied: protocol={}, maxRequests={}, maxRequestsPerHost={}, maxIdle={}, "
+                        + "newPool={}, backend={}",
+                newProfile.getProtocol(), newProfile.getMaxRequests(), newProfile.getMaxRequestsPerHost(),
+                newProfile.getMaxIdleConnections(), poolChanged, backend);
+    }
+
+    /**
+     * Shut down a replaced backend once its dispatcher has no calls left
+     * Shutting it down right away would reject calls still queued in the dispatcher.
+     */
+    private static void retire(Dispatcher dispatcher, ExecutionBackend oldBackend) {
+        dispatcher.setIdleCallback(oldBackend::shutdown);
+        if (dispatcher.runningCallsCount() == 0 && dispatcher.queuedCallsCount() == 0) {
+            oldBackend.shutdown();
+        }
+    }
+
+    /**
+     * Set the directory of the disk response cache, e.g. when the project changes
+     * The cache is only used while the profile's cache mode is not OFF.
+     */
+    public synchronized void setCacheDirectory(Path directory) {
+        if (Objects.equals(directory, cacheDirectory)) {
+            return;
+        }
+        cacheDirectory = directory;
+        useClient(client.newBuilder().cache(cacheFor(profile)).build());
+        log.info("HTTP cache directory: {}", directory);
+    }
+
+    /**
+     * Close the disk cache in a directory, e.g. before its project is renamed or deleted
+     * If it is the current cache directory, requests run without a cache until
+     * {@link #setCacheDirectory} is called again.
+     */
+    public synchronized void closeCache(Path directory) {
+        Cache cache = caches.remove(directory);
+        if (directory.equals(cacheDirectory)) {
+            cacheDirectory = null;
+            useClient(client.newBuilder().cache(null).build());
+        }
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.close();
+            log.info("HTTP cache closed: {}", directory);
+        } catch (IOException e) {
+            log.warn("Failed to close HTTP cache {}", directory, e);
+        }
+    }
+
+    /**
+     * Set the request history of the current project, e.g. when the project changes
+     * Collection runs on this client record their requests in it; null turns that off.
+     */
+    public void setHistoryStore(HistoryStore historyStore) {
+        this.historyStore = historyStore;
+    }
+
+    /**
+     * Get the request history of the current project, or null
+     */
+    public HistoryStore getHistoryStore() {
+        return historyStore;
+    }
+
+    /**
+     * Switch to a new client, deriving the variant without the disk cache
+     * Both share the connection pool and dispatcher.
+     */
+    private void useClient(OkHttpClient newClient) {
+        uncachedClient = newClient.cache() != null ? newClient.newBuilder().cache(null).build() : newClient;
+        client = newClient;
+    }
+
+    /**
+     * Get the DNS resolver, e.g. to set host overrides
+     */
+    public CachingDns getDns() {
+        return dns;
+    }
+
+    /**
+     * Resolve and connect to every distinct origin of the requests
+     * A HEAD request to the root of each origin fills the DNS cache and leaves
+     * a pooled connection with the TLS handshake done; responses are discarded.
+     * Blocks until every origin answered or failed, or the timeout expired.
+     * @return Number of origins that were reached
+     */
+    public int prewarm(List<Request> requests, VariableSnapshot variables, long timeoutMs) {
+        Set<HttpUrl> origins = new LinkedHashSet<>();
+        for (Request request : requests) {
+            try {
+                HttpUrl url = requestBuilder.build(request, variables).url();
+                origins.add(new HttpUrl.Builder()
+                        .scheme(url.scheme())
+                        .host(url.host())
+                        .port(url.port())
+                        .build());
+            } catch (IllegalArgumentException e) {
+                log.debug("Skipping request {} in prewarm: {}", request.getName(), e.getMessage());
+            }
+        }
+        if (origins.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        CountDownLatch latch = new CountDownLatch(origins.size());
+        AtomicInteger reached = new AtomicInteger();
+        for (HttpUrl origin : origins) {
+            log.info("Prewarm: HEAD {}", origin);
+            okhttp3.Request head = new okhttp3.Request.Builder().url(origin).head().build();
+            client.newCall(head).enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, okhttp3.Response response) {
+                    response.close();
+                    reached.incrementAndGet();
+                    latch.countDown();
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    log.warn("Prewarm of {} failed: {}", origin, e.getMessage());
+                    latch.countDown();
+                }
+            });
+        }
+
+        try {
+            if (!latch.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Prewarm timed out after {}ms", timeoutMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        log.info("Prewarmed {}/{} origins in {}ms", reached.get(), origins.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return reached.get();
+    }
+
+    /**
+     * Get the profile the client is currently configured with
+     */
+    public synchronized ClientProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Resolve variables of subsequent requests with another resolver
+     * The OkHttp client, its connection pool and TLS sessions are kept.
+     */
+    public void setVariableResolver(VariableResolver variableResolver) {
+        requestBuilder.setVariableResolver(variableResolver);
+    }
+
+    /**
+     * Take a snapshot of the current variables
+     * Take it on the EDT and pass it to execute/executeAsync from worker threads.
+     */
+    public VariableSnapshot snapshotVariables() {
+        return requestBuilder.snapshotVariables();
+    }
+
     /**
      * Execute HTTP request synchronously
      */
     public Response execute(Request request) {
+        return execute(request, snapshotVariables());
+    }
+
+    /**
+     * Execute HTTP request synchronously, resolving variables from a snapshot
+     */
+    public Response execute(Request request, VariableSnapshot variables) {
+        return execute(request, variables, inFlight.register(request, null));
+    }
+
+    /**
+     * Execute HTTP request synchronously under a handle from {@link #register}
+     * Cancelling the handle from another thread aborts the call and returns a
+     * cancelled response.
+     */
+    public Response execute(Request request, VariableSnapshot variables, RequestHandle handle) {
+        return execute(request, variables, handle, true);
+    }
+
+    /**
+     * Execute HTTP request synchronously, optionally bypassing the disk cache
+     * Collection runs and load tests bypass it so every request reaches the server.
+     */
+    public Response execute(Request request, VariableSnapshot variables, RequestHandle handle, boolean useCache) {
         log.info("Executing HTTP request: {} {}", request.getMethod(), request.getUrl());
 
-        long startTime = System.currentTimeMillis();
+        TimingEventListener timing = new TimingEventListener();
+        ByteCountingInterceptor.Counter bytes = new ByteCountingInterceptor.Counter();
 
         try {
             // Build OkHttp request
-            okhttp3.Request okHttpRequest = requestBuilder.build(request);
+            okhttp3.Request okHttpRequest = requestBuilder.build(request, variables);
+            if (useCache) {
+                okHttpRequest = applyCacheMode(okHttpRequest);
+            }
+            okHttpRequest = tag(okHttpRequest, timing, bytes, handle);
 
             // Execute request
-            okhttp3.Response okHttpResponse = client.newCall(okHttpRequest).execute();
-
-            // Calculate duration
-            long duration = System.currentTimeMillis() - startTime;
+            Call call = (useCache ? client : uncachedClient).newCall(okHttpRequest);
+            handle.attach(call);
+            okhttp3.Response okHttpResponse = call.execute();
 
             // Handle response
-            Response response = responseHandler.handleResponse(okHttpResponse, duration);
+            Response response = cancelledIfAborted(responseHandler.handleResponse(okHttpResponse, timing, bytes), handle);
 
             log.info("Request completed: {} {} ({}ms)",
-                    response.getStatusCode(), request.getUrl(), duration);
+                    response.getStatusCode(), request.getUrl(), response.getDuration());
 
             return response;
 
@@ -88,43 +470,102 @@ public class HttpClientService {
             return Response.createError("Invalid request: " + e.getMessage());
 
         } catch (java.net.SocketTimeoutException e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("Request timeout: {} ({}ms)", request.getUrl(), duration);
-            return Response.createTimeout();
+            log.error("Request timeout: {} ({}ms)", request.getUrl(), timing.getDurationMillis());
+            return responseHandler.attachByteCounts(Response.createTimeout(), bytes);
 
         } catch (IOException e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("Request failed: {} ({}ms)", request.getUrl(), duration, e);
-            return responseHandler.handleError(e);
+            if (handle.isCancelled()) {
+                log.info("Request cancelled: {} ({}ms)", request.getUrl(), timing.getDurationMillis());
+                return responseHandler.attachByteCounts(Response.createCancelled(), bytes);
+            }
+            log.error("Request failed: {} ({}ms)", request.getUrl(), timing.getDurationMillis(), e);
+            return responseHandler.attachByteCounts(responseHandler.handleError(e), bytes);
 
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("Unexpected error during request: {} ({}ms)", request.getUrl(), duration, e);
+            log.error("Unexpected error during request: {} ({}ms)", request.getUrl(),
+                    timing.getDurationMillis(), e);
             return Response.createError("Unexpected error: " + e.getMessage());
+
+        } finally {
+            inFlight.unregister(handle);
         }
     }
 
+    /**
+     * Execute HTTP request on the execution backend
+     * Unlike executeAsync, the future completes for every outcome, including
+     * errors and cancellation.
+     */
+    public CompletableFuture<Response> submit(Request request, VariableSnapshot variables, RequestHandle handle) {
+        return CompletableFuture.supplyAsync(() -> execute(request, variables, handle), backend.getExecutor());
+    }
+
+    /**
+     * Get the backend running async calls and submitted requests
+     */
+    public ExecutionBackend getExecutionBackend() {
+        return backend;
+    }
+
     /**
      * Execute HTTP request asynchronously
      */
-    public void executeAsync(Request request, ResponseCallback callback) {
+    public RequestHandle executeAsync(Request request, ResponseCallback callback) {
+        return executeAsync(request, snapshotVariables(), callback);
+    }
+
+    /**
+     * Execute HTTP request asynchronously, resolving variables from a snapshot
+     */
+    public RequestHandle executeAsync(Request request, VariableSnapshot variables, ResponseCallback callback) {
+        RequestHandle handle = inFlight.register(request, null);
+        executeAsync(request, variables, handle, callback);
+        return handle;
+    }
+
+    /**
+     * Execute HTTP request asynchronously under a handle from {@link #register}
+     * A cancelled call is reported to onFailure with a cancelled response.
+     */
+    public void executeAsync(Request request, VariableSnapshot variables, RequestHandle handle,
+                             ResponseCallback callback) {
+        executeAsync(request, variables, handle, true, callback);
+    }
+
+    /**
+     * Execute HTTP request asynchronously, optionally bypassing the disk cache
+     * Load tests bypass it so every request reaches the server.
+     */
+    public void executeAsync(Request request, VariableSnapshot variables, RequestHandle handle, boolean useCache,
+                             ResponseCallback callback) {
         log.info("Executing async HTTP request: {} {}", request.getMethod(), request.getUrl());
 
-        long startTime = System.currentTimeMillis();
+        TimingEventListener timing = new TimingEventListener();
+        ByteCountingInterceptor.Counter bytes = new ByteCountingInterceptor.Counter();
 
         try {
             // Build OkHttp request
-            okhttp3.Request okHttpRequest = requestBuilder.build(request);
+            okhttp3.Request okHttpRequest = requestBuilder.build(request, variables);
+            if (useCache) {
+                okHttpRequest = applyCacheMode(okHttpRequest);
+            }
+            okHttpRequest = tag(okHttpRequest, timing, bytes, handle);
 
             // Execute request asynchronously
-            client.newCall(okHttpRequest).enqueue(new Callback() {
+            Call newCall = (useCache ? client : uncachedClient).newCall(okHttpRequest);
+            handle.attach(newCall);
+            newCall.enqueue(new Callback() {
                 @Override
                 public void onResponse(Call call, okhttp3.Response okHttpResponse) {
-                    long duration = System.currentTimeMillis() - startTime;
-                    Response response = responseHandler.handleResponse(okHttpResponse, duration);
+                    Response response;
+                    try {
+                        response = cancelledIfAborted(responseHandler.handleResponse(okHttpResponse, timing, bytes), handle);
+                    } finally {
+                        inFlight.unregister(handle);
+                    }
 
                     log.info("Async request completed: {} {} ({}ms)",
-                            response.getStatusCode(), request.getUrl(), duration);
+                            response.getStatusCode(), request.getUrl(), response.getDuration());
 
                     if (callback != null) {
                         if (response.isSuccessful()) {
@@ -137,10 +578,18 @@ public class HttpClientService {
 
                 @Override
                 public void onFailure(Call call, IOException e) {
-                    long duration = System.currentTimeMillis() - startTime;
-                    log.error("Async request failed: {} ({}ms)", request.getUrl(), duration, e);
+                    inFlight.unregister(handle);
+                    if (handle.isCancelled()) {
+                        log.info("Async request cancelled: {} ({}ms)", request.getUrl(), timing.getDurationMillis());
+                        if (callback != null) {
+                            callback.onFailure(responseHandler.attachByteCounts(Response.createCancelled(), bytes));
+                        }
+                        return;
+                    }
+
+                    log.error("Async request failed: {} ({}ms)", request.getUrl(), timing.getDurationMillis(), e);
 
-                    Response response = responseHandler.handleError(e);
+                    Response response = responseHandler.attachByteCounts(responseHandler.handleError(e), bytes);
 
                     if (callback != null) {
                         callback.onFailure(response);
@@ -149,6 +598,7 @@ public class HttpClientService {
             });
 
         } catch (IllegalArgumentException e) {
+            inFlight.unregister(handle);
             log.error("Invalid request: {}", e.getMessage());
             Response response = Response.createError("Invalid request: " + e.getMessage());
             if (callback != null) {
@@ -156,6 +606,7 @@ public class HttpClientService {
             }
 
         } catch (Exception e) {
+            inFlight.unregister(handle);
             log.error("Unexpected error during async request: {}", request.getUrl(), e);
             Response response = Response.createError("Unexpected error: " + e.getMessage());
             if (callback != null) {
@@ -164,10 +615,65 @@ public class HttpClientService {
         }
     }
 
+    /**
+     * Report a body read that failed because the handle was cancelled as cancelled
+     */
+    private static Response cancelledIfAborted(Response response, RequestHandle handle) {
+        if (handle.isCancelled() && response.getStatus() == RequestStatus.ERROR) {
+            Response cancelled = Response.createCancelled();
+            cancelled.setByteCounts(response.getByteCounts());
+            return cancelled;
+        }
+        return response;
+    }
+
+    /**
+     * In revalidate mode, make a GET without its own Cache-Control revalidate
+     * any cached response: OkHttp then sends If-None-Match / If-Modified-Since
+     * from the cached entry and serves the cached body on a 304
+     */
+    private okhttp3.Request applyCacheMode(okhttp3.Request okHttpRequest) {
+        if (profile.getCacheMode() != CacheMode.REVALIDATE
+                || !"GET".equals(okHttpRequest.method())
+                || okHttpRequest.header("Cache-Control") != null) {
+            return okHttpRequest;
+        }
+        return okHttpRequest.newBuilder().cacheControl(REVALIDATE).build();
+    }
+
+    /**
+     * Attach the timing listener, byte counter and handle to the request so the
+     * event listener factory and the interceptors pick them up
+     */
+    private okhttp3.Request tag(okhttp3.Request okHttpRequest, TimingEventListener timing,
+                                ByteCountingInterceptor.Counter bytes, RequestHandle handle) {
+        return okHttpRequest.newBuilder()
+                .tag(TimingEventListener.class, timing)
+                .tag(ByteCountingInterceptor.Counter.class, bytes)
+                .tag(ProgressInterceptor.Listener.class, handle)
+                .build();
+    }
+
+    /**
+     * Register a request to execute, so it can be cancelled before and while it runs
+     * @param group Group to cancel it with, e.g. a collection run, or null
+     */
+    public RequestHandle register(Request request, String group) {
+        return inFlight.register(request, group);
+    }
+
+    /**
+     * Get the registry of requests in flight
+     */
+    public InFlightRegistry getInFlightRegistry() {
+        return inFlight;
+    }
+
     /**
      * Cancel all pending requests
      */
     public void cancelAll() {
+        inFlight.cancelAll();
         client.dispatcher().cancelAll();
         log.info("All pending requests cancelled");
     }
@@ -182,9 +688,16 @@ public class HttpClientService {
     /**
      * Shutdown the client
      */
-    public void shutdown() {
-        client.dispatcher().executorService().shutdown();
+    public synchronized void shutdown() {
+        backend.shutdown();
         client.connectionPool().evictAll();
+        for (Cache cache : caches.values()) {
+            try {
+                cache.close();
+            } catch (IOException e) {
+                log.warn("Failed to close HTTP cache {}", cache.directory(), e);
+            }
+        }
         log.info("HTTP client shutdown");
     }
 }
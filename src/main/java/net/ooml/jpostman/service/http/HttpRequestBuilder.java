@@ -4,14 +4,21 @@ import net.ooml.jpostman.config.Constants;
 import net.ooml.jpostman.model.*;
 import net.ooml.jpostman.model.enums.AuthType;
 import net.ooml.jpostman.model.enums.BodyType;
+import net.ooml.jpostman.model.enums.CompressionType;
 import net.ooml.jpostman.service.variable.VariableResolver;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
 import net.ooml.jpostman.util.StringUtil;
 import okhttp3.*;
+import okio.Buffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * HTTP request builder using OkHttp
@@ -20,18 +27,34 @@ import java.util.Base64;
 public class HttpRequestBuilder {
     private static final Logger log = LoggerFactory.getLogger(HttpRequestBuilder.class);
 
-    private final VariableResolver variableResolver;
+    private volatile VariableResolver variableResolver;
 
     public HttpRequestBuilder(VariableResolver variableResolver) {
         this.variableResolver = variableResolver;
     }
 
+    /**
+     * Resolve variables of subsequent requests with another resolver
+     */
+    public void setVariableResolver(VariableResolver variableResolver) {
+        this.variableResolver = variableResolver;
+    }
+
     /**
      * Build OkHttp Request from JPostman Request
      */
     public okhttp3.Request build(net.ooml.jpostman.model.Request request) throws IllegalArgumentException {
+        return build(request, snapshotVariables());
+    }
+
+    /**
+     * Build OkHttp Request from JPostman Request, resolving against a variable snapshot
+     * Safe to call from any thread; the snapshot is never modified.
+     */
+    public okhttp3.Request build(net.ooml.jpostman.model.Request request, VariableSnapshot variables)
+            throws IllegalArgumentException {
         // Resolve URL
-        String url = resolveUrl(request.getUrl());
+        String url = resolveUrl(request.getUrl(), variables);
         if (StringUtil.isEmpty(url)) {
             throw new IllegalArgumentException("URL cannot be empty");
         }
@@ -41,33 +64,41 @@ public class HttpRequestBuilder {
                 .url(url);
 
         // Add headers
-        addHeaders(builder, request);
+        addHeaders(builder, request, variables);
 
         // Add authentication
-        addAuthentication(builder, request.getAuth());
+        addAuthentication(builder, request.getAuth(), variables);
 
         // Build request body and set method
-        buildRequestWithBody(builder, request);
+        buildRequestWithBody(builder, request, variables);
 
         okhttp3.Request builtRequest = builder.build();
         log.debug("Built HTTP request: {} {}", request.getMethod(), url);
         return builtRequest;
     }
 
+    /**
+     * Take a snapshot of the resolver's current variables
+     */
+    public VariableSnapshot snapshotVariables() {
+        return variableResolver != null ? variableResolver.snapshot() : VariableSnapshot.EMPTY;
+    }
+
     /**
      * Resolve URL with variables
      */
-    private String resolveUrl(String url) {
+    private String resolveUrl(String url, VariableSnapshot variables) {
         if (StringUtil.isEmpty(url)) {
             return url;
         }
-        return variableResolver.resolve(url);
+        return variables.resolve(url);
     }
 
     /**
      * Add headers to request
      */
-    private void addHeaders(okhttp3.Request.Builder builder, net.ooml.jpostman.model.Request request) {
+    private void addHeaders(okhttp3.Request.Builder builder, net.ooml.jpostman.model.Request request,
+                            VariableSnapshot variables) {
         // Add default headers
         builder.addHeader("User-Agent", Constants.DEFAULT_USER_AGENT);
 
@@ -75,8 +106,8 @@ public class HttpRequestBuilder {
         if (request.getHeaders() != null) {
             for (Header header : request.getHeaders()) {
                 if (header.getEnabled() != null && header.getEnabled()) {
-                    String key = resolveValue(header.getKey());
-                    String value = resolveValue(header.getValue());
+                    String key = resolveValue(header.getKey(), variables);
+                    String value = resolveValue(header.getValue(), variables);
                     if (StringUtil.isNotEmpty(key) && value != null) {
                         builder.addHeader(key, value);
                     }
@@ -88,20 +119,21 @@ public class HttpRequestBuilder {
     /**
      * Add authentication to request
      */
-    private void addAuthentication(okhttp3.Request.Builder builder, AuthConfig auth) {
+    private void addAuthentication(okhttp3.Request.Builder builder, AuthConfig auth,
+                                   VariableSnapshot variables) {
         if (auth == null || auth.getType() == AuthType.NONE) {
             return;
         }
 
         switch (auth.getType()) {
             case BASIC:
-                addBasicAuth(builder, auth);
+                addBasicAuth(builder, auth, variables);
                 break;
             case BEARER:
-                addBearerToken(builder, auth);
+                addBearerToken(builder, auth, variables);
                 break;
             case API_KEY:
-                addApiKey(builder, auth);
+                addApiKey(builder, auth, variables);
                 break;
             default:
                 log.warn("Unsupported auth type: {}", auth.getType());
@@ -111,9 +143,9 @@ public class HttpRequestBuilder {
     /**
      * Add Basic Authentication
      */
-    private void addBasicAuth(okhttp3.Request.Builder builder, AuthConfig auth) {
-        String username = resolveValue(auth.getUsername());
-        String password = resolveValue(auth.getPassword());
+    private void addBasicAuth(okhttp3.Request.Builder builder, AuthConfig auth, VariableSnapshot variables) {
+        String username = resolveValue(auth.getUsername(), variables);
+        String password = resolveValue(auth.getPassword(), variables);
 
         if (StringUtil.isNotEmpty(username)) {
             String credentials = username + ":" + (password != null ? password : "");
@@ -127,8 +159,9 @@ public class HttpRequestBuilder {
     /**
      * Add Bearer Token
      */
-    private void addBearerToken(okhttp3.Request.Builder builder, AuthConfig auth) {
-        String token = resolveValue(auth.getToken());
+    private void addBearerToken(okhttp3.Request.Builder builder, AuthConfig auth,
+                                VariableSnapshot variables) {
+        String token = resolveValue(auth.getToken(), variables);
         if (StringUtil.isNotEmpty(token)) {
             builder.addHeader("Authorization", "Bearer " + token);
             log.debug("Added Bearer Token");
@@ -138,9 +171,9 @@ public class HttpRequestBuilder {
     /**
      * Add API Key
      */
-    private void addApiKey(okhttp3.Request.Builder builder, AuthConfig auth) {
-        String apiKey = resolveValue(auth.getApiKey());
-        String headerName = resolveValue(auth.getApiKeyHeader());
+    private void addApiKey(okhttp3.Request.Builder builder, AuthConfig auth, VariableSnapshot variables) {
+        String apiKey = resolveValue(auth.getApiKey(), variables);
+        String headerName = resolveValue(auth.getApiKeyHeader(), variables);
 
         if (StringUtil.isNotEmpty(apiKey) && StringUtil.isNotEmpty(headerName)) {
             builder.addHeader(headerName, apiKey);
@@ -151,12 +184,13 @@ public class HttpRequestBuilder {
     /**
      * Build request with body based on HTTP method
      */
-    private void buildRequestWithBody(okhttp3.Request.Builder builder, net.ooml.jpostman.model.Request request) {
+    private void buildRequestWithBody(okhttp3.Request.Builder builder, net.ooml.jpostman.model.Request request,
+                                      VariableSnapshot variables) {
         String method = request.getMethod().getValue();
         okhttp3.RequestBody body = null;
 
         // Methods that typically don't have a body
-        if ("GET".equals(method) || "HEAD".equals(method) || "DELETE".equals(method)) {
+        if (!request.getMethod().sendsBody()) {
             // For GET and HEAD, body should be null
             // For DELETE, body is optional but we'll use null by default
             builder.method(method, null);
@@ -164,7 +198,10 @@ public class HttpRequestBuilder {
         }
 
         // Build request body for POST, PUT, PATCH, etc.
-        body = buildRequestBody(request.getBody());
+        body = buildRequestBody(request.getBody(), variables);
+        if (body != null) {
+            body = compress(builder, body, request, variables);
+        }
 
         // If no body provided for methods that typically require one, use empty body
         if (body == null && ("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method))) {
@@ -177,12 +214,13 @@ public class HttpRequestBuilder {
     /**
      * Build OkHttp RequestBody from JPostman RequestBody
      */
-    private okhttp3.RequestBody buildRequestBody(net.ooml.jpostman.model.RequestBody body) {
+    private okhttp3.RequestBody buildRequestBody(net.ooml.jpostman.model.RequestBody body,
+                                                 VariableSnapshot variables) {
         if (body == null || body.getType() == BodyType.NONE) {
             return null;
         }
 
-        String content = resolveValue(body.getContent());
+        String content = resolveValue(body.getContent(), variables);
         if (StringUtil.isEmpty(content)) {
             return null;
         }
@@ -191,6 +229,54 @@ public class HttpRequestBuilder {
         return okhttp3.RequestBody.create(content, mediaType);
     }
 
+    /**
+     * Compress the body with the request's or the environment's encoding
+     * The body is compressed up front so it is still sent with a Content-Length.
+     * Skipped when the request sets its own Content-Encoding header.
+     */
+    private okhttp3.RequestBody compress(okhttp3.Request.Builder builder, okhttp3.RequestBody body,
+                                         net.ooml.jpostman.model.Request request, VariableSnapshot variables) {
+        CompressionType compression = request.getCompression() != null
+                ? request.getCompression()
+                : variables.getRequestCompression();
+        if (compression == null || compression == CompressionType.NONE || hasContentEncoding(request)) {
+            return body;
+        }
+
+        try {
+            Buffer plain = new Buffer();
+            body.writeTo(plain);
+            long plainSize = plain.size();
+
+            Buffer compressed = new Buffer();
+            try (OutputStream out = compression == CompressionType.GZIP
+                    ? new GZIPOutputStream(compressed.outputStream())
+                    : new DeflaterOutputStream(compressed.outputStream())) {
+                plain.writeTo(out);
+            }
+
+            builder.header("Content-Encoding", compression.getEncoding());
+            log.debug("Compressed request body with {}: {} -> {} bytes",
+                    compression.getEncoding(), plainSize, compressed.size());
+            return okhttp3.RequestBody.create(compressed.readByteString(), body.contentType());
+        } catch (IOException e) {
+            log.warn("Failed to compress request body, sending it uncompressed", e);
+            return body;
+        }
+    }
+
+    private static boolean hasContentEncoding(net.ooml.jpostman.model.Request request) {
+        if (request.getHeaders() == null) {
+            return false;
+        }
+        for (Header header : request.getHeaders()) {
+            if (Boolean.TRUE.equals(header.getEnabled()) && "Content-Encoding".equalsIgnoreCase(header.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Get MediaType for body type
      */
@@ -212,12 +298,12 @@ public class HttpRequestBuilder {
     }
 
     /**
-     * Resolve value with variable resolver
+     * Resolve value with variable snapshot
      */
-    private String resolveValue(String value) {
+    private String resolveValue(String value, VariableSnapshot variables) {
         if (value == null) {
             return null;
         }
-        return variableResolver.resolve(value);
+        return variables.resolve(value);
     }
 }
@@ -1,17 +1,24 @@
 package net.ooml.jpostman.service.http;
 
+import net.ooml.jpostman.model.BodyHandle;
+import net.ooml.jpostman.model.ByteCounts;
 import net.ooml.jpostman.model.Header;
 import net.ooml.jpostman.model.Response;
+import net.ooml.jpostman.model.ResponseTimings;
+import net.ooml.jpostman.model.enums.CacheStatus;
 import net.ooml.jpostman.model.enums.RequestStatus;
+import net.ooml.jpostman.service.http.interceptors.ByteCountingInterceptor;
 import okhttp3.Headers;
 import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * HTTP response handler
@@ -20,7 +27,50 @@ import java.util.List;
 public class HttpResponseHandler {
     private static final Logger log = LoggerFactory.getLogger(HttpResponseHandler.class);
 
-    private static final long MAX_BODY_SIZE = 10 * 1024 * 1024; // 10 MB
+    private final ResponseBodyReader bodyReader = new ResponseBodyReader();
+
+    /**
+     * Handle successful OkHttp response and attach the timing breakdown
+     * Duration covers the whole call including the body download
+     */
+    public Response handleResponse(okhttp3.Response okHttpResponse, TimingEventListener timing) {
+        Response response = handleResponse(okHttpResponse, 0L);
+        if (timing != null && response.getStatus() == RequestStatus.SUCCESS) {
+            ResponseTimings timings = timing.toTimings();
+            response.setTimings(timings);
+            response.setDuration(TimeUnit.NANOSECONDS.toMillis(timings.getTotalNanos()));
+        }
+        return response;
+    }
+
+    /**
+     * Handle successful OkHttp response and attach the timing breakdown and byte counts
+     */
+    public Response handleResponse(okhttp3.Response okHttpResponse, TimingEventListener timing,
+                                   ByteCountingInterceptor.Counter counter) {
+        return attachByteCounts(handleResponse(okHttpResponse, timing), counter);
+    }
+
+    /**
+     * Attach the bytes counted on the wire to a response
+     * Also applies to error responses, which then show what was sent before the failure.
+     */
+    public Response attachByteCounts(Response response, ByteCountingInterceptor.Counter counter) {
+        if (counter == null) {
+            return response;
+        }
+        response.setByteCounts(ByteCounts.builder()
+                .requestHeaderBytes(counter.getRequestHeaderBytes())
+                .requestBodyBytes(counter.getRequestBodyBytes())
+                .responseHeaderBytes(counter.getResponseHeaderBytes())
+                .responseBodyBytes(counter.getResponseBodyBytes())
+                .decodedBodyBytes(response.getSize() != null ? response.getSize() : 0L)
+                .build());
+        if (counter.hasResponse() && response.getStatus() == RequestStatus.SUCCESS) {
+            response.setWireSize(counter.getResponseBodyBytes());
+        }
+        return response;
+    }
 
     /**
      * Handle successful OkHttp response
@@ -33,11 +83,19 @@ public class HttpResponseHandler {
             // Parse headers
             List<Header> headers = parseHeaders(okHttpResponse.headers());
 
-            // Read body
-            String body = readBody(okHttpResponse.body());
+            // Read body (large bodies are spilled to disk)
+            BodyHandle bodyHandle = readBody(okHttpResponse.body());
+            String body = bodyHandle != null && bodyHandle.isInMemory() ? bodyHandle.getText() : null;
 
-            // Calculate size
-            long size = body != null ? body.length() : 0;
+            // Calculate size; OkHttp drops Content-Encoding from responses it decoded itself
+            long size = bodyHandle != null ? bodyHandle.getSize() : 0;
+            okhttp3.Response networkResponse = okHttpResponse.networkResponse();
+            String contentEncoding = networkResponse != null
+                    ? networkResponse.header("Content-Encoding")
+                    : okHttpResponse.header("Content-Encoding");
+            CacheStatus cacheStatus = cacheStatusOf(okHttpResponse);
+            // A cache hit received no body bytes at all
+            Long wireSize = contentEncoding == null && cacheStatus != CacheStatus.HIT ? size : null;
 
             Response response = Response.builder()
                     .statusCode(statusCode)
@@ -45,7 +103,11 @@ public class HttpResponseHandler {
                     .status(RequestStatus.SUCCESS)
                     .headers(headers)
                     .body(body)
+                    .bodyHandle(bodyHandle)
                     .size(size)
+                    .wireSize(wireSize)
+                    .contentEncoding(contentEncoding)
+                    .cacheStatus(cacheStatus)
                     .duration(duration)
                     .timestamp(LocalDateTime.now())
                     .build();
@@ -59,6 +121,21 @@ public class HttpResponseHandler {
         }
     }
 
+    /**
+     * Tell whether the response was served from the cache, or null if it came from the network
+     */
+    private static CacheStatus cacheStatusOf(okhttp3.Response okHttpResponse) {
+        if (okHttpResponse.cacheResponse() == null) {
+            return null;
+        }
+        okhttp3.Response networkResponse = okHttpResponse.networkResponse();
+        if (networkResponse == null) {
+            return CacheStatus.HIT;
+        }
+        // A conditional request answered with new content is a plain network response
+        return networkResponse.code() == 304 ? CacheStatus.REVALIDATED : null;
+    }
+
     /**
      * Handle error response
      */
@@ -96,25 +173,15 @@ public class HttpResponseHandler {
     /**
      * Read response body
      */
-    private String readBody(ResponseBody responseBody) throws IOException {
+    private BodyHandle readBody(ResponseBody responseBody) throws IOException {
         if (responseBody == null) {
             return null;
         }
 
-        // Check body size
-        long contentLength = responseBody.contentLength();
-        if (contentLength > MAX_BODY_SIZE) {
-            log.warn("Response body too large ({} bytes), truncating", contentLength);
-            return "[Response body too large to display]";
-        }
-
-        try {
-            String body = responseBody.string();
-            log.debug("Response body read: {} bytes", body.length());
-            return body;
-        } finally {
-            responseBody.close();
-        }
+        BodyHandle bodyHandle = bodyReader.read(responseBody);
+        log.debug("Response body read: {} bytes{}", bodyHandle.getSize(),
+                bodyHandle.isInMemory() ? "" : " (stored in " + bodyHandle.getFile() + ")");
+        return bodyHandle;
     }
 
     /**
@@ -127,7 +194,7 @@ public class HttpResponseHandler {
                 .status(RequestStatus.SUCCESS)
                 .headers(new ArrayList<>())
                 .body(body)
-                .size(body != null ? (long) body.length() : 0L)
+                .size(body != null ? (long) body.getBytes(StandardCharsets.UTF_8).length : 0L)
                 .duration(0L)
                 .timestamp(LocalDateTime.now())
                 .build();
@@ -0,0 +1,103 @@
+package net.ooml.jpostman.service.http;
+
+import net.ooml.jpostman.model.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of the requests currently in flight
+ * Every request executed by HttpClientService is registered for its lifetime,
+ * so single calls, whole groups (e.g. a collection run) or everything can be
+ * cancelled without touching unrelated calls.
+ */
+public class InFlightRegistry {
+    private static final Logger log = LoggerFactory.getLogger(InFlightRegistry.class);
+
+    private final Map<Long, RequestHandle> handles = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /**
+     * Register a request that is about to be executed
+     * @param group Group to cancel it with, or null
+     */
+    public RequestHandle register(Request request, String group) {
+        RequestHandle handle = new RequestHandle(nextId.getAndIncrement(), group, request);
+        handles.put(handle.getId(), handle);
+        return handle;
+    }
+
+    /**
+     * Remove a request once it completed, failed or was cancelled
+     */
+    void unregister(RequestHandle handle) {
+        handle.finish();
+        handles.remove(handle.getId());
+    }
+
+    /**
+     * Get the requests in flight, oldest first
+     */
+    public List<RequestHandle> getInFlight() {
+        List<RequestHandle> result = new ArrayList<>(handles.values());
+        result.sort(Comparator.comparingLong(RequestHandle::getId));
+        return result;
+    }
+
+    /**
+     * Cancel one request
+     * @return true if it was still in flight
+     */
+    public boolean cancel(long id) {
+        RequestHandle handle = handles.get(id);
+        if (handle == null) {
+            return false;
+        }
+        handle.cancel();
+        return true;
+    }
+
+    /**
+     * Cancel every request of a group
+     * @return Number of requests cancelled
+     */
+    public int cancelGroup(String group) {
+        int count = 0;
+        for (RequestHandle handle : handles.values()) {
+            if (group.equals(handle.getGroup())) {
+                handle.cancel();
+                count++;
+            }
+        }
+        if (count > 0) {
+            log.info("Cancelled {} in-flight requests of {}", count, group);
+        }
+        return count;
+    }
+
+    /**
+     * Cancel every request in flight
+     * @return Number of requests cancelled
+     */
+    public int cancelAll() {
+        int count = 0;
+        for (RequestHandle handle : handles.values()) {
+            handle.cancel();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of requests in flight
+     */
+    public int size() {
+        return handles.size();
+    }
+}
@@ -0,0 +1,139 @@
+package net.ooml.jpostman.service.http;
+
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.service.http.interceptors.ProgressInterceptor;
+import okhttp3.Call;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handle of one in-flight request
+ * Tracks when the call started and how many body bytes were transferred so
+ * far, and cancels the underlying OkHttp call, releasing its connection and
+ * thread immediately. A handle may be cancelled before the call is started.
+ */
+public class RequestHandle implements ProgressInterceptor.Listener {
+    private final long id;
+    private final String group;
+    private final String requestName;
+    private final HttpMethod method;
+    private final String url;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    private volatile Call call;
+    private volatile boolean cancelled;
+    private volatile long endNanos;
+
+    RequestHandle(long id, String group, Request request) {
+        this.id = id;
+        this.group = group;
+        this.requestName = request.getName();
+        this.method = request.getMethod();
+        this.url = request.getUrl();
+    }
+
+    /**
+     * Cancel the request; has no effect once it completed
+     */
+    public void cancel() {
+        cancelled = true;
+        Call current = call;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    /**
+     * Bind the OkHttp call, cancelling it right away if the handle already was
+     */
+    void attach(Call call) {
+        this.call = call;
+        if (cancelled) {
+            call.cancel();
+        }
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    @Override
+    public void onBytesSent(long count) {
+        bytesSent.addAndGet(count);
+    }
+
+    @Override
+    public void onBytesReceived(long count) {
+        bytesReceived.addAndGet(count);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Get the group the request belongs to, e.g. a collection run, or null
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    public String getRequestName() {
+        return requestName;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return endNanos != 0;
+    }
+
+    /**
+     * Get the time since the request started, or its total time once done
+     */
+    public long getElapsedMillis() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    /**
+     * Get the request body bytes written so far
+     */
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * Get the response body bytes read so far
+     */
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url + " (" + getElapsedMillis() + "ms, "
+                + bytesSent.get() + " B sent, " + bytesReceived.get() + " B received)";
+    }
+}
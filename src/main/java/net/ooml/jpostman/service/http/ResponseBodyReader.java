@@ -0,0 +1,121 @@
+package net.ooml.jpostman.service.http;
+
+import net.ooml.jpostman.config.PathConfig;
+import net.ooml.jpostman.model.BodyHandle;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streaming response body reader
+ * Keeps bodies up to the memory threshold in memory and spills larger ones,
+ * including chunked bodies of unknown length, to a temp file under the
+ * application home directory.
+ */
+public class ResponseBodyReader {
+    private static final Logger log = LoggerFactory.getLogger(ResponseBodyReader.class);
+
+    public static final long DEFAULT_MEMORY_THRESHOLD = 2 * 1024 * 1024; // 2 MB
+
+    private static final long READ_SIZE = 8192;
+    private static final String TEMP_FILE_PREFIX = "body-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final long memoryThreshold;
+
+    public ResponseBodyReader() {
+        this(DEFAULT_MEMORY_THRESHOLD);
+    }
+
+    public ResponseBodyReader(long memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    /**
+     * Read a response body into a body handle
+     * The response body is always closed
+     */
+    public BodyHandle read(ResponseBody responseBody) throws IOException {
+        try (ResponseBody body = responseBody) {
+            Charset charset = getCharset(body.contentType());
+
+            // Known to be large: stream straight to disk
+            if (body.contentLength() > memoryThreshold) {
+                return spill(body.source(), new Buffer(), charset);
+            }
+
+            BufferedSource source = body.source();
+            Buffer buffer = new Buffer();
+            while (buffer.size() <= memoryThreshold) {
+                if (source.read(buffer, READ_SIZE) == -1) {
+                    long size = buffer.size();
+                    return BodyHandle.inMemory(buffer.readString(charset), size, charset);
+                }
+            }
+
+            return spill(source, buffer, charset);
+        }
+    }
+
+    /**
+     * Write already buffered bytes and the rest of the source to a temp file
+     */
+    private BodyHandle spill(BufferedSource source, Buffer buffered, Charset charset) throws IOException {
+        Path tempDir = PathConfig.getTempDirectory();
+        Files.createDirectories(tempDir);
+        // Deleted when the handle is released; files left behind are swept on next start
+        Path file = Files.createTempFile(tempDir, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+
+        long size;
+        try (BufferedSink sink = Okio.buffer(Okio.sink(file))) {
+            size = buffered.size();
+            sink.write(buffered, buffered.size());
+            size += sink.writeAll(source);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        log.debug("Response body spilled to disk: {} ({} bytes)", file, size);
+        return BodyHandle.ofFile(file, size, charset);
+    }
+
+    /**
+     * Get charset from content type, defaulting to UTF-8
+     */
+    private Charset getCharset(MediaType contentType) {
+        Charset charset = contentType != null ? contentType.charset(StandardCharsets.UTF_8) : null;
+        return charset != null ? charset : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Delete body files left over from previous sessions
+     */
+    public static void cleanupTempFiles() {
+        Path tempDir = PathConfig.getTempDirectory();
+        if (!Files.isDirectory(tempDir)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+                tempDir, TEMP_FILE_PREFIX + "*" + TEMP_FILE_SUFFIX)) {
+            for (Path file : stream) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up temp body files", e);
+        }
+    }
+}
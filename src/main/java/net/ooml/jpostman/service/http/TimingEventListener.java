@@ -0,0 +1,185 @@
+package net.ooml.jpostman.service.http;
+
+import net.ooml.jpostman.model.ResponseTimings;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * OkHttp event listener recording a per-phase timing breakdown of one call
+ * A listener instance is attached to the request as a tag and picked up by
+ * {@link #FACTORY}; calls without the tag get no listener.
+ */
+public class TimingEventListener extends EventListener {
+
+    /**
+     * Factory returning the listener tagged on the call's request
+     */
+    public static final EventListener.Factory FACTORY = call -> {
+        TimingEventListener listener = call.request().tag(TimingEventListener.class);
+        return listener != null ? listener : EventListener.NONE;
+    };
+
+    private long callStart;
+    private long callEnd;
+    private long firstPhaseStart;
+
+    private long dnsStart;
+    private long dnsTotal;
+    private long connectStart;
+    private long secureConnectStart;
+    private long connectTotal;
+    private long tlsTotal;
+    private boolean connected;
+    private boolean connectionReused;
+
+    private long requestStart;
+    private long requestEnd;
+    private long responseStart;
+    private long responseEnd;
+
+    /**
+     * Build the timing breakdown from the recorded events
+     * Call after the response body has been fully read or the call failed
+     */
+    public synchronized ResponseTimings toTimings() {
+        long end = callEnd > 0 ? callEnd : System.nanoTime();
+        long firstByte = responseStart > 0 && requestEnd > 0 ? responseStart - requestEnd : 0;
+        long download = responseEnd > 0 && responseStart > 0 ? responseEnd - responseStart : 0;
+
+        return ResponseTimings.builder()
+                .queueNanos(firstPhaseStart > 0 ? firstPhaseStart - callStart : 0)
+                .dnsNanos(dnsTotal)
+                .connectNanos(connectTotal)
+                .tlsNanos(tlsTotal)
+                .requestWriteNanos(requestEnd > 0 ? requestEnd - requestStart : 0)
+                .firstByteNanos(firstByte)
+                .downloadNanos(download)
+                .totalNanos(callStart > 0 ? end - callStart : 0)
+                .connectionReused(connectionReused)
+                .build();
+    }
+
+    /**
+     * Get total call duration in milliseconds
+     */
+    public synchronized long getDurationMillis() {
+        long end = callEnd > 0 ? callEnd : System.nanoTime();
+        return callStart > 0 ? (end - callStart) / 1_000_000 : 0;
+    }
+
+    private void markPhase(long now) {
+        if (firstPhaseStart == 0) {
+            firstPhaseStart = now;
+        }
+    }
+
+    @Override
+    public synchronized void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+        markPhase(dnsStart);
+    }
+
+    @Override
+    public synchronized void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsTotal += System.nanoTime() - dnsStart;
+    }
+
+    @Override
+    public synchronized void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+        secureConnectStart = 0;
+        connected = true;
+        markPhase(connectStart);
+    }
+
+    @Override
+    public synchronized void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+        connectTotal += secureConnectStart - connectStart;
+    }
+
+    @Override
+    public synchronized void secureConnectEnd(Call call, Handshake handshake) {
+        tlsTotal += System.nanoTime() - secureConnectStart;
+    }
+
+    @Override
+    public synchronized void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                                        Protocol protocol) {
+        if (secureConnectStart == 0) {
+            connectTotal += System.nanoTime() - connectStart;
+        }
+    }
+
+    @Override
+    public synchronized void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                                           Protocol protocol, IOException ioe) {
+        connectEnd(call, inetSocketAddress, proxy, protocol);
+    }
+
+    @Override
+    public synchronized void connectionAcquired(Call call, Connection connection) {
+        connectionReused = !connected;
+        markPhase(System.nanoTime());
+    }
+
+    @Override
+    public synchronized void requestHeadersStart(Call call) {
+        // Redirects and retries restart the request phases; keep the last attempt
+        requestStart = System.nanoTime();
+        requestEnd = 0;
+        responseStart = 0;
+        responseEnd = 0;
+    }
+
+    @Override
+    public synchronized void requestHeadersEnd(Call call, Request request) {
+        requestEnd = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void responseHeadersStart(Call call) {
+        responseStart = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void responseHeadersEnd(Call call, Response response) {
+        responseEnd = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void responseBodyEnd(Call call, long byteCount) {
+        responseEnd = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void callEnd(Call call) {
+        callEnd = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void callFailed(Call call, IOException ioe) {
+        callEnd = System.nanoTime();
+    }
+}
@@ -0,0 +1,118 @@
+package net.ooml.jpostman.service.http.interceptors;
+
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Utf8;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network interceptor counting the bytes of each exchange on the wire
+ * Sees the headers OkHttp adds (Host, Accept-Encoding, Content-Length, ...)
+ * and the bodies before content decoding. Counts go to the Counter tagged on
+ * the request and add up over redirects and retries. Header sizes are those
+ * of the HTTP/1.1 text form; HTTP/2 header compression is not reflected, nor
+ * is chunked transfer framing.
+ */
+public class ByteCountingInterceptor implements Interceptor {
+
+    private static final int CRLF = 2;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Counter counter = request.tag(Counter.class);
+        if (counter == null) {
+            return chain.proceed(request);
+        }
+
+        counter.requestHeaderBytes.addAndGet(requestHeaderSize(request));
+        if (request.body() != null) {
+            request = request.newBuilder()
+                    .method(request.method(), CountingBodies.requestBody(request.body(), counter.requestBodyBytes::addAndGet))
+                    .build();
+        }
+
+        Response response = chain.proceed(request);
+        counter.responseHeaderBytes.addAndGet(responseHeaderSize(response));
+        counter.responses.incrementAndGet();
+
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .body(CountingBodies.responseBody(body, counter.responseBodyBytes::addAndGet))
+                .build();
+    }
+
+    private static long requestHeaderSize(Request request) {
+        HttpUrl url = request.url();
+        String target = url.encodedQuery() != null
+                ? url.encodedPath() + "?" + url.encodedQuery()
+                : url.encodedPath();
+        // "GET /path?query HTTP/1.1"
+        long size = Utf8.size(request.method()) + 1 + Utf8.size(target) + 1 + "HTTP/1.1".length() + CRLF;
+        return size + headersSize(request.headers());
+    }
+
+    private static long responseHeaderSize(Response response) {
+        // "HTTP/1.1 200 OK"
+        String version = response.protocol() == Protocol.HTTP_1_0 ? "HTTP/1.0" : "HTTP/1.1";
+        long size = version.length() + 1 + 3 + 1 + Utf8.size(response.message()) + CRLF;
+        return size + headersSize(response.headers());
+    }
+
+    private static long headersSize(Headers headers) {
+        long size = 0;
+        for (int i = 0; i < headers.size(); i++) {
+            // "Name: value"
+            size += Utf8.size(headers.name(i)) + 2 + Utf8.size(headers.value(i)) + CRLF;
+        }
+        // Blank line ending the header block
+        return size + CRLF;
+    }
+
+    /**
+     * Byte counts of one call, updated from the threads doing the I/O
+     */
+    public static class Counter {
+        private final AtomicLong requestHeaderBytes = new AtomicLong();
+        private final AtomicLong requestBodyBytes = new AtomicLong();
+        private final AtomicLong responseHeaderBytes = new AtomicLong();
+        private final AtomicLong responseBodyBytes = new AtomicLong();
+        private final AtomicLong responses = new AtomicLong();
+
+        public long getRequestHeaderBytes() {
+            return requestHeaderBytes.get();
+        }
+
+        public long getRequestBodyBytes() {
+            return requestBodyBytes.get();
+        }
+
+        public long getResponseHeaderBytes() {
+            return responseHeaderBytes.get();
+        }
+
+        /**
+         * Response body bytes read from the network, before content decoding
+         */
+        public long getResponseBodyBytes() {
+            return responseBodyBytes.get();
+        }
+
+        /**
+         * Check if any response headers were received
+         */
+        public boolean hasResponse() {
+            return responses.get() > 0;
+        }
+    }
+}
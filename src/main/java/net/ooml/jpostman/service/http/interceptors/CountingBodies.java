@@ -0,0 +1,109 @@
+package net.ooml.jpostman.service.http.interceptors;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.function.LongConsumer;
+
+/**
+ * Request and response bodies reporting the bytes passing through them
+ */
+final class CountingBodies {
+
+    private CountingBodies() {
+    }
+
+    /**
+     * Wrap a request body; the counter receives the bytes as they are written
+     */
+    static RequestBody requestBody(RequestBody delegate, LongConsumer counter) {
+        return new CountingRequestBody(delegate, counter);
+    }
+
+    /**
+     * Wrap a response body; the counter receives the bytes as they are read
+     */
+    static ResponseBody responseBody(ResponseBody delegate, LongConsumer counter) {
+        return new CountingResponseBody(delegate, counter);
+    }
+
+    private static class CountingRequestBody extends RequestBody {
+        private final RequestBody delegate;
+        private final LongConsumer counter;
+
+        CountingRequestBody(RequestBody delegate, LongConsumer counter) {
+            this.delegate = delegate;
+            this.counter = counter;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return delegate.isOneShot();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            BufferedSink counting = Okio.buffer(new ForwardingSink(sink) {
+                @Override
+                public void write(Buffer source, long byteCount) throws IOException {
+                    super.write(source, byteCount);
+                    counter.accept(byteCount);
+                }
+            });
+            delegate.writeTo(counting);
+            counting.emit();
+        }
+    }
+
+    private static class CountingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        CountingResponseBody(ResponseBody delegate, LongConsumer counter) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        counter.accept(read);
+                    }
+                    return read;
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package net.ooml.jpostman.service.http.interceptors;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Interceptor reporting request and response body bytes as they are transferred
+ * Counts are passed to the Listener tagged on the request; requests without
+ * one are not wrapped.
+ */
+public class ProgressInterceptor implements Interceptor {
+
+    /**
+     * Receives byte counts from the threads writing and reading the bodies
+     */
+    public interface Listener {
+        void onBytesSent(long count);
+
+        void onBytesReceived(long count);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Listener listener = request.tag(Listener.class);
+        if (listener == null) {
+            return chain.proceed(request);
+        }
+
+        if (request.body() != null) {
+            request = request.newBuilder()
+                    .method(request.method(), CountingBodies.requestBody(request.body(), listener::onBytesSent))
+                    .build();
+        }
+
+        Response response = chain.proceed(request);
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .body(CountingBodies.responseBody(body, listener::onBytesReceived))
+                .build();
+    }
+}
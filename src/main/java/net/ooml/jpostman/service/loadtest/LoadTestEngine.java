@@ -0,0 +1,340 @@
+package net.ooml.jpostman.service.loadtest;
+
+import net.ooml.jpostman.config.Constants;
+import net.ooml.jpostman.model.ByteCounts;
+import net.ooml.jpostman.model.ClientProfile;
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.model.LoadTestReport;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.Response;
+import net.ooml.jpostman.model.enums.RequestStatus;
+import net.ooml.jpostman.service.http.HttpClientService;
+import net.ooml.jpostman.service.http.RequestHandle;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generation engine with a constant-arrival-rate scheduler
+ * Requests are issued through HttpClientService.executeAsync at fixed intended
+ * start times, independent of how fast responses come back. Latency is measured
+ * from the intended start time, so server stalls and client-side queueing show
+ * up in the percentiles instead of silently lowering the send rate
+ * (coordinated omission correction).
+ */
+public class LoadTestEngine {
+    private static final Logger log = LoggerFactory.getLogger(LoadTestEngine.class);
+
+    // Latencies are recorded in microseconds, up to one hour, 3 significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Names the in-flight group of each run
+    private static final AtomicInteger RUN_COUNTER = new AtomicInteger();
+
+    private final HttpClientService httpClientService;
+    private final AtomicBoolean stopped = new AtomicBoolean(false);
+    private volatile boolean prewarm;
+    private volatile String runGroup;
+
+    /**
+     * Listener receiving an interim report about once per second
+     * Called from the scheduler thread
+     */
+    public interface ProgressListener {
+        void onProgress(LoadTestReport interim);
+    }
+
+    public LoadTestEngine(HttpClientService httpClientService) {
+        this.httpClientService = httpClientService;
+    }
+
+    /**
+     * Resolve and connect to every host of the test before the clock starts
+     * Off by default: it sends an extra HEAD request to the root of every origin.
+     */
+    public void setPrewarm(boolean prewarm) {
+        this.prewarm = prewarm;
+    }
+
+    /**
+     * Drive a single request at the target rate
+     */
+    public LoadTestReport run(Request request, double targetRps, Duration duration,
+                              ProgressListener listener) {
+        List<Request> requests = new ArrayList<>();
+        requests.add(request);
+        return run(request.getName(), requests, targetRps, duration, listener);
+    }
+
+    /**
+     * Drive all requests of a collection at the target rate, round-robin
+     */
+    public LoadTestReport run(Collection collection, double targetRps, Duration duration,
+                              ProgressListener listener) {
+        return run(collection.getName(), collection.getRequests(), targetRps, duration, listener);
+    }
+
+    /**
+     * Stop the current run
+     * No new requests are issued; in-flight requests are still awaited
+     */
+    public void stop() {
+        stopped.set(true);
+        log.info("Load test stop requested");
+    }
+
+    /**
+     * Stop the current run and cancel the requests in flight
+     * Cancelled requests are counted on their own and left out of the
+     * latency histograms, throughput and error rate.
+     */
+    public void abort() {
+        stop();
+        String group = runGroup;
+        if (group != null) {
+            httpClientService.getInFlightRegistry().cancelGroup(group);
+        }
+    }
+
+    /**
+     * Run the scheduler loop on the calling thread
+     */
+    private LoadTestReport run(String target, List<Request> requests, double targetRps,
+                               Duration duration, ProgressListener listener) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("No requests to run");
+        }
+        if (targetRps <= 0) {
+            throw new IllegalArgumentException("Target rate must be positive");
+        }
+
+        log.info("Starting load test: {} at {} req/s for {}s", target, targetRps, duration.getSeconds());
+        stopped.set(false);
+
+        // Variables are resolved from one snapshot for the whole test
+        VariableSnapshot variables = httpClientService.snapshotVariables();
+        if (prewarm) {
+            httpClientService.prewarm(requests, variables, Constants.PREWARM_TIMEOUT_MS);
+        }
+        RunState state = new RunState(target, targetRps, duration);
+        runGroup = "load-test-" + RUN_COUNTER.incrementAndGet();
+        long intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / targetRps));
+        long endTime = state.startNanos + duration.toNanos();
+        long nextProgress = state.startNanos + PROGRESS_INTERVAL_NANOS;
+        long index = 0;
+
+        while (!stopped.get()) {
+            long intendedStart = state.startNanos + index * intervalNanos;
+            if (intendedStart >= endTime) {
+                break;
+            }
+
+            // Sleep until the intended start; never skip a slot when running late
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+
+            Request request = requests.get((int) (index % requests.size()));
+            issue(request, variables, intendedStart, state, runGroup);
+            index++;
+
+            if (listener != null && System.nanoTime() >= nextProgress) {
+                nextProgress += PROGRESS_INTERVAL_NANOS;
+                listener.onProgress(state.report(false));
+            }
+        }
+
+        drain(state);
+        LoadTestReport report = state.report(true);
+
+        log.info("Load test finished: {} sent, {} completed, {} errors, {} cancelled, p99={}ms",
+                report.getSent(), report.getCompleted(), report.getErrors(), report.getCancelled(),
+                String.format("%.2f", report.getP99()));
+        return report;
+    }
+
+    /**
+     * Hand one request to the async client and record its latency on completion
+     */
+    private void issue(Request request, VariableSnapshot variables, long intendedStart, RunState state,
+                       String group) {
+        long actualStart = System.nanoTime();
+        state.sent.incrementAndGet();
+
+        RequestHandle handle = httpClientService.register(request, group);
+        // Bypass the disk cache so every request reaches the server
+        httpClientService.executeAsync(request, variables, handle, false, new HttpClientService.ResponseCallback() {
+            @Override
+            public void onSuccess(Response response) {
+                state.record(intendedStart, actualStart, false);
+                state.countBytes(response);
+                response.releaseBody();
+            }
+
+            @Override
+            public void onFailure(Response response) {
+                state.countBytes(response);
+                if (response.getStatus() == RequestStatus.CANCELLED) {
+                    state.cancelled.incrementAndGet();
+                } else {
+                    state.record(intendedStart, actualStart, true);
+                }
+                response.releaseBody();
+            }
+        });
+    }
+
+    /**
+     * Wait for in-flight requests after the last one was issued
+     */
+    private void drain(RunState state) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMs());
+        while (state.inFlight() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (state.inFlight() > 0) {
+            log.warn("Load test drain timed out with {} requests in flight", state.inFlight());
+        }
+    }
+
+    /**
+     * Longest a request still in flight can take under the active client profile
+     * The call timeout bounds the whole call; without one, a call can take its
+     * connect, write and read timeouts in turn. If any of those is unlimited,
+     * the default timeout is used so a stuck request cannot hold the report.
+     */
+    private long drainTimeoutMs() {
+        ClientProfile profile = httpClientService.getProfile();
+        if (profile.getCallTimeoutMs() != null && profile.getCallTimeoutMs() > 0) {
+            return profile.getCallTimeoutMs();
+        }
+        long total = 0;
+        for (Integer timeout : new Integer[]{
+                profile.getConnectTimeoutMs(), profile.getWriteTimeoutMs(), profile.getReadTimeoutMs()}) {
+            if (timeout == null || timeout <= 0) {
+                return Constants.DEFAULT_TIMEOUT_MS;
+            }
+            total += timeout;
+        }
+        return total;
+    }
+
+    /**
+     * Mutable state of one run, shared between the scheduler and client callbacks
+     */
+    private static class RunState {
+        private final String target;
+        private final double targetRps;
+        private final Duration duration;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+
+        private final Recorder corrected = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Recorder uncorrected = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram correctedTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram uncorrectedTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong cancelled = new AtomicLong();
+        private final AtomicLong bytesSent = new AtomicLong();
+        private final AtomicLong bytesReceived = new AtomicLong();
+
+        RunState(String target, double targetRps, Duration duration) {
+            this.target = target;
+            this.targetRps = targetRps;
+            this.duration = duration;
+        }
+
+        void record(long intendedStart, long actualStart, boolean error) {
+            long now = System.nanoTime();
+            corrected.recordValue(toMicros(now - intendedStart));
+            uncorrected.recordValue(toMicros(now - actualStart));
+            if (error) {
+                errors.incrementAndGet();
+            }
+            completed.incrementAndGet();
+        }
+
+        void countBytes(Response response) {
+            ByteCounts bytes = response.getByteCounts();
+            if (bytes != null) {
+                bytesSent.addAndGet(bytes.getBytesSent());
+                bytesReceived.addAndGet(bytes.getBytesReceived());
+            }
+        }
+
+        long inFlight() {
+            return sent.get() - completed.get() - cancelled.get();
+        }
+
+        /**
+         * Build a report from everything recorded so far
+         * Only ever called from the scheduler thread
+         */
+        LoadTestReport report(boolean finished) {
+            correctedTotal.add(corrected.getIntervalHistogram());
+            uncorrectedTotal.add(uncorrected.getIntervalHistogram());
+
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            long done = completed.get();
+            long failed = errors.get();
+
+            return LoadTestReport.builder()
+                    .target(target)
+                    .targetRps(targetRps)
+                    .plannedDuration(duration.toMillis())
+                    .elapsed(elapsed)
+                    .startedAt(startedAt)
+                    .finishedAt(finished ? LocalDateTime.now() : null)
+                    .sent(sent.get())
+                    .completed(done)
+                    .errors(failed)
+                    .cancelled(cancelled.get())
+                    .incomplete(finished ? inFlight() : 0L)
+                    .bytesSent(bytesSent.get())
+                    .bytesReceived(bytesReceived.get())
+                    .throughput(elapsed > 0 ? done * 1000.0 / elapsed : 0.0)
+                    .errorRate(done > 0 ? (double) failed / done : 0.0)
+                    .p50(percentile(correctedTotal, 50.0))
+                    .p90(percentile(correctedTotal, 90.0))
+                    .p99(percentile(correctedTotal, 99.0))
+                    .p999(percentile(correctedTotal, 99.9))
+                    .max(toMillis(correctedTotal.getMaxValue()))
+                    .mean(correctedTotal.getTotalCount() > 0 ? correctedTotal.getMean() / 1000.0 : 0.0)
+                    .uncorrectedP50(percentile(uncorrectedTotal, 50.0))
+                    .uncorrectedP99(percentile(uncorrectedTotal, 99.0))
+                    .uncorrectedMax(toMillis(uncorrectedTotal.getMaxValue()))
+                    .build();
+        }
+
+        private static double percentile(Histogram histogram, double percentile) {
+            return toMillis(histogram.getValueAtPercentile(percentile));
+        }
+
+        private static long toMicros(long nanos) {
+            return Math.min(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)), HIGHEST_TRACKABLE_MICROS);
+        }
+
+        private static double toMillis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
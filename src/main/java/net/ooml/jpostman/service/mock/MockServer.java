@@ -0,0 +1,398 @@
+package net.ooml.jpostman.service.mock;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.model.Header;
+import net.ooml.jpostman.model.MockResponse;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.service.storage.JsonSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process HTTP server answering with canned responses
+ * Built on the JDK HTTP server and bound to the loopback address, so runs and
+ * load tests can be benchmarked without network access, and dependencies can
+ * be stubbed during development. Routes come from {@link #stub} or from the
+ * mock responses defined on the requests of a collection.
+ */
+public class MockServer {
+    private static final Logger log = LoggerFactory.getLogger(MockServer.class);
+
+    private static final int MAX_LISTEN_BACKLOG = 1024;
+
+    static {
+        // Without TCP_NODELAY, delayed ACKs add about 40 ms to every keep-alive exchange
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder unmatchedCount = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private volatile long statsSince = System.nanoTime();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Throughput counters since start or the last reset
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private long requests;
+        private long unmatched;
+        private long bytesReceived;
+        private long bytesSent;
+        private long elapsedMs;
+
+        public double getRequestsPerSecond() {
+            return elapsedMs > 0 ? requests * 1000.0 / elapsedMs : 0;
+        }
+
+        public double getBytesSentPerSecond() {
+            return elapsedMs > 0 ? bytesSent * 1000.0 / elapsedMs : 0;
+        }
+    }
+
+    /**
+     * Start listening on the loopback address
+     * Port 0 picks a free port; see {@link #getPort()}.
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Mock server already running on port " + getPort());
+        }
+
+        HttpServer httpServer = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), MAX_LISTEN_BACKLOG);
+        httpServer.createContext("/", this::handle);
+        // Latency and chunk delays sleep on the handling thread, so threads are not pooled to a fixed size
+        executor = Executors.newCachedThreadPool(new MockThreadFactory());
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        server = httpServer;
+        resetStats();
+
+        log.info("Mock server started on {} with {} routes", getBaseUrl(), routes.size());
+    }
+
+    /**
+     * Stop the server, waiting at most one second for exchanges in progress
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(1);
+        executor.shutdownNow();
+        server = null;
+        executor = null;
+        log.info("Mock server stopped");
+    }
+
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    /**
+     * Base URL to send requests to, e.g. http://127.0.0.1:54321
+     */
+    public synchronized String getBaseUrl() {
+        if (server == null) {
+            return null;
+        }
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    /**
+     * Serve a response for a method and path
+     * A null method matches any method. Path segments written as {{name}} or
+     * :name match any value. Routes added later take precedence.
+     */
+    public void stub(HttpMethod method, String path, MockResponse response) {
+        routes.add(0, new Route(method, splitPath(path), response));
+    }
+
+    /**
+     * Serve the mock responses of all requests in a collection that define one
+     * The path is taken from the request URL, with scheme, host and any
+     * leading {{variable}} removed.
+     *
+     * @return number of routes added
+     */
+    public int mount(Collection collection) {
+        int mounted = 0;
+        for (Request request : collection.getRequests()) {
+            MockResponse mock = request.getMock();
+            if (mock == null || !Boolean.TRUE.equals(mock.getEnabled())) {
+                continue;
+            }
+            stub(request.getMethod(), pathOf(request.getUrl()), mock);
+            mounted++;
+        }
+        log.info("Mounted {} mock routes from collection: {}", mounted, collection.getName());
+        return mounted;
+    }
+
+    /**
+     * Remove all routes
+     */
+    public void clearRoutes() {
+        routes.clear();
+    }
+
+    public int getRouteCount() {
+        return routes.size();
+    }
+
+    public Stats getStats() {
+        return new Stats(
+                requestCount.sum(),
+                unmatchedCount.sum(),
+                bytesReceived.sum(),
+                bytesSent.sum(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - statsSince));
+    }
+
+    public void resetStats() {
+        requestCount.reset();
+        unmatchedCount.reset();
+        bytesReceived.reset();
+        bytesSent.reset();
+        statsSince = System.nanoTime();
+    }
+
+    /**
+     * Extract the path of a request URL, which may still contain variables
+     */
+    static String pathOf(String url) {
+        if (url == null) {
+            return "/";
+        }
+        String path = url.trim();
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        int scheme = path.indexOf("://");
+        if (scheme >= 0) {
+            int slash = path.indexOf('/', scheme + 3);
+            path = slash >= 0 ? path.substring(slash) : "/";
+        } else if (path.startsWith("{{")) {
+            // {{baseUrl}}/users -> /users
+            int end = path.indexOf("}}");
+            path = end >= 0 ? path.substring(end + 2) : path;
+        }
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static String[] splitPath(String path) {
+        String trimmed = path == null ? "" : path.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.increment();
+        try {
+            byte[] requestBody = readAll(exchange.getRequestBody());
+            bytesReceived.add(requestBody.length);
+
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getRawPath();
+            Route route = findRoute(method, splitPath(path));
+            if (route == null) {
+                unmatchedCount.increment();
+                byte[] body = ("{\"error\":\"No mock for " + method + " " + path + "\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                send(exchange, 404, body, 0, 0L);
+                return;
+            }
+
+            MockResponse mock = route.response;
+            sleep(mock.getLatencyMs());
+
+            byte[] body;
+            if (Boolean.TRUE.equals(mock.getEcho())) {
+                body = echo(exchange, requestBody);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+            } else {
+                body = mock.getBody() != null ? mock.getBody().getBytes(StandardCharsets.UTF_8) : new byte[0];
+                Headers responseHeaders = exchange.getResponseHeaders();
+                for (Header header : mock.getHeaders()) {
+                    if (Boolean.TRUE.equals(header.getEnabled()) && header.getKey() != null) {
+                        responseHeaders.add(header.getKey(), header.getValue() != null ? header.getValue() : "");
+                    }
+                }
+            }
+
+            int status = mock.getStatusCode() != null ? mock.getStatusCode() : 200;
+            int chunkSize = mock.getChunkSize() != null ? mock.getChunkSize() : 0;
+            send(exchange, status, body, chunkSize, mock.getChunkDelayMs());
+        } catch (IOException e) {
+            // Client went away mid-response
+            log.debug("Mock exchange aborted: {}", e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Route findRoute(String method, String[] segments) {
+        for (Route route : routes) {
+            if (route.matches(method, segments)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body, int chunkSize, Long chunkDelayMs)
+            throws IOException {
+        boolean noBody = "HEAD".equals(exchange.getRequestMethod()) || status == 204 || status == 304;
+        if (noBody || body.length == 0) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+
+        if (chunkSize <= 0) {
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            bytesSent.add(body.length);
+            return;
+        }
+
+        // Length 0 selects chunked transfer encoding
+        exchange.sendResponseHeaders(status, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int offset = 0; offset < body.length; offset += chunkSize) {
+                if (offset > 0) {
+                    sleep(chunkDelayMs);
+                }
+                int length = Math.min(chunkSize, body.length - offset);
+                out.write(body, offset, length);
+                out.flush();
+                bytesSent.add(length);
+            }
+        }
+    }
+
+    private static byte[] echo(HttpExchange exchange, byte[] requestBody) throws IOException {
+        ObjectNode node = JsonSerializer.getObjectMapper().createObjectNode();
+        URI uri = exchange.getRequestURI();
+        node.put("method", exchange.getRequestMethod());
+        node.put("path", uri.getRawPath());
+        node.put("query", uri.getRawQuery());
+
+        ObjectNode headers = node.putObject("headers");
+        for (Map.Entry<String, List<String>> entry : exchange.getRequestHeaders().entrySet()) {
+            ArrayNode values = headers.putArray(entry.getKey());
+            entry.getValue().forEach(values::add);
+        }
+        node.put("body", new String(requestBody, StandardCharsets.UTF_8));
+        return JsonSerializer.compactWriterFor(ObjectNode.class).writeValueAsBytes(node);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void sleep(Long millis) throws IOException {
+        if (millis == null || millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    /**
+     * Method and path template with its response
+     */
+    private static class Route {
+        private final HttpMethod method;
+        private final String[] segments;
+        private final MockResponse response;
+
+        Route(HttpMethod method, String[] segments, MockResponse response) {
+            this.method = method;
+            this.segments = segments;
+            this.response = response;
+        }
+
+        boolean matches(String requestMethod, String[] requestSegments) {
+            if (method != null && !method.name().equals(requestMethod)) {
+                return false;
+            }
+            if (segments.length != requestSegments.length) {
+                return false;
+            }
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                boolean wildcard = segment.startsWith(":")
+                        || (segment.startsWith("{{") && segment.endsWith("}}"));
+                if (!wildcard && !segment.equals(requestSegments[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Thread factory naming mock server workers
+     */
+    private static class MockThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mock-server-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package net.ooml.jpostman.service.runner;
+
+import net.ooml.jpostman.config.Constants;
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.Response;
+import net.ooml.jpostman.model.RunReport;
+import net.ooml.jpostman.model.RunResult;
+import net.ooml.jpostman.service.history.HistoryStore;
+import net.ooml.jpostman.service.http.HttpClientService;
+import net.ooml.jpostman.service.http.RequestHandle;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Headless collection runner
+ * Executes every request of a collection (or of one folder) with a bounded
+ * number of concurrent workers on the execution backend of a single
+ * HttpClientService, so all requests of a run go through the same OkHttpClient
+ * connection pool and request builder
+ */
+public class CollectionRunner {
+    private static final Logger log = LoggerFactory.getLogger(CollectionRunner.class);
+
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    // Names the in-flight group of each run
+    private static final AtomicInteger RUN_COUNTER = new AtomicInteger();
+
+    private final HttpClientService httpClientService;
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+    private volatile String runGroup;
+    private volatile boolean prewarm;
+
+    /**
+     * Listener notified as soon as each request of a run completes
+     * Called from worker threads
+     */
+    public interface ProgressListener {
+        void onResult(RunResult result, int completed, int total);
+    }
+
+    public CollectionRunner(HttpClientService httpClientService) {
+        this.httpClientService = httpClientService;
+    }
+
+    /**
+     * Resolve and connect to every host of the run before the first request is timed
+     * Off by default: it sends an extra HEAD request to the root of every origin.
+     */
+    public void setPrewarm(boolean prewarm) {
+        this.prewarm = prewarm;
+    }
+
+    /**
+     * Run all requests of a collection
+     */
+    public RunReport run(Collection collection, int concurrency) {
+        return run(collection, null, concurrency, null);
+    }
+
+    /**
+     * Run requests of a collection, optionally limited to one folder
+     * Blocks until every request has completed or the run is cancelled
+     * @param collection Collection to run
+     * @param folderId Folder to limit the run to, or null for the whole collection
+     * @param concurrency Number of concurrent workers
+     * @param listener Optional progress listener
+     * @return Aggregated report with one result per request, in collection order
+     */
+    public RunReport run(Collection collection, String folderId, int concurrency,
+                         ProgressListener listener) {
+        List<Request> requests = selectRequests(collection, folderId);
+        int workers = Math.max(1, Math.min(concurrency, Math.max(1, requests.size())));
+
+        log.info("Running collection '{}' ({} requests, {} workers)",
+                collection.getName(), requests.size(), workers);
+
+        // Reset before prewarming, which can block, so a cancel() issued meanwhile sticks
+        cancelled.set(false);
+        String group = "run-" + RUN_COUNTER.incrementAndGet();
+        runGroup = group;
+
+        // All workers resolve against the variables as they were when the run started
+        VariableSnapshot variables = httpClientService.snapshotVariables();
+        if (prewarm) {
+            httpClientService.prewarm(requests, variables, Constants.PREWARM_TIMEOUT_MS);
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startTime = System.currentTimeMillis();
+
+        // Workers run on the client's execution backend; permits bound the concurrency
+        Semaphore permits = new Semaphore(workers);
+        AtomicInteger completed = new AtomicInteger();
+        List<RunResult> results = new ArrayList<>(requests.size());
+        List<Future<RunResult>> futures = new ArrayList<>(requests.size());
+
+        try {
+            for (Request request : requests) {
+                permits.acquire();
+                if (cancelled.get()) {
+                    permits.release();
+                    break;
+                }
+                Future<RunResult> future = submit(() -> {
+                    try {
+                        RunResult result = executeRequest(request, variables, group);
+                        if (listener != null) {
+                            listener.onResult(result, completed.incrementAndGet(), requests.size());
+                        }
+                        return result;
+                    } finally {
+                        permits.release();
+                    }
+                });
+                if (future == null) {
+                    permits.release();
+                    break;
+                }
+                futures.add(future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (i < futures.size()) {
+                results.add(awaitResult(futures.get(i), requests.get(i)));
+            } else {
+                results.add(RunResult.cancelled(requests.get(i)));
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        RunReport report = RunReport.create(collection, folderId, workers, startedAt, elapsed, results);
+
+        log.info("Collection run finished: {} ({} ok, {} failed, {} cancelled, {}ms)",
+                collection.getName(), report.getSuccessCount(), report.getFailureCount(),
+                report.getCancelledCount(), elapsed);
+        return report;
+    }
+
+    /**
+     * Cancel the current run
+     * Requests in flight are aborted and, like those that have not started
+     * yet, reported as cancelled
+     */
+    public void cancel() {
+        cancelled.set(true);
+        String group = runGroup;
+        if (group != null) {
+            httpClientService.getInFlightRegistry().cancelGroup(group);
+        }
+        log.info("Collection run cancelled");
+    }
+
+    /**
+     * Check if the current run was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Select the requests to run
+     */
+    private List<Request> selectRequests(Collection collection, String folderId) {
+        if (collection.getRequests() == null) {
+            return new ArrayList<>();
+        }
+        if (folderId == null) {
+            return new ArrayList<>(collection.getRequests());
+        }
+        return collection.getRequests().stream()
+                .filter(r -> folderId.equals(r.getFolderId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Execute a single request on a worker thread
+     */
+    private RunResult executeRequest(Request request, VariableSnapshot variables, String group) {
+        if (cancelled.get()) {
+            return RunResult.cancelled(request);
+        }
+        // Registered before the second check so cancel() cannot miss it
+        RequestHandle handle = httpClientService.register(request, group);
+        if (cancelled.get()) {
+            handle.cancel();
+        }
+        // Bypass the disk cache so every request reaches the server
+        Response response = httpClientService.execute(request, variables, handle, false);
+        RunResult result = RunResult.of(request, response);
+
+        // The client's history follows the current project
+        HistoryStore history = httpClientService.getHistoryStore();
+        if (history != null) {
+            history.record(request, variables, response, "runner");
+        }
+        response.releaseBody();
+        return result;
+    }
+
+    /**
+     * Submit a worker to the client's current execution backend
+     * A profile change can replace the backend during a run. The old one is
+     * shut down once idle and rejects new work, so the backend is looked up
+     * again for every submit and once more after a rejection.
+     * @return Future of the worker, or null if no backend accepted it
+     */
+    private Future<RunResult> submit(Callable<RunResult> worker) {
+        RejectedExecutionException rejected = null;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                return httpClientService.getExecutionBackend().getExecutor().submit(worker);
+            } catch (RejectedExecutionException e) {
+                rejected = e;
+            }
+        }
+        log.warn("Execution backend rejected runner work, remaining requests are cancelled", rejected);
+        return null;
+    }
+
+    /**
+     * Wait for the result of a submitted request
+     */
+    private RunResult awaitResult(Future<RunResult> future, Request request) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            return RunResult.cancelled(request);
+        } catch (ExecutionException e) {
+            log.error("Runner worker failed: {}", request.getName(), e.getCause());
+            return RunResult.of(request, Response.createError("Unexpected error: " + e.getCause().getMessage()));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package net.ooml.jpostman.service.storage;
+
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.model.enums.StorageFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of parsed collections keyed by collection file
+ * An entry is reused while the file's modification time and size are unchanged,
+ * so a collection is parsed again only after it was changed outside the app.
+ * Entries hold a Smile snapshot rather than a live instance: every get returns
+ * a fresh copy, so changes a caller has not saved never leak to other callers.
+ */
+class CollectionCache {
+    private static final Logger log = LoggerFactory.getLogger(CollectionCache.class);
+    private static final StorageCodec SNAPSHOT_CODEC = StorageCodec.of(StorageFormat.SMILE);
+
+    /**
+     * Parses a collection file on a cache miss
+     */
+    interface Loader {
+        Collection load(Path file) throws IOException;
+    }
+
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Get a copy of a collection, parsing the file only if it changed since it was cached
+     */
+    Collection get(Path file, Loader loader) throws IOException {
+        Entry entry = entries.get(file);
+        if (entry != null && entry.isPending()) {
+            // Our own save has not reached the disk yet and is newer than the file
+            return entry.copy();
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            entries.remove(file);
+            throw e;
+        }
+
+        if (entry != null) {
+            if (entry.matches(attributes)) {
+                return entry.copy();
+            }
+            log.debug("Collection file changed on disk: {}", file);
+        }
+
+        Collection collection = loader.load(file);
+        entries.put(file, new Entry(snapshot(collection), attributes));
+        return collection;
+    }
+
+    /**
+     * Record a collection that is being saved to a file
+     * The entry takes the file state once the write has completed, so a later
+     * change by another program is still detected. A failed or discarded write
+     * drops the entry.
+     * @param written Future of the queued write
+     */
+    void put(Path file, Collection collection, CompletableFuture<Void> written) throws IOException {
+        Entry pending = new Entry(snapshot(collection), null);
+        entries.put(file, pending);
+
+        written.whenComplete((ignored, error) -> {
+            if (error != null) {
+                entries.remove(file, pending);
+                return;
+            }
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                entries.replace(file, pending, new Entry(pending.snapshot, attributes));
+            } catch (IOException e) {
+                entries.remove(file, pending);
+            }
+        });
+    }
+
+    /**
+     * Drop the entry of a file
+     */
+    void remove(Path file) {
+        entries.remove(file);
+    }
+
+    /**
+     * Drop entries of files under a directory, e.g. of a deleted project
+     */
+    void removeUnder(Path directory) {
+        entries.keySet().removeIf(file -> file.startsWith(directory));
+    }
+
+    private static byte[] snapshot(Collection collection) throws IOException {
+        return SNAPSHOT_CODEC.compactWriter(Collection.class).writeValueAsBytes(collection);
+    }
+
+    /**
+     * Collection snapshot with the file state it was read from or written to
+     */
+    private static class Entry {
+        private final byte[] snapshot;
+        private final FileTime modifiedTime;   // null while our write is still queued
+        private final long size;
+
+        Entry(byte[] snapshot, BasicFileAttributes attributes) {
+            this.snapshot = snapshot;
+            this.modifiedTime = attributes != null ? attributes.lastModifiedTime() : null;
+            this.size = attributes != null ? attributes.size() : -1;
+        }
+
+        boolean isPending() {
+            return modifiedTime == null;
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return Objects.equals(modifiedTime, attributes.lastModifiedTime()) && size == attributes.size();
+        }
+
+        Collection copy() throws IOException {
+            return SNAPSHOT_CODEC.reader(Collection.class).readValue(snapshot);
+        }
+    }
+}
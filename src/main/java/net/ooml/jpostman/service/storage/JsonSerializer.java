@@ -1,49 +1,191 @@
 package net.ooml.jpostman.service.storage;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import net.ooml.jpostman.config.AppConfig;
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.model.CollectionIndex;
+import net.ooml.jpostman.model.Environment;
+import net.ooml.jpostman.model.HistoryRecord;
+import net.ooml.jpostman.model.Project;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * JSON serialization utility
- * Provides configured ObjectMapper instance
+ * JSON serialization facade
+ * Holds the application's only ObjectMappers, one for JSON and one for binary
+ * Smile, and hands out readers and writers built once per type. Building a
+ * reader or writer resolves the (de)serializer of its type, so reusing them
+ * skips introspection on every call after the first.
  */
 public class JsonSerializer {
+    private static final Logger log = LoggerFactory.getLogger(JsonSerializer.class);
 
-    private static ObjectMapper objectMapper;
+    /**
+     * System property to disable the Blackbird bytecode accessors
+     */
+    public static final String BLACKBIRD_PROPERTY = "jpostman.json.blackbird";
+
+    // Types read on startup and written on save
+    private static final List<Class<?>> CORE_TYPES = List.of(
+            AppConfig.class, Project.class, Collection.class, CollectionIndex.class,
+            Environment.class, HistoryRecord.class);
 
     /**
      * Get configured ObjectMapper instance
      */
     public static ObjectMapper getObjectMapper() {
-        if (objectMapper == null) {
-            synchronized (JsonSerializer.class) {
-                if (objectMapper == null) {
-                    objectMapper = createObjectMapper();
-                }
-            }
+        return JsonHolder.VIEWS.mapper;
+    }
+
+    /**
+     * Get ObjectMapper for the binary Smile format
+     * Configured like the JSON mapper, so both read and write the same models
+     */
+    public static ObjectMapper getSmileMapper() {
+        return SmileHolder.VIEWS.mapper;
+    }
+
+    /**
+     * Get the JSON reader of a type
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return JsonHolder.VIEWS.reader(type);
+    }
+
+    /**
+     * Get the pretty-printing JSON writer of a type
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        return JsonHolder.VIEWS.writer(type);
+    }
+
+    /**
+     * Get the single-line JSON writer of a type
+     */
+    public static ObjectWriter compactWriterFor(Class<?> type) {
+        return JsonHolder.VIEWS.compactWriter(type);
+    }
+
+    /**
+     * Get the Smile reader of a type
+     */
+    public static ObjectReader smileReaderFor(Class<?> type) {
+        return SmileHolder.VIEWS.reader(type);
+    }
+
+    /**
+     * Get the Smile writer of a type
+     */
+    public static ObjectWriter smileWriterFor(Class<?> type) {
+        return SmileHolder.VIEWS.writer(type);
+    }
+
+    /**
+     * Build readers and writers of the core model types
+     * Call on a background thread at startup so the first load and save do
+     * not pay for introspection.
+     */
+    public static void prefetch() {
+        long start = System.currentTimeMillis();
+        for (Class<?> type : CORE_TYPES) {
+            readerFor(type);
+            writerFor(type);
+            compactWriterFor(type);
         }
-        return objectMapper;
+        log.debug("JSON readers and writers prefetched in {}ms", System.currentTimeMillis() - start);
     }
 
     /**
      * Create and configure ObjectMapper
      */
     private static ObjectMapper createObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        ObjectMapper mapper = configure(new ObjectMapper());
+
+        // Enable pretty printing
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        return mapper;
+    }
 
+    /**
+     * Create and configure the Smile mapper
+     */
+    private static ObjectMapper createSmileMapper() {
+        // Repeated values such as header names and hosts are written once
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return configure(new SmileMapper(factory));
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
         // Register Java 8 date/time module
         mapper.registerModule(new JavaTimeModule());
 
+        // Generated accessors instead of reflection
+        if (!"false".equalsIgnoreCase(System.getProperty(BLACKBIRD_PROPERTY))) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+
         // Disable writing dates as timestamps
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-        // Enable pretty printing
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-
         // Don't fail on unknown properties
-        mapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
         return mapper;
     }
+
+    /**
+     * Lazily created JSON mapper
+     */
+    private static class JsonHolder {
+        private static final Views VIEWS = new Views(createObjectMapper());
+    }
+
+    /**
+     * Lazily created Smile mapper
+     */
+    private static class SmileHolder {
+        private static final Views VIEWS = new Views(createSmileMapper());
+    }
+
+    /**
+     * Readers and writers of one mapper, built once per type
+     */
+    private static class Views {
+        private final ObjectMapper mapper;
+        private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+        private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+        private final Map<Class<?>, ObjectWriter> compactWriters = new ConcurrentHashMap<>();
+
+        Views(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        ObjectReader reader(Class<?> type) {
+            return readers.computeIfAbsent(type, mapper::readerFor);
+        }
+
+        ObjectWriter writer(Class<?> type) {
+            return writers.computeIfAbsent(type, mapper::writerFor);
+        }
+
+        ObjectWriter compactWriter(Class<?> type) {
+            return compactWriters.computeIfAbsent(type,
+                    t -> mapper.writerFor(t).without(SerializationFeature.INDENT_OUTPUT));
+        }
+    }
 }
@@ -0,0 +1,140 @@
+package net.ooml.jpostman.service.storage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import net.ooml.jpostman.model.enums.StorageFormat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reads and writes project data files in one storage format
+ */
+public abstract class StorageCodec {
+
+    private static final StorageCodec JSON = new JsonCodec();
+    private static final StorageCodec SMILE = new SmileCodec();
+
+    /**
+     * Get the codec of a format
+     */
+    public static StorageCodec of(StorageFormat format) {
+        return format == StorageFormat.SMILE ? SMILE : JSON;
+    }
+
+    /**
+     * Get the codec for a data file, by its extension
+     * Files without a known extension are read as JSON.
+     */
+    public static StorageCodec forFile(Path file) {
+        StorageFormat format = StorageFormat.fromFileName(file.getFileName().toString());
+        return of(format != null ? format : StorageFormat.JSON);
+    }
+
+    public abstract StorageFormat getFormat();
+
+    /**
+     * Mapper of this format
+     */
+    public abstract ObjectMapper getMapper();
+
+    /**
+     * Reader of a type
+     */
+    public abstract ObjectReader reader(Class<?> type);
+
+    /**
+     * Writer of a type for user-facing documents (collections, environments)
+     */
+    public abstract ObjectWriter documentWriter(Class<?> type);
+
+    /**
+     * Writer of a type for internal files such as indexes
+     */
+    public abstract ObjectWriter compactWriter(Class<?> type);
+
+    public String getExtension() {
+        return getFormat().getExtension();
+    }
+
+    /**
+     * Resolve a data file of this format
+     * @param directory Parent directory
+     * @param baseName File name without extension
+     */
+    public Path resolve(Path directory, String baseName) {
+        return directory.resolve(baseName + getExtension());
+    }
+
+    public <T> T read(Path file, Class<T> type) throws IOException {
+        return reader(type).readValue(file.toFile());
+    }
+
+    public JsonNode readTree(Path file) throws IOException {
+        return getMapper().readTree(file.toFile());
+    }
+
+    /**
+     * Pretty-printed JSON, readable and diffable
+     */
+    private static class JsonCodec extends StorageCodec {
+
+        @Override
+        public StorageFormat getFormat() {
+            return StorageFormat.JSON;
+        }
+
+        @Override
+        public ObjectMapper getMapper() {
+            return JsonSerializer.getObjectMapper();
+        }
+
+        @Override
+        public ObjectReader reader(Class<?> type) {
+            return JsonSerializer.readerFor(type);
+        }
+
+        @Override
+        public ObjectWriter documentWriter(Class<?> type) {
+            return JsonSerializer.writerFor(type);
+        }
+
+        @Override
+        public ObjectWriter compactWriter(Class<?> type) {
+            return JsonSerializer.compactWriterFor(type);
+        }
+    }
+
+    /**
+     * Binary Smile, the same data model as JSON but smaller and faster to parse
+     */
+    private static class SmileCodec extends StorageCodec {
+
+        @Override
+        public StorageFormat getFormat() {
+            return StorageFormat.SMILE;
+        }
+
+        @Override
+        public ObjectMapper getMapper() {
+            return JsonSerializer.getSmileMapper();
+        }
+
+        @Override
+        public ObjectReader reader(Class<?> type) {
+            return JsonSerializer.smileReaderFor(type);
+        }
+
+        @Override
+        public ObjectWriter documentWriter(Class<?> type) {
+            return JsonSerializer.smileWriterFor(type);
+        }
+
+        @Override
+        public ObjectWriter compactWriter(Class<?> type) {
+            return JsonSerializer.smileWriterFor(type);
+        }
+    }
+}
@@ -1,31 +1,56 @@
 package net.ooml.jpostman.service.storage;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import net.ooml.jpostman.config.PathConfig;
 import net.ooml.jpostman.model.*;
+import net.ooml.jpostman.model.enums.StorageFormat;
+import net.ooml.jpostman.util.FileUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Storage service for persisting and loading data
  * Singleton pattern for managing file I/O operations
+ * Saves are written behind on an I/O thread and return a future that completes
+ * once the file is on disk; loads first wait for pending saves of their files.
+ * Collections, environments, globals and history are written in the storage
+ * format chosen per project; project.json itself is always JSON. Loads accept
+ * files of any format, preferring the project's.
  */
 public class StorageService {
     private static final Logger log = LoggerFactory.getLogger(StorageService.class);
 
     private static StorageService instance;
-    private final ObjectMapper objectMapper;
+    private final ObjectReader projectReader;
+    private final ObjectWriter projectWriter;
+    private final WriteBehindQueue writeQueue;
+    private final CollectionCache collectionCache;
+    private final Map<String, StorageCodec> projectCodecs = new ConcurrentHashMap<>();
 
     private StorageService() {
-        this.objectMapper = JsonSerializer.getObjectMapper();
+        this.projectReader = JsonSerializer.readerFor(Project.class);
+        this.projectWriter = JsonSerializer.writerFor(Project.class);
+        this.writeQueue = new WriteBehindQueue();
+        this.collectionCache = new CollectionCache();
+        Runtime.getRuntime().addShutdownHook(new Thread(writeQueue::shutdown, "storage-flush"));
     }
 
     /**
@@ -42,6 +67,13 @@ public class StorageService {
         return instance;
     }
 
+    /**
+     * Wait until all pending saves are on disk
+     */
+    public void flush() throws IOException {
+        writeQueue.flushAll();
+    }
+
     // ===== Project Operations =====
 
     /**
@@ -49,21 +81,248 @@ public class StorageService {
      */
     public Project loadProject(String projectName) throws IOException {
         Path projectFile = PathConfig.getProjectFile(projectName);
+        writeQueue.flush(projectFile);
         if (!Files.exists(projectFile)) {
             throw new IOException("Project file not found: " + projectFile);
         }
-        return objectMapper.readValue(projectFile.toFile(), Project.class);
+        return projectReader.readValue(projectFile.toFile());
     }
 
     /**
      * Save project
      */
-    public void saveProject(String projectName, Project project) throws IOException {
+    public CompletableFuture<Void> saveProject(String projectName, Project project) throws IOException {
         Path projectFile = PathConfig.getProjectFile(projectName);
         Files.createDirectories(projectFile.getParent());
-        objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(projectFile.toFile(), project);
-        log.debug("Project saved: {}", projectName);
+        projectCodecs.put(projectName, StorageCodec.of(getStorageFormat(project)));
+        log.debug("Project save queued: {}", projectName);
+        return writeQueue.submit(projectFile, project, projectWriter);
+    }
+
+    /**
+     * Get the storage format of a project's data files
+     */
+    public StorageFormat getStorageFormat(String projectName) {
+        return codecFor(projectName).getFormat();
+    }
+
+    /**
+     * Convert all data files of a project to another storage format
+     * Each file is written in the new format and read back for comparison
+     * before the old file is deleted, so an interrupted conversion leaves
+     * every document readable in one of the formats. Documents left in both
+     * formats by an earlier interrupted conversion keep their newest copy.
+     * Blocks on disk I/O; call it off the EDT.
+     * @return Number of files converted
+     */
+    public int convertProject(String projectName, StorageFormat target) throws IOException {
+        Path projectDir = PathConfig.getProjectDirectory(projectName);
+        writeQueue.flushDirectory(projectDir);
+        StorageCodec to = StorageCodec.of(target);
+
+        List<Path> files = new ArrayList<>();
+        for (Path directory : List.of(PathConfig.getCollectionsDirectory(projectName),
+                PathConfig.getEnvironmentsDirectory(projectName))) {
+            if (Files.exists(directory)) {
+                files.addAll(listDataFiles(directory, to));
+            }
+        }
+        files.add(findDataFile(PathConfig.getGlobalsFile(projectName, target)));
+        files.add(findDataFile(PathConfig.getHistoryFile(projectName, target)));
+
+        int converted = 0;
+        for (Path file : files) {
+            if (Files.exists(file) && StorageFormat.fromFileName(file.getFileName().toString()) != target) {
+                convertFile(file, to);
+                converted++;
+            }
+        }
+
+        // Indexes are derived data, rebuilt on next load
+        for (StorageFormat format : StorageFormat.values()) {
+            Files.deleteIfExists(PathConfig.getCollectionIndexFile(projectName, format));
+        }
+        collectionCache.removeUnder(projectDir);
+
+        Project project = loadProject(projectName);
+        if (project.getSettings() == null) {
+            project.setSettings(Project.Settings.builder().build());
+        }
+        project.getSettings().setStorageFormat(target);
+        project.touch();
+        saveProject(projectName, project);
+        writeQueue.flush(PathConfig.getProjectFile(projectName));
+
+        log.info("Project {} converted to {} ({} files)", projectName, target, converted);
+        return converted;
+    }
+
+    /**
+     * Rewrite one data file in another format
+     */
+    private void convertFile(Path file, StorageCodec to) throws IOException {
+        JsonNode content = StorageCodec.forFile(file).readTree(file);
+        byte[] bytes = to.documentWriter(JsonNode.class).writeValueAsBytes(content);
+        if (!to.getMapper().readTree(bytes).equals(content)) {
+            throw new IOException("Conversion is not lossless, keeping: " + file);
+        }
+
+        String name = file.getFileName().toString();
+        String baseName = name.substring(0, name.lastIndexOf('.'));
+        FileUtil.writeAtomically(to.resolve(file.getParent(), baseName), bytes);
+        Files.delete(file);
+        log.debug("Converted {} to {}", file, to.getFormat());
+    }
+
+    /**
+     * Get the codec of a project's data files
+     */
+    private StorageCodec codecFor(String projectName) {
+        return projectCodecs.computeIfAbsent(projectName, name -> {
+            if (!projectExists(name)) {
+                return StorageCodec.of(StorageFormat.JSON);
+            }
+            try {
+                return StorageCodec.of(getStorageFormat(loadProject(name)));
+            } catch (IOException e) {
+                log.warn("Failed to read storage format of project {}, using JSON", name, e);
+                return StorageCodec.of(StorageFormat.JSON);
+            }
+        });
+    }
+
+    private static StorageFormat getStorageFormat(Project project) {
+        if (project.getSettings() != null && project.getSettings().getStorageFormat() != null) {
+            return project.getSettings().getStorageFormat();
+        }
+        return StorageFormat.JSON;
+    }
+
+    /**
+     * Find the file of a document, after pending saves of it are written
+     * Falls back to the same document in another format. If it exists in
+     * several formats, the newest copy is kept, see {@link #keepNewest}.
+     * @return The existing file, or the preferred file if none exists
+     */
+    private Path findDataFile(Path preferred) throws IOException {
+        List<Path> copies = new ArrayList<>();
+        List<Path> candidates = otherFormatFiles(preferred);
+        candidates.add(0, preferred);
+        for (Path file : candidates) {
+            writeQueue.flush(file);
+            if (Files.exists(file)) {
+                copies.add(file);
+            }
+        }
+        if (copies.isEmpty()) {
+            return preferred;
+        }
+        return keepNewest(copies);
+    }
+
+    /**
+     * Resolve a document that exists in several formats
+     * Keeps the most recently modified copy, the first one if they are equally
+     * recent, and deletes the others. Extra copies are left behind by an
+     * interrupted conversion and would otherwise shadow later saves.
+     * @param copies Existing files of one document, preferred format first
+     * @return The file that was kept
+     */
+    private Path keepNewest(List<Path> copies) throws IOException {
+        if (copies.size() == 1) {
+            return copies.get(0);
+        }
+
+        Path newest = copies.get(0);
+        FileTime newestTime = Files.getLastModifiedTime(newest);
+        for (Path copy : copies.subList(1, copies.size())) {
+            FileTime time = Files.getLastModifiedTime(copy);
+            if (time.compareTo(newestTime) > 0) {
+                newest = copy;
+                newestTime = time;
+            }
+        }
+
+        for (Path copy : copies) {
+            if (!copy.equals(newest)) {
+                writeQueue.discard(copy);
+                collectionCache.remove(copy);
+                Files.deleteIfExists(copy);
+                log.warn("Deleted stale copy of {} in another format: {}", newest, copy);
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Get the same document in the formats other than its own
+     */
+    private static List<Path> otherFormatFiles(Path file) {
+        String name = file.getFileName().toString();
+        StorageFormat own = StorageFormat.fromFileName(name);
+        String baseName = own != null ? name.substring(0, name.length() - own.getExtension().length()) : name;
+
+        List<Path> others = new ArrayList<>();
+        for (StorageFormat format : StorageFormat.values()) {
+            if (format != own) {
+                others.add(file.resolveSibling(baseName + format.getExtension()));
+            }
+        }
+        return others;
+    }
+
+    /**
+     * Delete a document in every format
+     */
+    private boolean deleteDataFile(Path file) throws IOException {
+        boolean deleted = false;
+        List<Path> files = otherFormatFiles(file);
+        files.add(file);
+        for (Path path : files) {
+            // A document only queued for writing counts as deleted too
+            deleted |= writeQueue.discard(path);
+            collectionCache.remove(path);
+            deleted |= Files.deleteIfExists(path);
+        }
+        return deleted;
+    }
+
+    /**
+     * List the data files of a directory, one per document
+     * When a document exists in several formats, the newest copy is kept,
+     * preferring the codec's format, see {@link #keepNewest}.
+     */
+    private List<Path> listDataFiles(Path directory, StorageCodec codec) throws IOException {
+        Map<String, List<Path>> documents = new TreeMap<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.forEach(file -> {
+                String name = file.getFileName().toString();
+                StorageFormat format = StorageFormat.fromFileName(name);
+                if (format != null) {
+                    List<Path> copies = documents.computeIfAbsent(baseName(file), k -> new ArrayList<>());
+                    if (format == codec.getFormat()) {
+                        copies.add(0, file);
+                    } else {
+                        copies.add(file);
+                    }
+                }
+            });
+        }
+
+        List<Path> files = new ArrayList<>(documents.size());
+        for (List<Path> copies : documents.values()) {
+            files.add(keepNewest(copies));
+        }
+        return files;
+    }
+
+    /**
+     * Get a data file name without its format extension
+     */
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        StorageFormat format = StorageFormat.fromFileName(name);
+        return format != null ? name.substring(0, name.length() - format.getExtension().length()) : name;
     }
 
     /**
@@ -84,6 +343,11 @@ public class StorageService {
      * Check if project exists
      */
     public boolean projectExists(String projectName) {
+        try {
+            writeQueue.flush(PathConfig.getProjectFile(projectName));
+        } catch (IOException e) {
+            log.warn("Pending project save failed: {}", projectName, e);
+        }
         return Files.exists(PathConfig.getProjectFile(projectName));
     }
 
@@ -127,6 +391,9 @@ public class StorageService {
      */
     public boolean deleteProject(String projectName) throws IOException {
         Path projectDir = PathConfig.getProjectDirectory(projectName);
+        writeQueue.discard(projectDir);
+        collectionCache.removeUnder(projectDir);
+        projectCodecs.remove(projectName);
         if (!Files.exists(projectDir)) {
             return false;
         }
@@ -156,6 +423,9 @@ public class StorageService {
         Path oldDir = PathConfig.getProjectDirectory(oldName);
         Path newDir = PathConfig.getProjectDirectory(newName);
 
+        writeQueue.flushDirectory(oldDir);
+        collectionCache.removeUnder(oldDir);
+        projectCodecs.remove(oldName);
         if (!Files.exists(oldDir)) {
             throw new IOException("Project not found: " + oldName);
         }
@@ -179,97 +449,217 @@ public class StorageService {
 
     /**
      * Load collection
+     * Returns a copy of the cached collection unless the file changed on disk
      */
     public Collection loadCollection(String projectName, String collectionId) throws IOException {
-        Path collectionFile = PathConfig.getCollectionsDirectory(projectName)
-                .resolve(collectionId + ".json");
+        Path collectionFile = findDataFile(codecFor(projectName)
+                .resolve(PathConfig.getCollectionsDirectory(projectName), collectionId));
         if (!Files.exists(collectionFile)) {
             throw new IOException("Collection file not found: " + collectionFile);
         }
-        return objectMapper.readValue(collectionFile.toFile(), Collection.class);
+        return collectionCache.get(collectionFile, this::readCollection);
     }
 
     /**
      * Save collection
      */
-    public void saveCollection(String projectName, Collection collection) throws IOException {
+    public CompletableFuture<Void> saveCollection(String projectName, Collection collection) throws IOException {
         Path collectionsDir = PathConfig.getCollectionsDirectory(projectName);
         Files.createDirectories(collectionsDir);
 
-        Path collectionFile = collectionsDir.resolve(collection.getId() + ".json");
-        objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(collectionFile.toFile(), collection);
-        log.debug("Collection saved: {}", collection.getName());
+        StorageCodec codec = codecFor(projectName);
+        Path collectionFile = codec.resolve(collectionsDir, collection.getId());
+        CompletableFuture<Void> written =
+                writeQueue.submit(collectionFile, collection, codec.documentWriter(Collection.class));
+        collectionCache.put(collectionFile, collection, written);
+        log.debug("Collection save queued: {}", collection.getName());
+        return written;
     }
 
     /**
      * Delete collection
      */
     public boolean deleteCollection(String projectName, String collectionId) throws IOException {
-        Path collectionFile = PathConfig.getCollectionsDirectory(projectName)
-                .resolve(collectionId + ".json");
-        return Files.deleteIfExists(collectionFile);
+        return deleteDataFile(codecFor(projectName)
+                .resolve(PathConfig.getCollectionsDirectory(projectName), collectionId));
     }
 
     /**
      * Load all collections for a project
+     * Only files that changed since they were last read are parsed again
      */
     public List<Collection> loadAllCollections(String projectName) throws IOException {
         List<Collection> collections = new ArrayList<>();
         Path collectionsDir = PathConfig.getCollectionsDirectory(projectName);
+        writeQueue.flushDirectory(collectionsDir);
 
         if (!Files.exists(collectionsDir)) {
             return collections;
         }
 
-        Files.list(collectionsDir)
-                .filter(path -> path.toString().endsWith(".json"))
-                .forEach(path -> {
-                    try {
-                        Collection collection = objectMapper.readValue(path.toFile(), Collection.class);
-                        collections.add(collection);
-                    } catch (IOException e) {
-                        log.error("Failed to load collection: {}", path, e);
-                    }
-                });
+        for (Path path : listDataFiles(collectionsDir, codecFor(projectName))) {
+            try {
+                collections.add(collectionCache.get(path, this::readCollection));
+            } catch (IOException e) {
+                log.error("Failed to load collection: {}", path, e);
+            }
+        }
+
+        return collections;
+    }
+
+    /**
+     * Load stub collections for building the collection tree
+     * Stubs come from the project's collection index and carry ids, names,
+     * methods and folders only. Collection files that changed since they were
+     * indexed are parsed in parallel and the index is rewritten.
+     * Use {@link #loadRequest} to get the full request behind a stub.
+     */
+    public List<Collection> loadCollectionSummaries(String projectName) throws IOException {
+        StorageCodec codec = codecFor(projectName);
+        Path collectionsDir = PathConfig.getCollectionsDirectory(projectName);
+        Path indexFile = PathConfig.getCollectionIndexFile(projectName, codec.getFormat());
+        writeQueue.flushDirectory(collectionsDir);
+
+        List<Collection> collections = new ArrayList<>();
+        if (!Files.exists(collectionsDir)) {
+            return collections;
+        }
+
+        Map<String, CollectionIndex.Entry> indexed = new HashMap<>();
+        for (CollectionIndex.Entry entry : readCollectionIndex(indexFile).getCollections()) {
+            indexed.put(entry.getId(), entry);
+        }
+
+        // Check every collection file against its index entry
+        List<Path> files = listDataFiles(collectionsDir, codec);
+
+        CollectionIndex.Entry[] entries = new CollectionIndex.Entry[files.size()];
+        List<Integer> stale = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            CollectionIndex.Entry entry = indexed.get(baseName(file));
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+            if (entry != null && entry.getFileModified() == attributes.lastModifiedTime().toMillis()
+                    && entry.getFileSize() == attributes.size()) {
+                entries[i] = entry;
+            } else {
+                stale.add(i);
+            }
+        }
+
+        // Parse changed files in parallel on the fork-join pool
+        if (!stale.isEmpty()) {
+            log.debug("Collection index stale for {} of {} files, parsing", stale.size(), files.size());
+            stale.parallelStream().forEach(i -> entries[i] = indexCollectionFile(files.get(i)));
+        }
 
+        List<CollectionIndex.Entry> valid = new ArrayList<>();
+        for (CollectionIndex.Entry entry : entries) {
+            if (entry != null) {
+                valid.add(entry);
+                collections.add(entry.toStub());
+            }
+        }
+
+        if (!stale.isEmpty() || valid.size() != indexed.size()) {
+            writeQueue.submit(indexFile, CollectionIndex.builder().collections(valid).build(),
+                    codec.compactWriter(CollectionIndex.class));
+        }
         return collections;
     }
 
+    /**
+     * Load a full request of a collection
+     * @return The request, or null if the collection does not contain it
+     */
+    public Request loadRequest(String projectName, String collectionId, String requestId) throws IOException {
+        Collection collection = loadCollection(projectName, collectionId);
+        if (collection.getRequests() == null) {
+            return null;
+        }
+        return collection.getRequests().stream()
+                .filter(request -> requestId.equals(request.getId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Read the collection index, or an empty one if missing or unreadable
+     */
+    private CollectionIndex readCollectionIndex(Path indexFile) throws IOException {
+        writeQueue.flush(indexFile);
+        if (!Files.exists(indexFile)) {
+            return new CollectionIndex();
+        }
+        try {
+            CollectionIndex index = StorageCodec.forFile(indexFile).read(indexFile, CollectionIndex.class);
+            if (index.getVersion() == CollectionIndex.CURRENT_VERSION && index.getCollections() != null) {
+                return index;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read collection index, rebuilding: {}", indexFile, e);
+        }
+        return new CollectionIndex();
+    }
+
+    /**
+     * Parse a collection file into an index entry
+     * @return The entry, or null if the file cannot be parsed
+     */
+    private CollectionIndex.Entry indexCollectionFile(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            Collection collection = collectionCache.get(file, this::readCollection);
+            return CollectionIndex.Entry.of(collection, attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (IOException e) {
+            log.error("Failed to load collection: {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Parse a collection file
+     */
+    private Collection readCollection(Path collectionFile) throws IOException {
+        log.debug("Parsing collection file: {}", collectionFile);
+        return StorageCodec.forFile(collectionFile).read(collectionFile, Collection.class);
+    }
+
     // ===== Environment Operations =====
 
     /**
      * Load environment
      */
     public Environment loadEnvironment(String projectName, String environmentName) throws IOException {
-        Path envFile = PathConfig.getEnvironmentsDirectory(projectName)
-                .resolve(environmentName + ".json");
+        Path envFile = findDataFile(codecFor(projectName)
+                .resolve(PathConfig.getEnvironmentsDirectory(projectName), environmentName));
         if (!Files.exists(envFile)) {
             throw new IOException("Environment file not found: " + envFile);
         }
-        return objectMapper.readValue(envFile.toFile(), Environment.class);
+        return StorageCodec.forFile(envFile).read(envFile, Environment.class);
     }
 
     /**
      * Save environment
      */
-    public void saveEnvironment(String projectName, Environment environment) throws IOException {
+    public CompletableFuture<Void> saveEnvironment(String projectName, Environment environment) throws IOException {
         Path envDir = PathConfig.getEnvironmentsDirectory(projectName);
         Files.createDirectories(envDir);
 
-        Path envFile = envDir.resolve(environment.getName() + ".json");
-        objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(envFile.toFile(), environment);
-        log.debug("Environment saved: {}", environment.getName());
+        StorageCodec codec = codecFor(projectName);
+        Path envFile = codec.resolve(envDir, environment.getName());
+        log.debug("Environment save queued: {}", environment.getName());
+        return writeQueue.submit(envFile, environment, codec.documentWriter(Environment.class));
     }
 
     /**
      * Delete environment
      */
     public boolean deleteEnvironment(String projectName, String environmentName) throws IOException {
-        Path envFile = PathConfig.getEnvironmentsDirectory(projectName)
-                .resolve(environmentName + ".json");
-        return Files.deleteIfExists(envFile);
+        return deleteDataFile(codecFor(projectName)
+                .resolve(PathConfig.getEnvironmentsDirectory(projectName), environmentName));
     }
 
     /**
@@ -278,21 +668,20 @@ public class StorageService {
     public List<Environment> loadAllEnvironments(String projectName) throws IOException {
         List<Environment> environments = new ArrayList<>();
         Path envDir = PathConfig.getEnvironmentsDirectory(projectName);
+        writeQueue.flushDirectory(envDir);
 
         if (!Files.exists(envDir)) {
             return environments;
         }
 
-        Files.list(envDir)
-                .filter(path -> path.toString().endsWith(".json"))
-                .forEach(path -> {
-                    try {
-                        Environment env = objectMapper.readValue(path.toFile(), Environment.class);
-                        environments.add(env);
-                    } catch (IOException e) {
-                        log.error("Failed to load environment: {}", path, e);
-                    }
-                });
+        for (Path path : listDataFiles(envDir, codecFor(projectName))) {
+            try {
+                Environment env = StorageCodec.forFile(path).read(path, Environment.class);
+                environments.add(env);
+            } catch (IOException e) {
+                log.error("Failed to load environment: {}", path, e);
+            }
+        }
 
         return environments;
     }
@@ -303,7 +692,7 @@ public class StorageService {
      * Load global variables
      */
     public Environment loadGlobals(String projectName) throws IOException {
-        Path globalsFile = PathConfig.getGlobalsFile(projectName);
+        Path globalsFile = findDataFile(PathConfig.getGlobalsFile(projectName, getStorageFormat(projectName)));
         if (!Files.exists(globalsFile)) {
             // Create empty globals
             Environment globals = Environment.builder()
@@ -313,18 +702,18 @@ public class StorageService {
             saveGlobals(projectName, globals);
             return globals;
         }
-        return objectMapper.readValue(globalsFile.toFile(), Environment.class);
+        return StorageCodec.forFile(globalsFile).read(globalsFile, Environment.class);
     }
 
     /**
      * Save global variables
      */
-    public void saveGlobals(String projectName, Environment globals) throws IOException {
-        Path globalsFile = PathConfig.getGlobalsFile(projectName);
+    public CompletableFuture<Void> saveGlobals(String projectName, Environment globals) throws IOException {
+        StorageCodec codec = codecFor(projectName);
+        Path globalsFile = PathConfig.getGlobalsFile(projectName, codec.getFormat());
         Files.createDirectories(globalsFile.getParent());
-        objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(globalsFile.toFile(), globals);
-        log.debug("Global variables saved for project: {}", projectName);
+        log.debug("Global variables save queued for project: {}", projectName);
+        return writeQueue.submit(globalsFile, globals, codec.documentWriter(Environment.class));
     }
 
     // ===== History Operations =====
@@ -333,29 +722,29 @@ public class StorageService {
      * Load request history
      */
     public List<HistoryEntry> loadHistory(String projectName) throws IOException {
-        Path historyFile = PathConfig.getHistoryFile(projectName);
+        Path historyFile = findDataFile(PathConfig.getHistoryFile(projectName, getStorageFormat(projectName)));
         if (!Files.exists(historyFile)) {
             return new ArrayList<>();
         }
 
-        HistoryData historyData = objectMapper.readValue(historyFile.toFile(), HistoryData.class);
+        HistoryData historyData = StorageCodec.forFile(historyFile).read(historyFile, HistoryData.class);
         return historyData.getEntries();
     }
 
     /**
      * Save request history
      */
-    public void saveHistory(String projectName, List<HistoryEntry> entries) throws IOException {
-        Path historyFile = PathConfig.getHistoryFile(projectName);
+    public CompletableFuture<Void> saveHistory(String projectName, List<HistoryEntry> entries) throws IOException {
+        StorageCodec codec = codecFor(projectName);
+        Path historyFile = PathConfig.getHistoryFile(projectName, codec.getFormat());
         Files.createDirectories(historyFile.getParent());
 
         HistoryData historyData = new HistoryData();
         historyData.setMaxEntries(100);
         historyData.setEntries(entries);
 
-        objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(historyFile.toFile(), historyData);
-        log.debug("History saved for project: {}", projectName);
+        log.debug("History save queued for project: {}", projectName);
+        return writeQueue.submit(historyFile, historyData, codec.documentWriter(HistoryData.class));
     }
 
     /**
@@ -0,0 +1,230 @@
+package net.ooml.jpostman.service.storage;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import net.ooml.jpostman.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for data files
+ * Values are serialized on the calling thread, so the bytes reflect the value
+ * at the time of the save even if the caller keeps changing it. Only the disk
+ * I/O runs on a single I/O thread after a short delay. Saves of the same file
+ * within that window are coalesced into one write of the latest bytes. Files
+ * are replaced atomically, see {@link FileUtil#writeAtomically}.
+ */
+public class WriteBehindQueue {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    public static final long DEFAULT_COALESCE_MS = 200;
+
+    private final long coalesceMs;
+    private final ScheduledExecutorService executor;
+
+    // Latest write per file, until it completes; guarded by this
+    private final Map<Path, PendingWrite> writes = new HashMap<>();
+
+    public WriteBehindQueue() {
+        this(DEFAULT_COALESCE_MS);
+    }
+
+    public WriteBehindQueue(long coalesceMs) {
+        this.coalesceMs = coalesceMs;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Serialize a value and queue it to be written to a file
+     * @return Future completed once the file is durably on disk, or cancelled
+     *         if the write is discarded
+     * @throws IOException If the value cannot be serialized
+     */
+    public CompletableFuture<Void> submit(Path file, Object value, ObjectWriter writer) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(value);
+
+        PendingWrite write;
+        synchronized (this) {
+            write = writes.get(file);
+            if (write != null && !write.started) {
+                // Coalesce with the write that has not started yet
+                write.bytes = bytes;
+                return write.future;
+            }
+
+            write = new PendingWrite(file, bytes);
+            writes.put(file, write);
+        }
+
+        PendingWrite scheduled = write;
+        executor.schedule(() -> perform(scheduled), coalesceMs, TimeUnit.MILLISECONDS);
+        return write.future;
+    }
+
+    /**
+     * Wait until all queued writes of a file are on disk
+     */
+    public void flush(Path file) throws IOException {
+        PendingWrite write;
+        synchronized (this) {
+            write = writes.get(file);
+        }
+        if (write != null) {
+            await(expedite(write));
+        }
+    }
+
+    /**
+     * Wait until all queued writes of files under a directory are on disk
+     */
+    public void flushDirectory(Path directory) throws IOException {
+        for (CompletableFuture<Void> future : expedite(selectUnder(directory))) {
+            await(future);
+        }
+    }
+
+    /**
+     * Wait until all queued writes are on disk
+     */
+    public void flushAll() throws IOException {
+        flushDirectory(null);
+    }
+
+    /**
+     * Drop queued writes of files under a path, e.g. before deleting them
+     * The futures of dropped writes are cancelled. A write already in progress
+     * is waited for.
+     * @return true if a queued write was dropped
+     */
+    public boolean discard(Path path) throws IOException {
+        boolean dropped = false;
+        List<PendingWrite> inProgress = new ArrayList<>();
+        synchronized (this) {
+            for (PendingWrite write : selectUnder(path)) {
+                if (write.started) {
+                    inProgress.add(write);
+                } else {
+                    write.started = true;
+                    writes.remove(write.file, write);
+                    write.future.cancel(false);
+                    dropped = true;
+                }
+            }
+        }
+        for (PendingWrite write : inProgress) {
+            await(write.future);
+        }
+        return dropped;
+    }
+
+    /**
+     * Flush all queued writes and stop the I/O thread
+     */
+    public void shutdown() {
+        try {
+            flushAll();
+        } catch (IOException e) {
+            log.error("Failed to flush pending writes on shutdown", e);
+        }
+        executor.shutdown();
+    }
+
+    private synchronized List<PendingWrite> selectUnder(Path path) {
+        List<PendingWrite> selected = new ArrayList<>();
+        for (PendingWrite write : writes.values()) {
+            if (path == null || write.file.startsWith(path)) {
+                selected.add(write);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Run writes now instead of waiting for the coalescing delay
+     */
+    private List<CompletableFuture<Void>> expedite(List<PendingWrite> pending) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (PendingWrite write : pending) {
+            futures.add(expedite(write));
+        }
+        return futures;
+    }
+
+    private CompletableFuture<Void> expedite(PendingWrite write) {
+        if (!write.started) {
+            executor.execute(() -> perform(write));
+        }
+        return write.future;
+    }
+
+    /**
+     * Write one pending value, on the I/O thread
+     */
+    private void perform(PendingWrite write) {
+        byte[] bytes;
+        synchronized (this) {
+            if (write.started) {
+                return; // Already written by an expedited run, or discarded
+            }
+            write.started = true;
+            bytes = write.bytes;
+        }
+
+        try {
+            FileUtil.writeAtomically(write.file, bytes);
+            write.future.complete(null);
+            log.debug("File written: {}", write.file);
+        } catch (Exception e) {
+            log.error("Failed to write file: {}", write.file, e);
+            write.future.completeExceptionally(e);
+        } finally {
+            synchronized (this) {
+                writes.remove(write.file, write);
+            }
+        }
+    }
+
+    private static void await(CompletableFuture<Void> future) throws IOException {
+        try {
+            future.join();
+        } catch (CancellationException e) {
+            // Discarded, nothing left to wait for
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Write failed", e.getCause());
+        }
+    }
+
+    /**
+     * Latest serialized value queued for a file
+     */
+    private static class PendingWrite {
+        private final Path file;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private byte[] bytes;
+        private boolean started;
+
+        PendingWrite(Path file, byte[] bytes) {
+            this.file = file;
+            this.bytes = bytes;
+        }
+    }
+}
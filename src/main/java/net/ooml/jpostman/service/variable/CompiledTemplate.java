@@ -0,0 +1,71 @@
+package net.ooml.jpostman.service.variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {{variable}} template parsed into literal and variable segments
+ * Instances are immutable; templates with variables are shared through
+ * {@link TemplateCompiler}'s cache.
+ */
+public final class CompiledTemplate {
+    private final String source;
+    private final String[] segments;     // literal text, or variable name when isVariable is set
+    private final String[] tokens;       // original {{...}} text for variable segments
+    private final boolean[] isVariable;
+    private final List<String> variableNames;
+
+    CompiledTemplate(String source, List<String> segments, List<String> tokens, List<Boolean> isVariable) {
+        this.source = source;
+        this.segments = segments.toArray(new String[0]);
+        this.tokens = tokens.toArray(new String[0]);
+        this.isVariable = new boolean[isVariable.size()];
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < this.isVariable.length; i++) {
+            this.isVariable[i] = isVariable.get(i);
+            if (this.isVariable[i] && !names.contains(this.segments[i])) {
+                names.add(this.segments[i]);
+            }
+        }
+        this.variableNames = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Get the original template text
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Check if the template references any variable
+     */
+    public boolean hasVariables() {
+        return !variableNames.isEmpty();
+    }
+
+    /**
+     * Get distinct variable names in order of first occurrence
+     */
+    public List<String> getVariableNames() {
+        return variableNames;
+    }
+
+    int getSegmentCount() {
+        return segments.length;
+    }
+
+    String getSegment(int index) {
+        return segments[index];
+    }
+
+    String getToken(int index) {
+        return tokens[index];
+    }
+
+    boolean isVariable(int index) {
+        return isVariable[index];
+    }
+}
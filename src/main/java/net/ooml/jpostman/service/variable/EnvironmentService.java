@@ -6,7 +6,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Environment service for managing environments
@@ -16,8 +20,11 @@ public class EnvironmentService {
 
     private final StorageService storageService;
     private String currentProjectName;
-    private Environment currentEnvironment;
-    private Environment globalVariables;
+    private volatile Environment currentEnvironment;
+    private volatile Environment globalVariables;
+
+    // Long-lived resolver following project and environment changes
+    private final VariableResolver variableResolver = new VariableResolver();
 
     public EnvironmentService(StorageService storageService) {
         this.storageService = storageService;
@@ -30,6 +37,10 @@ public class EnvironmentService {
         this.currentProjectName = projectName;
         // Load global variables
         this.globalVariables = storageService.loadGlobals(projectName);
+        // Environments belong to a project
+        this.currentEnvironment = null;
+        variableResolver.setGlobalVariables(globalVariables);
+        variableResolver.setEnvironmentVariables(null);
         log.info("EnvironmentService initialized for project: {}", projectName);
     }
 
@@ -39,11 +50,13 @@ public class EnvironmentService {
     public void setCurrentEnvironment(String environmentName) throws IOException {
         if (environmentName == null) {
             this.currentEnvironment = null;
+            variableResolver.setEnvironmentVariables(null);
             log.info("Current environment cleared");
             return;
         }
 
         this.currentEnvironment = storageService.loadEnvironment(currentProjectName, environmentName);
+        variableResolver.setEnvironmentVariables(currentEnvironment);
         log.info("Current environment set to: {}", environmentName);
     }
 
@@ -54,6 +67,29 @@ public class EnvironmentService {
         return currentEnvironment;
     }
 
+    /**
+     * Get the host overrides in effect: globals, overridden by the current environment
+     */
+    public Map<String, String> getHostOverrides() {
+        Environment globals = globalVariables;
+        Environment environment = currentEnvironment;
+        boolean hasGlobalHosts = globals != null && globals.getHosts() != null && !globals.getHosts().isEmpty();
+        boolean hasEnvironmentHosts = environment != null && environment.getHosts() != null
+                && !environment.getHosts().isEmpty();
+        if (!hasGlobalHosts && !hasEnvironmentHosts) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> hosts = new LinkedHashMap<>();
+        if (hasGlobalHosts) {
+            hosts.putAll(globals.getHosts());
+        }
+        if (hasEnvironmentHosts) {
+            hosts.putAll(environment.getHosts());
+        }
+        return hosts;
+    }
+
     /**
      * Get global variables
      */
@@ -63,22 +99,26 @@ public class EnvironmentService {
 
     /**
      * Save current environment
+     * @return Future completed once the environment is on disk
      */
-    public void saveCurrentEnvironment() throws IOException {
-        if (currentEnvironment != null) {
-            storageService.saveEnvironment(currentProjectName, currentEnvironment);
-            log.debug("Current environment saved");
+    public CompletableFuture<Void> saveCurrentEnvironment() throws IOException {
+        if (currentEnvironment == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        log.debug("Current environment queued for saving");
+        return storageService.saveEnvironment(currentProjectName, currentEnvironment);
     }
 
     /**
      * Save global variables
+     * @return Future completed once the globals are on disk
      */
-    public void saveGlobalVariables() throws IOException {
-        if (globalVariables != null) {
-            storageService.saveGlobals(currentProjectName, globalVariables);
-            log.debug("Global variables saved");
+    public CompletableFuture<Void> saveGlobalVariables() throws IOException {
+        if (globalVariables == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        log.debug("Global variables queued for saving");
+        return storageService.saveGlobals(currentProjectName, globalVariables);
     }
 
     /**
@@ -106,13 +146,24 @@ public class EnvironmentService {
         if (deleted && currentEnvironment != null &&
                 environmentName.equals(currentEnvironment.getName())) {
             currentEnvironment = null;
+            variableResolver.setEnvironmentVariables(null);
         }
         log.info("Environment deleted: {}", environmentName);
         return deleted;
     }
 
+    /**
+     * Get the resolver tracking the current project's globals and environment
+     * The same instance is kept across project and environment switches, so
+     * HTTP clients holding it never need to be recreated.
+     */
+    public VariableResolver getVariableResolver() {
+        return variableResolver;
+    }
+
     /**
      * Create a variable resolver with current environment and global variables
+     * The resolver is detached: later environment switches do not affect it.
      */
     public VariableResolver createVariableResolver() {
         VariableResolver resolver = new VariableResolver();
@@ -0,0 +1,147 @@
+package net.ooml.jpostman.service.variable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Compiles and renders {{variable}} templates
+ * Templates are parsed once and cached by their source text; rendering is a
+ * single pass into one StringBuilder. Only sources containing "{{" and no
+ * longer than {@link #MAX_CACHED_LENGTH} are cached, so large bodies and plain
+ * values do not pin memory. Cache hits take no lock; once the cache passes
+ * {@link #MAX_CACHE_SIZE} entries it is cleared. Variable values are themselves
+ * rendered as templates. A reference cycle (a -> b -> a) depends on the
+ * values, not the template, so it is detected while rendering and left
+ * unresolved.
+ */
+public class TemplateCompiler {
+    private static final Logger log = LoggerFactory.getLogger(TemplateCompiler.class);
+
+    private static final int MAX_CACHE_SIZE = 1024;
+    private static final int MAX_CACHED_LENGTH = 64 * 1024; // Characters
+    private static final int MAX_NESTING_DEPTH = 10; // Prevent runaway nesting
+
+    private static final Map<String, CompiledTemplate> cache = new ConcurrentHashMap<>();
+
+    private TemplateCompiler() {
+    }
+
+    /**
+     * Get the compiled form of a template, parsing it on first use
+     */
+    public static CompiledTemplate compile(String source) {
+        if (source.length() > MAX_CACHED_LENGTH || !source.contains("{{")) {
+            // Plain text parses in one scan; large templates would pin memory
+            return parse(source);
+        }
+        CompiledTemplate template = cache.get(source);
+        if (template == null) {
+            template = parse(source);
+            if (cache.size() >= MAX_CACHE_SIZE) {
+                // Cheaper than tracking recency on every hit; hot templates come back on next use
+                cache.clear();
+            }
+            cache.put(source, template);
+        }
+        return template;
+    }
+
+    /**
+     * Render a template, looking up variable values with the given function
+     * Unknown variables keep their original {{name}} text.
+     */
+    public static String render(String source, Function<String, String> lookup) {
+        CompiledTemplate template = compile(source);
+        if (!template.hasVariables()) {
+            return source;
+        }
+
+        StringBuilder result = new StringBuilder(source.length() + 16);
+        render(template, lookup, result, new ArrayDeque<>());
+        return result.toString();
+    }
+
+    private static void render(CompiledTemplate template, Function<String, String> lookup,
+                               StringBuilder out, Deque<String> resolving) {
+        for (int i = 0; i < template.getSegmentCount(); i++) {
+            String segment = template.getSegment(i);
+            if (!template.isVariable(i)) {
+                out.append(segment);
+                continue;
+            }
+
+            String value = lookup.apply(segment);
+            if (value == null) {
+                out.append(template.getToken(i));
+                continue;
+            }
+
+            CompiledTemplate nested = compile(value);
+            if (!nested.hasVariables()) {
+                out.append(value);
+            } else if (resolving.contains(segment)) {
+                log.warn("Variable reference cycle detected: {} -> {}", String.join(" -> ", resolving), segment);
+                out.append(template.getToken(i));
+            } else if (resolving.size() >= MAX_NESTING_DEPTH) {
+                log.warn("Maximum nesting depth reached while resolving variable: {}", segment);
+                out.append(value);
+            } else {
+                resolving.addLast(segment);
+                render(nested, lookup, out, resolving);
+                resolving.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Split a template into literal and variable segments
+     * Matches the same tokens as Constants.VARIABLE_PATTERN: "{{" followed by
+     * one or more characters other than '}' and then "}}".
+     */
+    private static CompiledTemplate parse(String source) {
+        List<String> segments = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        List<Boolean> isVariable = new ArrayList<>();
+
+        int literalStart = 0;
+        int start = source.indexOf("{{");
+        while (start >= 0) {
+            int end = start + 2;
+            while (end < source.length() && source.charAt(end) != '}') {
+                end++;
+            }
+
+            if (end > start + 2 && source.startsWith("}}", end)) {
+                if (start > literalStart) {
+                    segments.add(source.substring(literalStart, start));
+                    tokens.add(null);
+                    isVariable.add(false);
+                }
+                segments.add(source.substring(start + 2, end).trim());
+                tokens.add(source.substring(start, end + 2));
+                isVariable.add(true);
+
+                literalStart = end + 2;
+                start = source.indexOf("{{", literalStart);
+            } else {
+                start = source.indexOf("{{", start + 1);
+            }
+        }
+
+        if (literalStart < source.length()) {
+            segments.add(source.substring(literalStart));
+            tokens.add(null);
+            isVariable.add(false);
+        }
+
+        return new CompiledTemplate(source, segments, tokens, isVariable);
+    }
+}
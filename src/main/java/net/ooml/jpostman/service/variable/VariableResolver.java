@@ -1,30 +1,25 @@
 package net.ooml.jpostman.service.variable;
 
-import net.ooml.jpostman.config.Constants;
 import net.ooml.jpostman.model.Environment;
+import net.ooml.jpostman.model.Variable;
 import net.ooml.jpostman.util.StringUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Variable resolver for {{variable}} syntax
  * Supports environment variables, global variables, and local variables
  */
 public class VariableResolver {
-    private static final Logger log = LoggerFactory.getLogger(VariableResolver.class);
-
-    private static final Pattern VARIABLE_PATTERN = Pattern.compile(Constants.VARIABLE_PATTERN);
-    private static final int MAX_RECURSION_DEPTH = 10; // Prevent infinite recursion
-
-    private Environment globalVariables;
-    private Environment environmentVariables;
+    private volatile Environment globalVariables;
+    private volatile Environment environmentVariables;
     private Map<String, String> localVariables;
 
+    // Last flattened snapshot, reused while the environments are unchanged
+    private volatile CachedSnapshot cachedSnapshot;
+
     public VariableResolver() {
         this.localVariables = new HashMap<>();
     }
@@ -67,53 +62,29 @@ public class VariableResolver {
     /**
      * Resolve variables in text
      * Example: "{{baseUrl}}/users" -> "https://api.example.com/users"
+     * Templates are compiled once and cached, see {@link TemplateCompiler}
      */
     public String resolve(String text) {
         if (StringUtil.isEmpty(text)) {
             return text;
         }
 
-        return resolve(text, 0);
+        return TemplateCompiler.render(text, this::getVariableValue);
     }
 
     /**
-     * Resolve variables recursively with depth limit
+     * Take an immutable snapshot of the current variables
+     * Call this on the thread that edits the environments (the EDT) and hand the
+     * snapshot to worker threads. The flattened globals and environment are
+     * reused as long as neither environment was replaced or modified.
      */
-    private String resolve(String text, int depth) {
-        if (depth >= MAX_RECURSION_DEPTH) {
-            log.warn("Maximum recursion depth reached while resolving variables");
-            return text;
+    public VariableSnapshot snapshot() {
+        CachedSnapshot cached = cachedSnapshot;
+        if (cached == null || !cached.matches(globalVariables, environmentVariables)) {
+            cached = new CachedSnapshot(globalVariables, environmentVariables);
+            cachedSnapshot = cached;
         }
-
-        Matcher matcher = VARIABLE_PATTERN.matcher(text);
-        StringBuffer result = new StringBuffer();
-        boolean hasVariables = false;
-
-        while (matcher.find()) {
-            hasVariables = true;
-            String variableName = matcher.group(1).trim();
-            String variableValue = getVariableValue(variableName);
-
-            if (variableValue != null) {
-                // Escape special regex characters in the replacement string
-                matcher.appendReplacement(result, Matcher.quoteReplacement(variableValue));
-                log.debug("Resolved variable: {} = {}", variableName, variableValue);
-            } else {
-                // Keep the original variable syntax if not found
-                matcher.appendReplacement(result, Matcher.quoteReplacement(matcher.group(0)));
-                log.debug("Variable not found: {}", variableName);
-            }
-        }
-        matcher.appendTail(result);
-
-        String resolvedText = result.toString();
-
-        // If we replaced any variables and the result still contains variables, resolve again
-        if (hasVariables && VARIABLE_PATTERN.matcher(resolvedText).find()) {
-            return resolve(resolvedText, depth + 1);
-        }
-
-        return resolvedText;
+        return cached.snapshot.withLocals(localVariables);
     }
 
     /**
@@ -152,26 +123,17 @@ public class VariableResolver {
         if (StringUtil.isEmpty(text)) {
             return false;
         }
-        return VARIABLE_PATTERN.matcher(text).find();
+        return TemplateCompiler.compile(text).hasVariables();
     }
 
     /**
      * Extract all variable names from text
      */
     public java.util.List<String> extractVariableNames(String text) {
-        java.util.List<String> variableNames = new java.util.ArrayList<>();
         if (StringUtil.isEmpty(text)) {
-            return variableNames;
+            return new java.util.ArrayList<>();
         }
-
-        Matcher matcher = VARIABLE_PATTERN.matcher(text);
-        while (matcher.find()) {
-            String variableName = matcher.group(1).trim();
-            if (!variableNames.contains(variableName)) {
-                variableNames.add(variableName);
-            }
-        }
-        return variableNames;
+        return new java.util.ArrayList<>(TemplateCompiler.compile(text).getVariableNames());
     }
 
     /**
@@ -184,4 +146,53 @@ public class VariableResolver {
         copy.localVariables = new HashMap<>(this.localVariables);
         return copy;
     }
+
+    /**
+     * Flattened snapshot with the state of the environments it was taken from
+     */
+    private static class CachedSnapshot {
+        private final SourceState globals;
+        private final SourceState environment;
+        private final VariableSnapshot snapshot;
+
+        CachedSnapshot(Environment globals, Environment environment) {
+            this.globals = new SourceState(globals);
+            this.environment = new SourceState(environment);
+            this.snapshot = VariableSnapshot.of(globals, environment);
+        }
+
+        boolean matches(Environment globals, Environment environment) {
+            return this.globals.matches(globals) && this.environment.matches(environment);
+        }
+    }
+
+    /**
+     * Identity, variable list, size and modification count of an environment
+     */
+    private static class SourceState {
+        private final Environment environment;
+        private final List<Variable> variables;
+        private final int size;
+        private final long modificationCount;
+
+        SourceState(Environment environment) {
+            this.environment = environment;
+            this.variables = environment != null ? environment.getVariables() : null;
+            this.size = variables != null ? variables.size() : 0;
+            this.modificationCount = environment != null ? environment.getModificationCount() : 0;
+        }
+
+        boolean matches(Environment other) {
+            if (other != environment) {
+                return false;
+            }
+            if (other == null) {
+                return true;
+            }
+            List<Variable> otherVariables = other.getVariables();
+            return otherVariables == variables
+                    && (otherVariables != null ? otherVariables.size() : 0) == size
+                    && other.getModificationCount() == modificationCount;
+        }
+    }
 }
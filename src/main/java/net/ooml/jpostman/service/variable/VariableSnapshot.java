@@ -0,0 +1,119 @@
+package net.ooml.jpostman.service.variable;
+
+import net.ooml.jpostman.model.Environment;
+import net.ooml.jpostman.model.Variable;
+import net.ooml.jpostman.model.enums.CompressionType;
+import net.ooml.jpostman.util.StringUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the variables visible to a request
+ * Also carries the request settings of the environment, such as compression.
+ * Globals and environment variables are flattened into one read-only map when
+ * the snapshot is taken, so it can be shared by any number of worker threads
+ * without locking while the live environments keep being edited.
+ * Snapshots with different local variables share the same flattened map.
+ */
+public final class VariableSnapshot {
+    public static final VariableSnapshot EMPTY =
+            new VariableSnapshot(Collections.emptyMap(), Collections.emptyMap(), null);
+
+    private final Map<String, String> base;
+    private final Map<String, String> locals;
+    private final CompressionType requestCompression;
+
+    private VariableSnapshot(Map<String, String> base, Map<String, String> locals,
+                             CompressionType requestCompression) {
+        this.base = base;
+        this.locals = locals;
+        this.requestCompression = requestCompression;
+    }
+
+    /**
+     * Take a snapshot of global and environment variables
+     * Environment variables and settings override globals; either may be null.
+     */
+    public static VariableSnapshot of(Environment globals, Environment environment) {
+        Map<String, String> values = new HashMap<>();
+        putEnabled(values, environment);
+        putEnabled(values, globals);
+
+        CompressionType compression = environment != null ? environment.getRequestCompression() : null;
+        if (compression == null && globals != null) {
+            compression = globals.getRequestCompression();
+        }
+        return new VariableSnapshot(Collections.unmodifiableMap(values), Collections.emptyMap(), compression);
+    }
+
+    /**
+     * Add enabled variables not yet present; the first enabled variable per key wins
+     */
+    private static void putEnabled(Map<String, String> values, Environment environment) {
+        if (environment == null || environment.getVariables() == null) {
+            return;
+        }
+
+        Map<String, String> first = new HashMap<>();
+        List<Variable> variables = environment.getVariables();
+        for (Variable variable : variables) {
+            if (variable.getKey() != null && Boolean.TRUE.equals(variable.getEnabled())) {
+                first.putIfAbsent(variable.getKey(), variable.getValue());
+            }
+        }
+        first.forEach(values::putIfAbsent);
+    }
+
+    /**
+     * Create a snapshot with the given local variables
+     * Locals take precedence over environment and global variables.
+     */
+    public VariableSnapshot withLocals(Map<String, String> localVariables) {
+        if (localVariables == null || localVariables.isEmpty()) {
+            return locals.isEmpty() ? this : new VariableSnapshot(base, Collections.emptyMap(), requestCompression);
+        }
+        return new VariableSnapshot(base, Collections.unmodifiableMap(new HashMap<>(localVariables)),
+                requestCompression);
+    }
+
+    /**
+     * Create a snapshot with one more local variable
+     */
+    public VariableSnapshot withLocal(String key, String value) {
+        Map<String, String> localVariables = new HashMap<>(locals);
+        localVariables.put(key, value);
+        return new VariableSnapshot(base, Collections.unmodifiableMap(localVariables), requestCompression);
+    }
+
+    /**
+     * Get the request body compression of the environment, or null if not set
+     */
+    public CompressionType getRequestCompression() {
+        return requestCompression;
+    }
+
+    /**
+     * Get variable value by name
+     * Search order: Local -> Environment -> Global
+     */
+    public String get(String name) {
+        // Local values may be null, as in VariableResolver
+        if (locals.containsKey(name)) {
+            return locals.get(name);
+        }
+        return base.get(name);
+    }
+
+    /**
+     * Resolve variables in text
+     */
+    public String resolve(String text) {
+        if (StringUtil.isEmpty(text)) {
+            return text;
+        }
+        return TemplateCompiler.render(text, this::get);
+    }
+}
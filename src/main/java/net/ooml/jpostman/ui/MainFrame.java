@@ -2,12 +2,21 @@ package net.ooml.jpostman.ui;
 
 import net.ooml.jpostman.config.AppConfig;
 import net.ooml.jpostman.config.Constants;
+import net.ooml.jpostman.config.PathConfig;
+import net.ooml.jpostman.model.ClientProfile;
+import net.ooml.jpostman.model.Project;
+import net.ooml.jpostman.model.enums.StorageFormat;
+import net.ooml.jpostman.service.history.HistoryStore;
 import net.ooml.jpostman.service.http.HttpClientService;
+import net.ooml.jpostman.service.mock.MockServer;
 import net.ooml.jpostman.service.storage.StorageService;
 import net.ooml.jpostman.service.variable.EnvironmentService;
+import net.ooml.jpostman.ui.components.left.HistorySearchPanel;
 import net.ooml.jpostman.ui.components.left.RequestListPanel;
 import net.ooml.jpostman.ui.components.right.RequestEditorPanel;
 import net.ooml.jpostman.ui.components.right.TabbedRequestPanel;
+import net.ooml.jpostman.ui.dialogs.ClientProfileDialog;
+import net.ooml.jpostman.ui.dialogs.MockServerDialog;
 import net.ooml.jpostman.ui.i18n.I18nManager;
 import net.ooml.jpostman.ui.theme.ThemeManager;
 import net.ooml.jpostman.util.OSUtil;
@@ -20,6 +29,10 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Main Frame - Main application window
@@ -30,12 +43,16 @@ public class MainFrame extends JFrame {
     // Services
     private final StorageService storageService;
     private final EnvironmentService environmentService;
-    private HttpClientService httpClientService;
+    private final HttpClientService httpClientService;
+    private HistoryStore historyStore;
+    private final MockServer mockServer = new MockServer();
     private final AppConfig appConfig;
 
     // UI Components
     private JSplitPane mainSplitPane;
+    private JTabbedPane leftTabs;
     private RequestListPanel leftPanel;
+    private HistorySearchPanel historyPanel;
     private TabbedRequestPanel rightPanel;
     private JLabel statusLabel;
 
@@ -49,11 +66,18 @@ public class MainFrame extends JFrame {
         String currentProject = appConfig.getCurrentProject();
         environmentService.initialize(currentProject);
 
+        // Open request history of the current project
+        this.historyStore = openHistoryStore(currentProject);
+
         // Create HTTP client with variable resolver
         this.httpClientService = new HttpClientService(
-                environmentService.createVariableResolver(),
-                Constants.DEFAULT_TIMEOUT_MS
+                environmentService.getVariableResolver(),
+                resolveClientProfile(currentProject)
         );
+        // Host overrides follow the current environment
+        httpClientService.getDns().setOverrides(environmentService::getHostOverrides);
+        httpClientService.setCacheDirectory(PathConfig.getHttpCacheDirectory(currentProject));
+        httpClientService.setHistoryStore(historyStore);
 
         // Setup UI
         initializeUI();
@@ -104,8 +128,12 @@ public class MainFrame extends JFrame {
      * Create main panel with split pane
      */
     private void createMainPanel() {
-        // Create left panel (request list)
+        // Create left panel (request list and history search tabs)
         leftPanel = new RequestListPanel(this);
+        historyPanel = new HistorySearchPanel(this);
+        leftTabs = new JTabbedPane();
+        leftTabs.addTab(I18nManager.get("left.tab.collections"), leftPanel);
+        leftTabs.addTab(I18nManager.get("history.title"), historyPanel);
 
         // Create right panel (tabbed request panel)
         rightPanel = new TabbedRequestPanel(this);
@@ -113,7 +141,7 @@ public class MainFrame extends JFrame {
         // Create split pane
         mainSplitPane = new JSplitPane(
                 JSplitPane.HORIZONTAL_SPLIT,
-                leftPanel,
+                leftTabs,
                 rightPanel
         );
         mainSplitPane.setDividerLocation(300);
@@ -219,6 +247,9 @@ public class MainFrame extends JFrame {
             // Refresh left panel
             if (leftPanel != null) {
                 leftPanel.refreshUI();
+                historyPanel.refreshUI();
+                leftTabs.setTitleAt(0, I18nManager.get("left.tab.collections"));
+                leftTabs.setTitleAt(1, I18nManager.get("history.title"));
             }
 
             // Refresh right panel (tabs)
@@ -238,7 +269,7 @@ public class MainFrame extends JFrame {
      * Toggle sidebar visibility
      */
     public void toggleSidebar(boolean visible) {
-        leftPanel.setVisible(visible);
+        leftTabs.setVisible(visible);
         mainSplitPane.setDividerLocation(visible ? 300 : 0);
     }
 
@@ -292,8 +323,13 @@ public class MainFrame extends JFrame {
             appConfig.setWindowHeight(getHeight());
             appConfig.save();
 
+            // Write pending saves to disk
+            storageService.flush();
+
             // Shutdown services
             httpClientService.shutdown();
+            historyStore.close();
+            mockServer.stop();
 
             log.info("Application exiting");
             System.exit(0);
@@ -340,6 +376,40 @@ public class MainFrame extends JFrame {
                 JOptionPane.INFORMATION_MESSAGE);
     }
 
+    public void onMockServer() {
+        log.info("Mock server action");
+        new MockServerDialog(this, mockServer).setVisible(true);
+    }
+
+    /**
+     * Handler for connection settings action
+     * Saves the client profile of the current project and applies it to the running client
+     */
+    public void onClientProfile() {
+        log.info("Client profile action");
+
+        String projectName = appConfig.getCurrentProject();
+        ClientProfile edited = new ClientProfileDialog(this, httpClientService.getProfile()).showDialog();
+        if (edited == null) {
+            return; // User cancelled
+        }
+
+        try {
+            Project project = storageService.loadProject(projectName);
+            if (project.getSettings() == null) {
+                project.setSettings(Project.Settings.builder().build());
+            }
+            project.getSettings().setClientProfile(edited);
+            project.touch();
+            CompletableFuture<Void> save = storageService.saveProject(projectName, project);
+            httpClientService.applyProfile(edited);
+            reportSave(save, I18nManager.get("error.client_profile_failed"));
+        } catch (IOException e) {
+            log.error("Failed to save client profile", e);
+            showError(I18nManager.get("error.client_profile_failed") + ": " + e.getMessage());
+        }
+    }
+
     public void onSettings() {
         log.info("Settings action");
         JOptionPane.showMessageDialog(this,
@@ -407,6 +477,28 @@ public class MainFrame extends JFrame {
                 JOptionPane.ERROR_MESSAGE);
     }
 
+    /**
+     * Report a queued save once its write has completed
+     * Shows the saved status on success, or an error starting with the failure message.
+     * A save discarded because its document was deleted is not reported.
+     */
+    public void reportSave(CompletableFuture<Void> save, String failureMessage) {
+        save.whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                statusLabel.setText(I18nManager.get("status.saved"));
+                return;
+            }
+            if (error instanceof CancellationException) {
+                log.debug("Save discarded before it was written");
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            log.error(failureMessage, cause);
+            showError(failureMessage + ": " + cause.getMessage());
+        }));
+    }
+
     /**
      * Show info dialog
      */
@@ -417,6 +509,30 @@ public class MainFrame extends JFrame {
                 JOptionPane.INFORMATION_MESSAGE);
     }
 
+    /**
+     * Get the HTTP client profile of a project
+     * Projects without their own profile use the timeout, redirect and SSL
+     * settings of the application configuration.
+     */
+    private ClientProfile resolveClientProfile(String projectName) {
+        try {
+            Project project = storageService.loadProject(projectName);
+            if (project.getSettings() != null && project.getSettings().getClientProfile() != null) {
+                return project.getSettings().getClientProfile();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read client profile of project {}, using defaults", projectName, e);
+        }
+        return ClientProfile.fromAppConfig(appConfig);
+    }
+
+    /**
+     * Open the request history of a project
+     */
+    private HistoryStore openHistoryStore(String projectName) throws IOException {
+        return new HistoryStore(PathConfig.getHistoryDirectory(projectName), appConfig.getHistoryLimit());
+    }
+
     // ==================== Getters ====================
 
     public StorageService getStorageService() {
@@ -431,6 +547,14 @@ public class MainFrame extends JFrame {
         return httpClientService;
     }
 
+    public HistoryStore getHistoryStore() {
+        return historyStore;
+    }
+
+    public MockServer getMockServer() {
+        return mockServer;
+    }
+
     public AppConfig getAppConfig() {
         return appConfig;
     }
@@ -447,6 +571,10 @@ public class MainFrame extends JFrame {
         return leftPanel;
     }
 
+    public HistorySearchPanel getHistoryPanel() {
+        return historyPanel;
+    }
+
     // ==================== Project Management ====================
 
     /**
@@ -483,12 +611,17 @@ public class MainFrame extends JFrame {
             // Reinitialize environment service
             environmentService.initialize(newProjectName);
 
-            // Recreate HTTP client with new variable resolver
-            httpClientService.shutdown();
-            httpClientService = new HttpClientService(
-                    environmentService.createVariableResolver(),
-                    Constants.DEFAULT_TIMEOUT_MS
-            );
+            // Switch request history
+            httpClientService.setHistoryStore(null);
+            historyStore.close();
+            historyStore = openHistoryStore(newProjectName);
+            httpClientService.setHistoryStore(historyStore);
+            historyPanel.clear();
+
+            // Keep the HTTP client and its warm connections; the shared resolver
+            // already follows the new project, only the client profile may differ
+            httpClientService.setCacheDirectory(PathConfig.getHttpCacheDirectory(newProjectName));
+            httpClientService.applyProfile(resolveClientProfile(newProjectName));
 
             // Reload collections in left panel
             leftPanel.loadCollections();
@@ -665,7 +798,8 @@ public class MainFrame extends JFrame {
                 return;
             }
 
-            // Delete project
+            // Delete project, releasing its open HTTP cache first
+            httpClientService.closeCache(PathConfig.getHttpCacheDirectory(selected));
             storageService.deleteProject(selected);
 
             // If deleting current project, switch to another one
@@ -746,11 +880,26 @@ public class MainFrame extends JFrame {
                 return;
             }
 
-            // Rename project
-            storageService.renameProject(selected, newName);
+            // Rename project; files open in its directory are closed first and reopened at the new path
+            boolean renamingCurrent = selected.equals(currentProject);
+            httpClientService.closeCache(PathConfig.getHttpCacheDirectory(selected));
+            if (renamingCurrent) {
+                httpClientService.setHistoryStore(null);
+                historyStore.close();
+            }
+            try {
+                storageService.renameProject(selected, newName);
+            } finally {
+                if (renamingCurrent) {
+                    String projectName = storageService.projectExists(newName) ? newName : selected;
+                    historyStore = openHistoryStore(projectName);
+                    httpClientService.setHistoryStore(historyStore);
+                    httpClientService.setCacheDirectory(PathConfig.getHttpCacheDirectory(projectName));
+                }
+            }
 
             // If renaming current project, update and reload
-            if (selected.equals(currentProject)) {
+            if (renamingCurrent) {
                 appConfig.setCurrentProject(newName);
                 appConfig.save();
 
@@ -769,4 +918,54 @@ public class MainFrame extends JFrame {
             showError(I18nManager.get("error.rename_project_failed") + ": " + e.getMessage());
         }
     }
+
+    /**
+     * Handler for storage format action
+     * Converts the data files of the current project to the selected format
+     */
+    public void onStorageFormat() {
+        log.info("Storage format action");
+
+        String projectName = appConfig.getCurrentProject();
+        StorageFormat current = storageService.getStorageFormat(projectName);
+
+        StorageFormat selected = (StorageFormat) JOptionPane.showInputDialog(
+                this,
+                I18nManager.get("dialog.storage_format.message"),
+                I18nManager.get("dialog.storage_format.title"),
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                StorageFormat.values(),
+                current
+        );
+
+        if (selected == null || selected == current) {
+            return; // User cancelled or unchanged
+        }
+
+        // Conversion reads and rewrites every data file, keep it off the EDT
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        SwingWorker<Integer, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return storageService.convertProject(projectName, selected);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    int converted = get();
+                    leftPanel.loadCollections();
+                    showInfo(I18nManager.get("info.storage_format_changed", converted, selected.getDisplayName()));
+                } catch (Exception e) {
+                    Throwable cause = e instanceof ExecutionException && e.getCause() != null
+                            ? e.getCause() : e;
+                    log.error("Failed to convert project storage", cause);
+                    showError(I18nManager.get("error.storage_format_failed") + ": " + cause.getMessage());
+                }
+            }
+        };
+        worker.execute();
+    }
 }
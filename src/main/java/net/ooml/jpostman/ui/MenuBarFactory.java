@@ -98,6 +98,11 @@ public class MenuBarFactory {
         deleteProject.addActionListener(e -> mainFrame.onDeleteProject());
         menu.add(deleteProject);
 
+        // Storage Format
+        JMenuItem storageFormat = new JMenuItem(I18nManager.get("menu.file.storage_format"));
+        storageFormat.addActionListener(e -> mainFrame.onStorageFormat());
+        menu.add(storageFormat);
+
         menu.addSeparator();
 
         // Save
@@ -283,6 +288,16 @@ public class MenuBarFactory {
         variables.addActionListener(e -> mainFrame.onManageVariables());
         menu.add(variables);
 
+        // Connection settings
+        JMenuItem clientProfile = new JMenuItem(I18nManager.get("menu.tools.client_profile"));
+        clientProfile.addActionListener(e -> mainFrame.onClientProfile());
+        menu.add(clientProfile);
+
+        // Mock server
+        JMenuItem mockServer = new JMenuItem(I18nManager.get("menu.tools.mock_server"));
+        mockServer.addActionListener(e -> mainFrame.onMockServer());
+        menu.add(mockServer);
+
         menu.addSeparator();
 
         // Settings (not on macOS, handled by system)
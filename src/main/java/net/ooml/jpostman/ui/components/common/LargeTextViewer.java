@@ -0,0 +1,345 @@
+package net.ooml.jpostman.ui.components.common;
+
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only viewer for very large text files
+ * Only the lines in view are read from the file and handed to the syntax
+ * highlighting text area. The file is read through a channel rather than
+ * mapped, so closing the viewer releases it at once and it can be deleted.
+ * A line-offset index is built in the background, so scrolling and goto-line
+ * cost the same at any file size.
+ * Lines longer than {@link #MAX_LINE_BYTES} are wrapped into several index
+ * lines. The wrap lands on a character boundary in UTF-8 and in single-byte
+ * charsets; in other multi-byte charsets it can split a character.
+ */
+public class LargeTextViewer extends JPanel {
+    private static final Logger log = LoggerFactory.getLogger(LargeTextViewer.class);
+
+    private static final int INDEX_CHUNK_SIZE = 1024 * 1024; // Bytes read per step while indexing
+    private static final int MAX_LINE_BYTES = 4096;
+    private static final int PUBLISH_INTERVAL_LINES = 64 * 1024;
+
+    private final SyntaxHighlightTextPane textPane;
+    private final JScrollBar scrollBar;
+    private final JLabel positionLabel;
+    private final JTextField gotoField;
+
+    private FileChannel channel;
+    private long fileSize;
+    private Charset charset;
+    private LineIndex lineIndex;
+    private SwingWorker<Void, Integer> indexWorker;
+    private int firstLine = -1;
+
+    public LargeTextViewer() {
+        setLayout(new BorderLayout());
+
+        // Scroll bar over the line index
+        scrollBar = new JScrollBar(JScrollBar.VERTICAL, 0, 1, 0, 1);
+        scrollBar.addAdjustmentListener(e -> showLines(e.getValue()));
+        add(scrollBar, BorderLayout.EAST);
+
+        // Text area showing only the visible window of lines
+        textPane = new SyntaxHighlightTextPane();
+        textPane.setEditable(false);
+        textPane.getTextArea().setCodeFoldingEnabled(false);
+        textPane.getTextArea().setHighlightCurrentLine(false);
+        textPane.getScrollPane().setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_NEVER);
+        textPane.getScrollPane().setWheelScrollingEnabled(false);
+        textPane.getScrollPane().addMouseWheelListener(e ->
+                scrollBar.setValue(scrollBar.getValue() + e.getUnitsToScroll()));
+        add(textPane, BorderLayout.CENTER);
+
+        // Status and goto-line bar
+        JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        positionLabel = new JLabel(" ");
+        statusPanel.add(positionLabel);
+        statusPanel.add(Box.createHorizontalStrut(20));
+        statusPanel.add(new JLabel("Go to line:"));
+        gotoField = new JTextField(8);
+        gotoField.addActionListener(e -> onGotoLine());
+        statusPanel.add(gotoField);
+        add(statusPanel, BorderLayout.SOUTH);
+
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                refreshWindow();
+            }
+        });
+    }
+
+    /**
+     * Open a file for viewing
+     */
+    public void open(Path file, Charset charset, String syntaxStyle) throws IOException {
+        close();
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.charset = charset;
+        this.lineIndex = new LineIndex();
+        textPane.setSyntaxStyle(syntaxStyle);
+        startIndexing();
+
+        log.debug("Opened large text file: {} ({} bytes)", file, fileSize);
+    }
+
+    /**
+     * Close the current file
+     */
+    public void close() {
+        if (indexWorker != null) {
+            indexWorker.cancel(true);
+            indexWorker = null;
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close large text file", e);
+            }
+            channel = null;
+        }
+        lineIndex = null;
+        fileSize = 0;
+        firstLine = -1;
+        textPane.clear();
+        scrollBar.setValues(0, 1, 0, 1);
+        positionLabel.setText(" ");
+    }
+
+    /**
+     * Scroll so that the given line (1-based) is the first visible line
+     */
+    public void gotoLine(int line) {
+        if (lineIndex == null) {
+            return;
+        }
+        int target = Math.max(0, Math.min(line - 1, lineIndex.size() - 1));
+        scrollBar.setValue(target);
+    }
+
+    /**
+     * Update theme for syntax highlighting
+     */
+    public void updateTheme() {
+        textPane.updateTheme();
+    }
+
+    /**
+     * Build the line-offset index on a background thread
+     */
+    private void startIndexing() {
+        LineIndex index = lineIndex;
+        FileChannel file = channel;
+        long size = fileSize;
+        // Only UTF-8 continuation bytes are recognized; other charsets wrap at any byte
+        boolean utf8 = StandardCharsets.UTF_8.equals(charset);
+
+        indexWorker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+                index.add(0);
+                long lineStart = 0;
+                long nextPublish = PUBLISH_INTERVAL_LINES;
+                ByteBuffer chunk = ByteBuffer.allocate(INDEX_CHUNK_SIZE);
+
+                for (long base = 0; base < size && !isCancelled(); base += chunk.limit()) {
+                    chunk.clear();
+                    if (file.read(chunk, base) <= 0) {
+                        break;
+                    }
+                    chunk.flip();
+                    int limit = chunk.limit();
+
+                    for (int i = 0; i < limit; i++) {
+                        byte b = chunk.get(i);
+                        long position = base + i;
+                        if (b == '\n') {
+                            lineStart = position + 1;
+                            if (lineStart < size) {
+                                index.add(lineStart);
+                            }
+                        } else if (position - lineStart >= MAX_LINE_BYTES && (!utf8 || (b & 0xC0) != 0x80)) {
+                            // Wrap overlong lines; in UTF-8 never inside a character
+                            lineStart = position;
+                            index.add(lineStart);
+                        }
+                    }
+
+                    if (index.size() >= nextPublish) {
+                        nextPublish = index.size() + PUBLISH_INTERVAL_LINES;
+                        publish(index.size());
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            protected void process(java.util.List<Integer> chunks) {
+                if (lineIndex == index) {
+                    updateScrollBar(false);
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (lineIndex == index && !isCancelled()) {
+                    try {
+                        get();
+                    } catch (Exception e) {
+                        log.warn("Failed to index large text file", e);
+                    }
+                    updateScrollBar(true);
+                    log.debug("Line index built: {} lines", index.size());
+                }
+            }
+        };
+        indexWorker.execute();
+    }
+
+    /**
+     * Update scroll bar range to the current index size
+     */
+    private void updateScrollBar(boolean complete) {
+        int lines = lineIndex.size();
+        int visible = getVisibleLineCount();
+        scrollBar.setValues(Math.max(0, scrollBar.getValue()), visible, 0, Math.max(lines, visible));
+        scrollBar.setBlockIncrement(Math.max(1, visible - 1));
+
+        if (firstLine < 0) {
+            showLines(0);
+        } else {
+            updatePositionLabel(complete);
+        }
+    }
+
+    /**
+     * Reload the current window, e.g. after a resize
+     */
+    private void refreshWindow() {
+        if (lineIndex == null) {
+            return;
+        }
+        scrollBar.setVisibleAmount(getVisibleLineCount());
+        int first = firstLine;
+        firstLine = -1;
+        showLines(Math.max(0, first));
+    }
+
+    /**
+     * Decode and show the lines starting at the given index line
+     */
+    private void showLines(int first) {
+        if (lineIndex == null || lineIndex.size() == 0 || first == firstLine) {
+            return;
+        }
+
+        int lines = lineIndex.size();
+        first = Math.max(0, Math.min(first, lines - 1));
+        int last = Math.min(lines, first + getVisibleLineCount() + 1);
+
+        long start = lineIndex.get(first);
+        long end = last < lines ? lineIndex.get(last) : fileSize;
+        if (last >= lines && indexWorker != null && !indexWorker.isDone()) {
+            // Index still growing; do not decode up to the end of the file
+            end = Math.min(end, start + (long) (last - first) * MAX_LINE_BYTES);
+        }
+
+        String text = charset.decode(ByteBuffer.wrap(readBytes(start, end))).toString();
+        if (text.endsWith("\n")) {
+            text = text.substring(0, text.length() - 1);
+        }
+
+        firstLine = first;
+        RSyntaxTextArea textArea = textPane.getTextArea();
+        textArea.setText(text);
+        textArea.setCaretPosition(0);
+        textPane.getScrollPane().getGutter().setLineNumberingStartIndex(first + 1);
+        updatePositionLabel(indexWorker == null || indexWorker.isDone());
+    }
+
+    /**
+     * Read a byte range of the file
+     */
+    private byte[] readBytes(long start, long end) {
+        ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+        try {
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, start + bytes.position()) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read large text file", e);
+        }
+        return Arrays.copyOf(bytes.array(), bytes.position());
+    }
+
+    /**
+     * Number of lines that fit into the visible area
+     */
+    private int getVisibleLineCount() {
+        int lineHeight = Math.max(1, textPane.getTextArea().getLineHeight());
+        int height = textPane.getScrollPane().getViewport().getHeight();
+        return Math.max(1, height / lineHeight);
+    }
+
+    private void updatePositionLabel(boolean complete) {
+        int last = Math.min(lineIndex.size(), firstLine + getVisibleLineCount());
+        positionLabel.setText(String.format("Lines %,d-%,d of %,d%s", firstLine + 1, last,
+                lineIndex.size(), complete ? "" : " (indexing...)"));
+    }
+
+    private void onGotoLine() {
+        try {
+            gotoLine(Integer.parseInt(gotoField.getText().trim().replace(",", "")));
+        } catch (NumberFormatException e) {
+            Toolkit.getDefaultToolkit().beep();
+        }
+    }
+
+    /**
+     * Growable array of line start offsets
+     * Appended to by the indexing thread and read concurrently by the EDT
+     */
+    private static class LineIndex {
+        private volatile long[] offsets = new long[1024];
+        private volatile int size;
+
+        void add(long offset) {
+            long[] current = offsets;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                offsets = current;
+            }
+            current[size] = offset;
+            size = size + 1;
+        }
+
+        long get(int line) {
+            return offsets[line];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
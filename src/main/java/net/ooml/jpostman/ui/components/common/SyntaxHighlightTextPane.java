@@ -1,8 +1,8 @@
 package net.ooml.jpostman.ui.components.common;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.formdev.flatlaf.FlatLaf;
+import net.ooml.jpostman.service.storage.JsonSerializer;
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
 import org.fife.ui.rsyntaxtextarea.Theme;
@@ -22,7 +22,6 @@ public class SyntaxHighlightTextPane extends JPanel {
 
     private final RSyntaxTextArea textArea;
     private final RTextScrollPane scrollPane;
-    private final ObjectMapper jsonMapper;
     private String currentSyntax = SyntaxConstants.SYNTAX_STYLE_JSON;
 
     public SyntaxHighlightTextPane() {
@@ -49,10 +48,6 @@ public class SyntaxHighlightTextPane extends JPanel {
         scrollPane.setLineNumbersEnabled(true);
         add(scrollPane, BorderLayout.CENTER);
 
-        // Initialize JSON mapper for formatting
-        jsonMapper = new ObjectMapper();
-        jsonMapper.enable(SerializationFeature.INDENT_OUTPUT);
-
         this.currentSyntax = syntaxStyle;
     }
 
@@ -179,8 +174,8 @@ public class SyntaxHighlightTextPane extends JPanel {
      * Format JSON content
      */
     private String formatJson(String json) throws IOException {
-        Object obj = jsonMapper.readValue(json, Object.class);
-        return jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
+        JsonNode tree = JsonSerializer.readerFor(JsonNode.class).readValue(json);
+        return JsonSerializer.writerFor(JsonNode.class).writeValueAsString(tree);
     }
 
     /**
@@ -228,4 +223,11 @@ public class SyntaxHighlightTextPane extends JPanel {
     public RSyntaxTextArea getTextArea() {
         return textArea;
     }
+
+    /**
+     * Get the scroll pane wrapping the text area
+     */
+    public RTextScrollPane getScrollPane() {
+        return scrollPane;
+    }
 }
@@ -0,0 +1,246 @@
+package net.ooml.jpostman.ui.components.left;
+
+import net.ooml.jpostman.model.HistoryRecord;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.RequestBody;
+import net.ooml.jpostman.service.history.HistoryQuery;
+import net.ooml.jpostman.service.history.HistoryStore;
+import net.ooml.jpostman.ui.MainFrame;
+import net.ooml.jpostman.ui.i18n.I18nManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * History Search Panel - Left sidebar tab searching the request history
+ * Accepts field filters and body words, e.g. "status:5xx url:/orders since:1h duration:>500"
+ */
+public class HistorySearchPanel extends JPanel {
+    private static final Logger log = LoggerFactory.getLogger(HistorySearchPanel.class);
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("MM-dd HH:mm:ss");
+
+    private final MainFrame mainFrame;
+
+    // UI Components
+    private JTextField queryField;
+    private JButton searchButton;
+    private JLabel resultLabel;
+    private JTable resultTable;
+    private final HistoryTableModel tableModel = new HistoryTableModel();
+
+    public HistorySearchPanel(MainFrame mainFrame) {
+        this.mainFrame = mainFrame;
+        initializeUI();
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+
+        // Query field at top
+        JPanel searchPanel = new JPanel(new BorderLayout(5, 0));
+        searchPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        queryField = new JTextField();
+        queryField.setToolTipText(I18nManager.get("history.search.hint"));
+        queryField.addActionListener(e -> search());
+        searchButton = new JButton(I18nManager.get("history.search"));
+        searchButton.addActionListener(e -> search());
+        searchPanel.add(queryField, BorderLayout.CENTER);
+        searchPanel.add(searchButton, BorderLayout.EAST);
+        add(searchPanel, BorderLayout.NORTH);
+
+        // Results table
+        resultTable = new JTable(tableModel);
+        resultTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultTable.setAutoResizeMode(JTable.AUTO_RESIZE_LAST_COLUMN);
+        resultTable.getColumnModel().getColumn(0).setPreferredWidth(95);
+        resultTable.getColumnModel().getColumn(1).setPreferredWidth(55);
+        resultTable.getColumnModel().getColumn(2).setPreferredWidth(45);
+        resultTable.getColumnModel().getColumn(3).setPreferredWidth(55);
+        resultTable.getColumnModel().getColumn(4).setPreferredWidth(300);
+        resultTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelectedRecord();
+                }
+            }
+        });
+        add(new JScrollPane(resultTable), BorderLayout.CENTER);
+
+        // Result count at bottom
+        resultLabel = new JLabel(" ");
+        resultLabel.setBorder(BorderFactory.createEmptyBorder(3, 5, 3, 5));
+        add(resultLabel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Run the query in the search field
+     */
+    public void search() {
+        HistoryStore historyStore = mainFrame.getHistoryStore();
+        if (historyStore == null) {
+            return;
+        }
+
+        HistoryQuery query;
+        try {
+            query = HistoryQuery.parse(queryField.getText());
+        } catch (IllegalArgumentException e) {
+            resultLabel.setText(I18nManager.get("history.search.invalid") + ": " + e.getMessage());
+            return;
+        }
+
+        searchButton.setEnabled(false);
+        new SwingWorker<List<HistoryRecord>, Void>() {
+            private long elapsed;
+
+            @Override
+            protected List<HistoryRecord> doInBackground() {
+                long start = System.nanoTime();
+                List<HistoryRecord> records = historyStore.search(query);
+                elapsed = (System.nanoTime() - start) / 1_000_000;
+                return records;
+            }
+
+            @Override
+            protected void done() {
+                searchButton.setEnabled(true);
+                try {
+                    List<HistoryRecord> records = get();
+                    tableModel.setRecords(records);
+                    resultLabel.setText(I18nManager.get("history.search.results", records.size(), elapsed));
+                } catch (Exception e) {
+                    log.error("History search failed", e);
+                    resultLabel.setText(I18nManager.get("history.search.invalid") + ": " + e.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Clear results, e.g. after the project changed
+     */
+    public void clear() {
+        tableModel.setRecords(new ArrayList<>());
+        resultLabel.setText(" ");
+    }
+
+    /**
+     * Open the selected record as a new unsaved request
+     */
+    private void openSelectedRecord() {
+        int row = resultTable.getSelectedRow();
+        if (row < 0) {
+            return;
+        }
+        HistoryRecord record = tableModel.getRecord(resultTable.convertRowIndexToModel(row));
+
+        String name = record.getName() != null ? record.getName() : record.getUrl();
+        Request request = Request.createNew(name, record.getMethod());
+        request.setUrl(record.getUrl());
+
+        String body = readBody(record.getRequestBodyHash());
+        if (body != null) {
+            String trimmed = body.trim();
+            request.setBody(trimmed.startsWith("{") || trimmed.startsWith("[")
+                    ? RequestBody.createJson(body)
+                    : RequestBody.createRaw(body));
+        }
+
+        mainFrame.getRightPanel().openRequest(request);
+    }
+
+    private String readBody(String hash) {
+        Path file = mainFrame.getHistoryStore().getBodyFile(hash);
+        if (file == null) {
+            return null;
+        }
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            log.warn("Failed to read history body: {}", hash, e);
+            return null;
+        }
+    }
+
+    /**
+     * Refresh UI after language change
+     */
+    public void refreshUI() {
+        queryField.setToolTipText(I18nManager.get("history.search.hint"));
+        searchButton.setText(I18nManager.get("history.search"));
+        tableModel.fireTableStructureChanged();
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Table model over search results
+     */
+    private static class HistoryTableModel extends AbstractTableModel {
+        private static final String[] COLUMN_KEYS = {
+                "history.column.time", "history.column.method", "history.column.status",
+                "history.column.duration", "history.column.url"
+        };
+
+        private List<HistoryRecord> records = new ArrayList<>();
+
+        void setRecords(List<HistoryRecord> records) {
+            this.records = records;
+            fireTableDataChanged();
+        }
+
+        HistoryRecord getRecord(int row) {
+            return records.get(row);
+        }
+
+        @Override
+        public int getRowCount() {
+            return records.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_KEYS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return I18nManager.get(COLUMN_KEYS[column]);
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            HistoryRecord record = records.get(row);
+            switch (column) {
+                case 0:
+                    return record.getTimestamp() != null ? record.getTimestamp().format(TIME_FORMAT) : "";
+                case 1:
+                    return record.getMethod() != null ? record.getMethod().name() : "";
+                case 2:
+                    if (record.getStatusCode() != null) {
+                        return String.valueOf(record.getStatusCode());
+                    }
+                    return record.getStatus() != null ? record.getStatus().getDisplayName() : "";
+                case 3:
+                    return record.getDuration() != null ? record.getDuration() + " ms" : "";
+                case 4:
+                    return record.getUrl();
+                default:
+                    return "";
+            }
+        }
+    }
+}
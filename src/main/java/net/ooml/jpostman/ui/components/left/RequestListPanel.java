@@ -1,7 +1,10 @@
 package net.ooml.jpostman.ui.components.left;
 
+import net.ooml.jpostman.config.Constants;
 import net.ooml.jpostman.model.Collection;
 import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.service.http.HttpClientService;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
 import net.ooml.jpostman.ui.MainFrame;
 import net.ooml.jpostman.ui.i18n.I18nManager;
 import org.slf4j.Logger;
@@ -105,13 +108,15 @@ public class RequestListPanel extends JPanel {
 
     /**
      * Load collections from storage
+     * The tree holds stub collections from the collection index; full requests
+     * are loaded when opened
      */
     public void loadCollections() {
         try {
             rootNode.removeAllChildren();
 
             String projectName = mainFrame.getCurrentProject();
-            List<Collection> collections = mainFrame.getStorageService().loadAllCollections(projectName);
+            List<Collection> collections = mainFrame.getStorageService().loadCollectionSummaries(projectName);
 
             for (Collection collection : collections) {
                 DefaultMutableTreeNode collectionNode = new DefaultMutableTreeNode(collection);
@@ -164,7 +169,7 @@ public class RequestListPanel extends JPanel {
             if (userObject instanceof Request) {
                 Request request = (Request) userObject;
                 log.debug("Request selected: {}", request.getName());
-                mainFrame.getRightPanel().openRequest(request);
+                mainFrame.getRightPanel().openRequest(loadFullRequest(request));
             } else if (userObject instanceof Collection) {
                 Collection collection = (Collection) userObject;
                 log.debug("Collection selected: {}", collection.getName());
@@ -172,6 +177,23 @@ public class RequestListPanel extends JPanel {
         }
     }
 
+    /**
+     * Load the full request behind a tree node
+     */
+    private Request loadFullRequest(Request stub) {
+        try {
+            Request request = mainFrame.getStorageService().loadRequest(
+                    mainFrame.getCurrentProject(), stub.getCollectionId(), stub.getId());
+            if (request != null) {
+                return request;
+            }
+            log.warn("Request not found in collection: {}", stub.getId());
+        } catch (Exception e) {
+            log.error("Failed to load request: {}", stub.getId(), e);
+        }
+        return stub;
+    }
+
     /**
      * Create new request
      */
@@ -255,7 +277,8 @@ public class RequestListPanel extends JPanel {
                 targetCollection.getRequests().add(newRequest);
 
                 // Save collection
-                mainFrame.getStorageService().saveCollection(projectName, targetCollection);
+                mainFrame.reportSave(mainFrame.getStorageService().saveCollection(projectName, targetCollection),
+                        "Failed to create request");
 
                 // Reload collections to show new request
                 loadCollections();
@@ -285,7 +308,8 @@ public class RequestListPanel extends JPanel {
         if (name != null && !name.trim().isEmpty()) {
             try {
                 Collection collection = Collection.createNew(name);
-                mainFrame.getStorageService().saveCollection(mainFrame.getCurrentProject(), collection);
+                mainFrame.reportSave(mainFrame.getStorageService().saveCollection(mainFrame.getCurrentProject(), collection),
+                        "Failed to create collection");
                 loadCollections();
                 log.info("Created new collection: {}", name);
             } catch (Exception e) {
@@ -344,7 +368,8 @@ public class RequestListPanel extends JPanel {
                     for (Collection collection : collections) {
                         boolean removed = collection.getRequests().removeIf(req -> req.getId().equals(request.getId()));
                         if (removed) {
-                            mainFrame.getStorageService().saveCollection(projectName, collection);
+                            mainFrame.reportSave(mainFrame.getStorageService().saveCollection(projectName, collection),
+                                    "Failed to delete");
                             log.info("Deleted request: {}", request.getName());
                             break;
                         }
@@ -419,7 +444,8 @@ public class RequestListPanel extends JPanel {
 
         // If no collections exist at all, create a new one
         Collection defaultCollection = Collection.createNew("My Requests");
-        mainFrame.getStorageService().saveCollection(projectName, defaultCollection);
+        mainFrame.reportSave(mainFrame.getStorageService().saveCollection(projectName, defaultCollection),
+                "Failed to create collection");
         return defaultCollection;
     }
 
@@ -463,6 +489,10 @@ public class RequestListPanel extends JPanel {
             newRequestItem.addActionListener(ev -> createNewRequest());
             contextMenu.add(newRequestItem);
 
+            JMenuItem prewarmItem = new JMenuItem(I18nManager.get("collection.prewarm"));
+            prewarmItem.addActionListener(ev -> prewarmCollection((Collection) userObject));
+            contextMenu.add(prewarmItem);
+
             contextMenu.addSeparator();
 
             JMenuItem deleteItem = new JMenuItem(I18nManager.get("common.delete"));
@@ -497,7 +527,8 @@ public class RequestListPanel extends JPanel {
                             req.touch();
 
                             // Save the collection
-                            mainFrame.getStorageService().saveCollection(projectName, collection);
+                            mainFrame.reportSave(mainFrame.getStorageService().saveCollection(projectName, collection),
+                                    "Failed to rename request");
 
                             // Reload the tree to show updated name
                             loadCollections();
@@ -538,7 +569,8 @@ public class RequestListPanel extends JPanel {
                     if (coll.getId().equals(collection.getId())) {
                         coll.setName(newName.trim());
                         coll.touch();
-                        mainFrame.getStorageService().saveCollection(projectName, coll);
+                        mainFrame.reportSave(mainFrame.getStorageService().saveCollection(projectName, coll),
+                                "Failed to rename collection");
                         loadCollections();
                         log.info("Collection renamed to: {}", newName);
                         return;
@@ -554,6 +586,38 @@ public class RequestListPanel extends JPanel {
         }
     }
 
+    /**
+     * Resolve and connect to every host of a collection in the background
+     */
+    private void prewarmCollection(Collection collection) {
+        String projectName = mainFrame.getCurrentProject();
+        HttpClientService httpClientService = mainFrame.getHttpClientService();
+        // Taken on the EDT, where the environment and global variables are edited
+        VariableSnapshot variables = httpClientService.snapshotVariables();
+
+        SwingWorker<int[], Void> worker = new SwingWorker<>() {
+            @Override
+            protected int[] doInBackground() throws Exception {
+                // The tree only holds summaries, load the requests with their URLs
+                Collection full = mainFrame.getStorageService().loadCollection(projectName, collection.getId());
+                int reached = httpClientService.prewarm(full.getRequests(), variables, Constants.PREWARM_TIMEOUT_MS);
+                return new int[]{reached, httpClientService.getDns().size()};
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    int[] result = get();
+                    mainFrame.showInfo(I18nManager.get("collection.prewarm.done", result[0], result[1]));
+                } catch (Exception e) {
+                    log.error("Failed to pre-warm collection", e);
+                    mainFrame.showError(I18nManager.get("collection.prewarm.failed") + ": " + e.getMessage());
+                }
+            }
+        };
+        worker.execute();
+    }
+
     /**
      * Refresh UI after language change
      */
@@ -2,6 +2,7 @@ package net.ooml.jpostman.ui.components.right;
 
 import net.ooml.jpostman.model.Header;
 import net.ooml.jpostman.model.enums.BodyType;
+import net.ooml.jpostman.model.enums.CompressionType;
 import net.ooml.jpostman.ui.components.common.KeyValueTablePanel;
 import net.ooml.jpostman.ui.components.common.SyntaxHighlightTextPane;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
@@ -21,6 +22,7 @@ public class RequestBodyPanel extends JPanel {
 
     private JComboBox<BodyType> bodyTypeComboBox;
     private JButton formatButton;
+    private JComboBox<CompressionType> compressionComboBox;
     private JPanel contentPanel;
     private CardLayout cardLayout;
 
@@ -62,6 +64,25 @@ public class RequestBodyPanel extends JPanel {
         formatButton.addActionListener(e -> formatContent());
         topPanel.add(formatButton);
 
+        // Compression selector; no selection uses the environment's setting
+        topPanel.add(new JLabel("Compression:"));
+        compressionComboBox = new JComboBox<>(CompressionType.values());
+        compressionComboBox.insertItemAt(null, 0);
+        compressionComboBox.setSelectedItem(null);
+        compressionComboBox.setToolTipText("Content-Encoding applied to the request body");
+        compressionComboBox.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (value == null) {
+                    setText("Environment default");
+                }
+                return this;
+            }
+        });
+        topPanel.add(compressionComboBox);
+
         add(topPanel, BorderLayout.NORTH);
 
         // Content panel with card layout
@@ -164,6 +185,17 @@ public class RequestBodyPanel extends JPanel {
         bodyTypeComboBox.setSelectedItem(type);
     }
 
+    /**
+     * Get the selected compression, or null to use the environment's
+     */
+    public CompressionType getCompression() {
+        return (CompressionType) compressionComboBox.getSelectedItem();
+    }
+
+    public void setCompression(CompressionType compression) {
+        compressionComboBox.setSelectedItem(compression);
+    }
+
     public String getBodyContent() {
         BodyType type = getBodyType();
         if (type == null) {
@@ -240,6 +272,7 @@ public class RequestBodyPanel extends JPanel {
 
     public void clear() {
         bodyTypeComboBox.setSelectedItem(BodyType.NONE);
+        compressionComboBox.setSelectedItem(null);
         bodyTextPane.clear();
         formDataPanel.clear();
         urlencodedPanel.clear();
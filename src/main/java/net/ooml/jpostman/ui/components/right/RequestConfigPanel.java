@@ -19,6 +19,7 @@ public class RequestConfigPanel extends JPanel {
     private JButton sendButton;
     private JButton saveButton;
     private JButton curlButton;
+    private boolean sending = false;
 
     public RequestConfigPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
@@ -147,6 +148,26 @@ public class RequestConfigPanel extends JPanel {
         sendButton.addActionListener(e -> action.run());
     }
 
+    /**
+     * Switch the send button between Send and Cancel while a request is in flight
+     */
+    public void setSending(boolean sending) {
+        this.sending = sending;
+        updateSendButton();
+    }
+
+    private void updateSendButton() {
+        if (sending) {
+            sendButton.setText(I18nManager.get("button.cancel"));
+            sendButton.setToolTipText(I18nManager.get("tooltip.cancel_request"));
+            sendButton.setBackground(new Color(220, 53, 69)); // Red color
+        } else {
+            sendButton.setText(I18nManager.get("button.send"));
+            sendButton.setToolTipText(I18nManager.get("tooltip.send"));
+            sendButton.setBackground(new Color(40, 167, 69)); // Green color
+        }
+    }
+
     /**
      * Set save action
      */
@@ -194,8 +215,7 @@ public class RequestConfigPanel extends JPanel {
      */
     public void refreshUI() {
         if (sendButton != null) {
-            sendButton.setText(I18nManager.get("button.send"));
-            sendButton.setToolTipText(I18nManager.get("tooltip.send"));
+            updateSendButton();
         }
         if (saveButton != null) {
             saveButton.setText(I18nManager.get("button.save"));
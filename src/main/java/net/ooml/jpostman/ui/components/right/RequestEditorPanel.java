@@ -5,14 +5,20 @@ import net.ooml.jpostman.model.Request;
 import net.ooml.jpostman.model.RequestBody;
 import net.ooml.jpostman.model.Response;
 import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.model.enums.RequestStatus;
+import net.ooml.jpostman.service.http.HttpClientService;
+import net.ooml.jpostman.service.http.RequestHandle;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
 import net.ooml.jpostman.ui.MainFrame;
 import net.ooml.jpostman.ui.i18n.I18nManager;
+import net.ooml.jpostman.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Request Editor Panel - Main panel for editing and sending requests
@@ -20,13 +26,17 @@ import java.util.List;
 public class RequestEditorPanel extends JPanel {
     private static final Logger log = LoggerFactory.getLogger(RequestEditorPanel.class);
 
+    private static final int PROGRESS_INTERVAL_MS = 250;
+
     private final MainFrame mainFrame;
 
     // Current request being edited
     private Request currentRequest;
 
-    // SwingWorker for async requests (to support cancellation)
-    private SwingWorker<Response, Void> currentWorker;
+    // Request in flight on the client's execution backend (to support cancellation)
+    private CompletableFuture<Response> currentCall;
+    private RequestHandle currentHandle;
+    private Timer progressTimer;
 
     // Flag to prevent circular updates between URL and Params
     private boolean updatingUrlParams = false;
@@ -39,6 +49,7 @@ public class RequestEditorPanel extends JPanel {
     private RequestHeadersPanel headersPanel;
     private RequestBodyPanel bodyPanel;
     private RequestAuthPanel authPanel;
+    private RequestMockPanel mockPanel;
     private JSplitPane splitPane;
     private ResponsePanel responsePanel;
 
@@ -87,6 +98,9 @@ public class RequestEditorPanel extends JPanel {
         authPanel = new RequestAuthPanel();
         requestTabbedPane.addTab(I18nManager.get("tab.auth"), authPanel);
 
+        mockPanel = new RequestMockPanel();
+        requestTabbedPane.addTab(I18nManager.get("tab.mock"), mockPanel);
+
         splitPane.setTopComponent(requestTabbedPane);
 
         // Setup URL and Params synchronization
@@ -137,8 +151,10 @@ public class RequestEditorPanel extends JPanel {
         } else {
             bodyPanel.clear();
         }
+        bodyPanel.setCompression(request.getCompression());
 
         authPanel.setAuthConfig(request.getAuth());
+        mockPanel.setMock(request.getMock());
 
         log.debug("Request loaded: {}", request.getName());
     }
@@ -164,10 +180,14 @@ public class RequestEditorPanel extends JPanel {
                     .content(bodyPanel.getBodyContent())
                     .build();
             currentRequest.setBody(body);
+            currentRequest.setCompression(bodyPanel.getCompression());
 
             // Update auth
             currentRequest.setAuth(authPanel.getAuthConfig());
 
+            // Update mock response
+            currentRequest.setMock(mockPanel.getMock());
+
             // Update timestamp
             currentRequest.touch();
 
@@ -195,11 +215,12 @@ public class RequestEditorPanel extends JPanel {
 
                 if (found) {
                     collection.touch();
-                    mainFrame.getStorageService().saveCollection(projectName, collection);
-                    log.info("Request saved and persisted: {}", currentRequest.getName());
-                } else {
-                    log.warn("Request not found in collection: {}", currentRequest.getId());
+                    mainFrame.reportSave(mainFrame.getStorageService().saveCollection(projectName, collection),
+                            "Failed to save request");
+                    log.info("Request queued for saving: {}", currentRequest.getName());
+                    return;
                 }
+                log.warn("Request not found in collection: {}", currentRequest.getId());
             }
 
             mainFrame.setStatus(I18nManager.get("status.saved"));
@@ -235,9 +256,14 @@ public class RequestEditorPanel extends JPanel {
     }
 
     /**
-     * Send HTTP request
+     * Send HTTP request, or cancel the one in flight
      */
     public void sendRequest() {
+        if (currentCall != null && !currentCall.isDone()) {
+            cancelRequest();
+            return;
+        }
+
         try {
             // Save current state first
             saveCurrentRequest();
@@ -257,43 +283,88 @@ public class RequestEditorPanel extends JPanel {
             mainFrame.setStatus(I18nManager.get("status.sending"));
             log.info("Sending request: {} {}", currentRequest.getMethod(), currentRequest.getUrl());
 
-            // Execute request in background thread
-            SwingWorker<Response, Void> worker = new SwingWorker<>() {
-                @Override
-                protected Response doInBackground() {
-                    return mainFrame.getHttpClientService().execute(currentRequest);
-                }
+            // Freeze variables on the EDT; the worker never touches live environments
+            HttpClientService httpClientService = mainFrame.getHttpClientService();
+            VariableSnapshot variables = httpClientService.snapshotVariables();
+            Request request = currentRequest;
+            RequestHandle handle = httpClientService.register(request, "editor");
+
+            // Execute request on the client's execution backend, handle the result on the EDT
+            CompletableFuture<Response> call = httpClientService.submit(request, variables, handle);
+            currentCall = call;
+            currentHandle = handle;
+            configPanel.setSending(true);
+            progressTimer = new Timer(PROGRESS_INTERVAL_MS, e -> mainFrame.setStatus(
+                    I18nManager.get("status.sending_progress",
+                            handle.getElapsedMillis(),
+                            StringUtil.formatFileSize(handle.getBytesReceived()))));
+            progressTimer.start();
+
+            call.whenComplete((response, error) -> SwingUtilities.invokeLater(() -> {
+                finishSending(call);
+                onResponse(request, variables, response, error);
+            }));
 
-                @Override
-                protected void done() {
-                    try {
-                        Response response = get();
-                        responsePanel.displayResponse(response, currentRequest);
+        } catch (Exception e) {
+            log.error("Failed to send request", e);
+            mainFrame.showError("Failed to send request: " + e.getMessage());
+            mainFrame.setStatus(I18nManager.get("status.error"));
+        }
+    }
+
+    /**
+     * Show the response of a finished request
+     */
+    private void onResponse(Request request, VariableSnapshot variables, Response response, Throwable error) {
+        if (error != null) {
+            log.error("Request failed", error);
+            mainFrame.showError("Request failed: " + error.getMessage());
+            mainFrame.setStatus(I18nManager.get("status.error"));
+            return;
+        }
+        if (response.getStatus() == RequestStatus.CANCELLED) {
+            mainFrame.setStatus(I18nManager.get("status.cancelled"));
+            return;
+        }
 
-                        String statusMsg = String.format("%s - %d %s (%dms)",
-                                I18nManager.get("status.request_complete"),
-                                response.getStatusCode(),
-                                response.getStatusText(),
-                                response.getDuration());
-                        mainFrame.setStatus(statusMsg);
+        mainFrame.getHistoryStore().record(request, variables, response, "editor");
+        responsePanel.displayResponse(response, request);
 
-                        log.info("Request completed: {} {}", response.getStatusCode(), currentRequest.getUrl());
+        String statusMsg = String.format("%s - %d %s (%dms)",
+                I18nManager.get("status.request_complete"),
+                response.getStatusCode(),
+                response.getStatusText(),
+                response.getDuration());
+        mainFrame.setStatus(statusMsg);
 
-                    } catch (Exception e) {
-                        log.error("Request failed", e);
-                        mainFrame.showError("Request failed: " + e.getMessage());
-                        mainFrame.setStatus(I18nManager.get("status.error"));
-                    }
-                }
-            };
+        log.info("Request completed: {} {}", response.getStatusCode(), request.getUrl());
+    }
 
-            worker.execute();
+    /**
+     * Cancel the request in flight; its connection and thread are released right away
+     */
+    public void cancelRequest() {
+        RequestHandle handle = currentHandle;
+        if (handle != null) {
+            handle.cancel();
+            log.info("Request cancelled: {} {}", handle.getMethod(), handle.getUrl());
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to send request", e);
-            mainFrame.showError("Failed to send request: " + e.getMessage());
-            mainFrame.setStatus(I18nManager.get("status.error"));
+    /**
+     * Reset the sending state once the call finished
+     */
+    private void finishSending(CompletableFuture<Response> call) {
+        if (currentCall != call) {
+            return;
+        }
+        if (progressTimer != null) {
+            progressTimer.stop();
+            progressTimer = null;
         }
+        currentCall = null;
+        currentHandle = null;
+        configPanel.setSending(false);
     }
 
     /**
@@ -311,7 +382,9 @@ public class RequestEditorPanel extends JPanel {
         copy.setUrl(currentRequest.getUrl());
         copy.setHeaders(currentRequest.getHeaders());
         copy.setBody(currentRequest.getBody());
+        copy.setCompression(currentRequest.getCompression());
         copy.setAuth(currentRequest.getAuth());
+        copy.setMock(currentRequest.getMock());
 
         this.currentRequest = copy;
         loadRequest(copy);
@@ -329,6 +402,7 @@ public class RequestEditorPanel extends JPanel {
         headersPanel.clear();
         bodyPanel.clear();
         authPanel.clear();
+        mockPanel.clear();
         responsePanel.clear();
     }
 
@@ -346,6 +420,9 @@ public class RequestEditorPanel extends JPanel {
         if (bodyPanel != null) {
             bodyPanel.updateTheme();
         }
+        if (mockPanel != null) {
+            mockPanel.updateTheme();
+        }
         if (responsePanel != null) {
             responsePanel.updateTheme();
         }
@@ -398,6 +475,7 @@ public class RequestEditorPanel extends JPanel {
             requestTabbedPane.setTitleAt(1, I18nManager.get("tab.headers"));
             requestTabbedPane.setTitleAt(2, I18nManager.get("tab.body"));
             requestTabbedPane.setTitleAt(3, I18nManager.get("tab.auth"));
+            requestTabbedPane.setTitleAt(4, I18nManager.get("tab.mock"));
         }
 
         // Refresh sub-panels
@@ -416,6 +494,9 @@ public class RequestEditorPanel extends JPanel {
         if (authPanel != null) {
             authPanel.refreshUI();
         }
+        if (mockPanel != null) {
+            mockPanel.refreshUI();
+        }
         if (responsePanel != null) {
             responsePanel.refreshUI();
         }
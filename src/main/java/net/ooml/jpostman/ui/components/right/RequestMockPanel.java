@@ -0,0 +1,145 @@
+package net.ooml.jpostman.ui.components.right;
+
+import net.ooml.jpostman.model.MockResponse;
+import net.ooml.jpostman.ui.components.common.KeyValueTablePanel;
+import net.ooml.jpostman.ui.components.common.SyntaxHighlightTextPane;
+import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Request Mock Panel - Canned response served by the mock server
+ */
+public class RequestMockPanel extends JPanel {
+    private JCheckBox enabledCheckBox;
+    private JCheckBox echoCheckBox;
+    private JSpinner statusSpinner;
+    private JSpinner latencySpinner;
+    private JSpinner chunkSizeSpinner;
+    private JSpinner chunkDelaySpinner;
+    private KeyValueTablePanel headersPanel;
+    private SyntaxHighlightTextPane bodyTextPane;
+
+    public RequestMockPanel() {
+        initializeUI();
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+
+        // Top panel with response settings
+        JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+
+        enabledCheckBox = new JCheckBox("Enabled");
+        enabledCheckBox.setToolTipText("Serve this response from the mock server");
+        topPanel.add(enabledCheckBox);
+
+        topPanel.add(new JLabel("Status:"));
+        statusSpinner = new JSpinner(new SpinnerNumberModel(200, 100, 599, 1));
+        topPanel.add(statusSpinner);
+
+        topPanel.add(new JLabel("Latency (ms):"));
+        latencySpinner = new JSpinner(new SpinnerNumberModel(0L, 0L, 600_000L, 10L));
+        topPanel.add(latencySpinner);
+
+        topPanel.add(new JLabel("Chunk size:"));
+        chunkSizeSpinner = new JSpinner(new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 1024));
+        chunkSizeSpinner.setToolTipText("Bytes per chunk; 0 sends the body in one piece");
+        topPanel.add(chunkSizeSpinner);
+
+        topPanel.add(new JLabel("Chunk delay (ms):"));
+        chunkDelaySpinner = new JSpinner(new SpinnerNumberModel(0L, 0L, 60_000L, 10L));
+        topPanel.add(chunkDelaySpinner);
+
+        echoCheckBox = new JCheckBox("Echo request");
+        echoCheckBox.setToolTipText("Answer with the received method, path, headers and body");
+        topPanel.add(echoCheckBox);
+
+        add(topPanel, BorderLayout.NORTH);
+
+        // Response headers above response body
+        headersPanel = new KeyValueTablePanel();
+        bodyTextPane = new SyntaxHighlightTextPane(SyntaxConstants.SYNTAX_STYLE_JSON);
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, headersPanel, bodyTextPane);
+        splitPane.setResizeWeight(0.3);
+        add(splitPane, BorderLayout.CENTER);
+    }
+
+    /**
+     * Get the mock response, or null if none is configured
+     */
+    public MockResponse getMock() {
+        String body = bodyTextPane.getText();
+        boolean configured = enabledCheckBox.isSelected()
+                || echoCheckBox.isSelected()
+                || (body != null && !body.isEmpty())
+                || !headersPanel.getHeaders().isEmpty();
+        if (!configured) {
+            return null;
+        }
+
+        return MockResponse.builder()
+                .enabled(enabledCheckBox.isSelected())
+                .statusCode((Integer) statusSpinner.getValue())
+                .headers(headersPanel.getHeaders())
+                .body(body)
+                .latencyMs((Long) latencySpinner.getValue())
+                .chunkSize((Integer) chunkSizeSpinner.getValue())
+                .chunkDelayMs((Long) chunkDelaySpinner.getValue())
+                .echo(echoCheckBox.isSelected())
+                .build();
+    }
+
+    /**
+     * Load a mock response; null clears the panel
+     */
+    public void setMock(MockResponse mock) {
+        if (mock == null) {
+            clear();
+            return;
+        }
+
+        enabledCheckBox.setSelected(Boolean.TRUE.equals(mock.getEnabled()));
+        echoCheckBox.setSelected(Boolean.TRUE.equals(mock.getEcho()));
+        statusSpinner.setValue(mock.getStatusCode() != null ? mock.getStatusCode() : 200);
+        latencySpinner.setValue(mock.getLatencyMs() != null ? mock.getLatencyMs() : 0L);
+        chunkSizeSpinner.setValue(mock.getChunkSize() != null ? mock.getChunkSize() : 0);
+        chunkDelaySpinner.setValue(mock.getChunkDelayMs() != null ? mock.getChunkDelayMs() : 0L);
+        headersPanel.setHeaders(mock.getHeaders());
+        bodyTextPane.setText(mock.getBody() != null ? mock.getBody() : "");
+    }
+
+    /**
+     * Clear panel
+     */
+    public void clear() {
+        enabledCheckBox.setSelected(false);
+        echoCheckBox.setSelected(false);
+        statusSpinner.setValue(200);
+        latencySpinner.setValue(0L);
+        chunkSizeSpinner.setValue(0);
+        chunkDelaySpinner.setValue(0L);
+        headersPanel.clear();
+        bodyTextPane.clear();
+    }
+
+    /**
+     * Update theme for syntax highlighting
+     */
+    public void updateTheme() {
+        if (bodyTextPane != null) {
+            bodyTextPane.updateTheme();
+        }
+    }
+
+    /**
+     * Refresh UI after language change
+     */
+    public void refreshUI() {
+        // Mock panel doesn't have localized text
+        revalidate();
+        repaint();
+    }
+}
@@ -1,33 +1,56 @@
 package net.ooml.jpostman.ui.components.right;
 
+import net.ooml.jpostman.model.ByteCounts;
 import net.ooml.jpostman.model.Request;
 import net.ooml.jpostman.model.Response;
+import net.ooml.jpostman.model.enums.CacheStatus;
+import net.ooml.jpostman.ui.components.common.LargeTextViewer;
 import net.ooml.jpostman.ui.components.common.SyntaxHighlightTextPane;
 import net.ooml.jpostman.util.CurlGenerator;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.StringSelection;
+import java.io.IOException;
 
 /**
  * Response Panel - Display HTTP response
  */
 public class ResponsePanel extends JPanel {
+    private static final Logger log = LoggerFactory.getLogger(ResponsePanel.class);
+
     private JLabel statusLabel;
     private JLabel durationLabel;
     private JLabel sizeLabel;
+    private JLabel cacheLabel;
     private SyntaxHighlightTextPane responseBodyPane;
+    private LargeTextViewer largeBodyViewer;
+    private JPanel bodyCardPanel;
+    private CardLayout bodyCardLayout;
     private JTable responseHeadersTable;
     private javax.swing.table.DefaultTableModel responseHeadersTableModel;
     private JTextArea requestInfoArea;
+    private TimingWaterfallPanel timingPanel;
     private JTabbedPane tabbedPane;
     private JButton formatButton;
 
+    // Body cards: in-memory text pane or large-file viewer for bodies stored on disk
+    private static final String CARD_TEXT = "text";
+    private static final String CARD_LARGE = "large";
+
+    // Characters sampled from a body on disk to detect its syntax
+    private static final int SYNTAX_SAMPLE_CHARS = 4096;
+
     // Store current request for request details
     private Request currentRequest;
 
+    // Current response, kept so its body file can be released when replaced
+    private Response currentResponse;
+
     public ResponsePanel() {
         initializeUI();
     }
@@ -51,6 +74,13 @@ public class ResponsePanel extends JPanel {
         statusPanel.add(sizeLabel);
         statusPanel.add(Box.createHorizontalStrut(20));
 
+        // Only shown for responses served from the HTTP cache
+        cacheLabel = new JLabel();
+        cacheLabel.setForeground(new Color(0, 102, 204));
+        cacheLabel.setVisible(false);
+        statusPanel.add(cacheLabel);
+        statusPanel.add(Box.createHorizontalStrut(20));
+
         // Format button
         formatButton = new JButton("Format");
         formatButton.setToolTipText("Format and beautify response");
@@ -66,7 +96,15 @@ public class ResponsePanel extends JPanel {
         // Body tab with syntax highlighting
         responseBodyPane = new SyntaxHighlightTextPane(SyntaxConstants.SYNTAX_STYLE_JSON);
         responseBodyPane.setEditable(false);
-        tabbedPane.addTab("Body", responseBodyPane);
+
+        // Large bodies stored on disk are shown by the virtualized viewer
+        largeBodyViewer = new LargeTextViewer();
+
+        bodyCardLayout = new CardLayout();
+        bodyCardPanel = new JPanel(bodyCardLayout);
+        bodyCardPanel.add(responseBodyPane, CARD_TEXT);
+        bodyCardPanel.add(largeBodyViewer, CARD_LARGE);
+        tabbedPane.addTab("Body", bodyCardPanel);
 
         // Headers tab with table
         responseHeadersTableModel = new javax.swing.table.DefaultTableModel(
@@ -89,6 +127,10 @@ public class ResponsePanel extends JPanel {
         JScrollPane requestScrollPane = new JScrollPane(requestInfoArea);
         tabbedPane.addTab("Request", requestScrollPane);
 
+        // Timing tab - per-phase waterfall
+        timingPanel = new TimingWaterfallPanel();
+        tabbedPane.addTab("Timing", new JScrollPane(timingPanel));
+
         add(tabbedPane, BorderLayout.CENTER);
     }
 
@@ -106,6 +148,13 @@ public class ResponsePanel extends JPanel {
         // Store the request for cURL generation
         this.currentRequest = request;
 
+        // Let go of the body file of the previous response: viewer first, then the file
+        largeBodyViewer.close();
+        if (currentResponse != null && currentResponse != response) {
+            currentResponse.releaseBody();
+        }
+        this.currentResponse = response;
+
         if (response == null) {
             clear();
             return;
@@ -129,22 +178,31 @@ public class ResponsePanel extends JPanel {
                 response.getDuration() != null ? response.getDuration() : 0));
 
         // Update size
-        sizeLabel.setText(String.format("Size: %d bytes",
-                response.getSize() != null ? response.getSize() : 0));
-
-        // Detect content type and set syntax highlighting
-        String contentType = getContentType(response);
-        String syntaxStyle = detectSyntaxStyle(contentType, response.getBody());
-        responseBodyPane.setSyntaxStyle(syntaxStyle);
+        sizeLabel.setText(formatSize(response));
+        sizeLabel.setToolTipText(formatByteCounts(response.getByteCounts()));
 
-        // Enable format button for JSON/XML
-        formatButton.setEnabled(
-                SyntaxConstants.SYNTAX_STYLE_JSON.equals(syntaxStyle) ||
-                SyntaxConstants.SYNTAX_STYLE_XML.equals(syntaxStyle)
-        );
+        // Update cache indicator
+        updateCacheLabel(response.getCacheStatus());
 
         // Update body
-        responseBodyPane.setText(response.getBody() != null ? response.getBody() : "");
+        if (response.isBodyInFile()) {
+            displayFileBody(response);
+        } else {
+            String body = response.getBody();
+
+            // Detect content type and set syntax highlighting
+            String syntaxStyle = detectSyntaxStyle(getContentType(response), body);
+            responseBodyPane.setSyntaxStyle(syntaxStyle);
+
+            // Enable format button for JSON/XML
+            formatButton.setEnabled(
+                    SyntaxConstants.SYNTAX_STYLE_JSON.equals(syntaxStyle) ||
+                    SyntaxConstants.SYNTAX_STYLE_XML.equals(syntaxStyle)
+            );
+
+            responseBodyPane.setText(body != null ? body : "");
+            bodyCardLayout.show(bodyCardPanel, CARD_TEXT);
+        }
 
         // Update headers table
         responseHeadersTableModel.setRowCount(0); // Clear existing rows
@@ -157,6 +215,9 @@ public class ResponsePanel extends JPanel {
             }
         }
 
+        // Update timing breakdown
+        timingPanel.setTimings(response.getTimings());
+
         // Update request info
         if (request != null) {
             displayRequestInfo(request);
@@ -165,6 +226,27 @@ public class ResponsePanel extends JPanel {
         }
     }
 
+    /**
+     * Display a body stored on disk in the large-file viewer, which reads only the lines in view
+     * Formatting is disabled since the body is never loaded as a whole
+     */
+    private void displayFileBody(Response response) {
+        formatButton.setEnabled(false);
+
+        try {
+            String sample = response.getBodyHandle().getPreview(SYNTAX_SAMPLE_CHARS);
+            String syntaxStyle = detectSyntaxStyle(getContentType(response), sample);
+            largeBodyViewer.open(response.getBodyHandle().getFile(),
+                    response.getBodyHandle().getCharset(), syntaxStyle);
+            bodyCardLayout.show(bodyCardPanel, CARD_LARGE);
+        } catch (IOException e) {
+            log.error("Failed to open response body file", e);
+            responseBodyPane.setSyntaxStyle(SyntaxConstants.SYNTAX_STYLE_NONE);
+            responseBodyPane.setText("[Failed to read response body: " + e.getMessage() + "]");
+            bodyCardLayout.show(bodyCardPanel, CARD_TEXT);
+        }
+    }
+
     /**
      * Get Content-Type from response headers
      */
@@ -263,6 +345,47 @@ public class ResponsePanel extends JPanel {
         requestInfoArea.setCaretPosition(0);
     }
 
+    /**
+     * Format the decoded size, with the size on the wire for encoded bodies
+     */
+    private static String formatSize(Response response) {
+        long size = response.getSize() != null ? response.getSize() : 0;
+        String text = String.format("Size: %d bytes", size);
+        if (response.getContentEncoding() != null && response.getWireSize() != null) {
+            text += String.format(" (%d bytes %s)", response.getWireSize(), response.getContentEncoding());
+        }
+        return text;
+    }
+
+    private void updateCacheLabel(CacheStatus cacheStatus) {
+        cacheLabel.setVisible(cacheStatus != null);
+        if (cacheStatus == CacheStatus.HIT) {
+            cacheLabel.setText(cacheStatus.getDisplayName());
+            cacheLabel.setToolTipText("Served from the disk cache without contacting the server");
+        } else if (cacheStatus == CacheStatus.REVALIDATED) {
+            cacheLabel.setText(cacheStatus.getDisplayName());
+            cacheLabel.setToolTipText("The server answered 304 Not Modified; the body is the cached one");
+        }
+    }
+
+    /**
+     * Format the bytes counted on the wire as a tooltip, or null if not counted
+     */
+    private static String formatByteCounts(ByteCounts bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        return "<html><table cellpadding=0>"
+                + "<tr><td><b>Sent</b></td><td align=right>" + bytes.getBytesSent() + " bytes</td></tr>"
+                + "<tr><td>&nbsp;&nbsp;Headers</td><td align=right>" + bytes.getRequestHeaderBytes() + "</td></tr>"
+                + "<tr><td>&nbsp;&nbsp;Body</td><td align=right>" + bytes.getRequestBodyBytes() + "</td></tr>"
+                + "<tr><td><b>Received</b></td><td align=right>" + bytes.getBytesReceived() + " bytes</td></tr>"
+                + "<tr><td>&nbsp;&nbsp;Headers</td><td align=right>" + bytes.getResponseHeaderBytes() + "</td></tr>"
+                + "<tr><td>&nbsp;&nbsp;Body</td><td align=right>" + bytes.getResponseBodyBytes() + "</td></tr>"
+                + "<tr><td>&nbsp;&nbsp;Body decoded</td><td align=right>" + bytes.getDecodedBodyBytes() + "</td></tr>"
+                + "</table></html>";
+    }
+
     /**
      * Clear response
      */
@@ -271,10 +394,19 @@ public class ResponsePanel extends JPanel {
         statusLabel.setForeground(UIManager.getColor("Label.foreground"));
         durationLabel.setText("Time: -");
         sizeLabel.setText("Size: -");
+        sizeLabel.setToolTipText(null);
+        updateCacheLabel(null);
         responseBodyPane.clear();
+        largeBodyViewer.close();
+        bodyCardLayout.show(bodyCardPanel, CARD_TEXT);
         responseHeadersTableModel.setRowCount(0);
         requestInfoArea.setText("");
+        timingPanel.clear();
         currentRequest = null;
+        if (currentResponse != null) {
+            currentResponse.releaseBody();
+            currentResponse = null;
+        }
         formatButton.setEnabled(false);
     }
 
@@ -285,6 +417,9 @@ public class ResponsePanel extends JPanel {
         if (responseBodyPane != null) {
             responseBodyPane.updateTheme();
         }
+        if (largeBodyViewer != null) {
+            largeBodyViewer.updateTheme();
+        }
     }
 
     /**
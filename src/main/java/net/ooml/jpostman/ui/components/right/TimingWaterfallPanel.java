@@ -0,0 +1,121 @@
+package net.ooml.jpostman.ui.components.right;
+
+import net.ooml.jpostman.model.ResponseTimings;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Timing Waterfall Panel - Draws the per-phase timing breakdown of a response
+ */
+public class TimingWaterfallPanel extends JPanel {
+    private static final int ROW_HEIGHT = 24;
+    private static final int LABEL_WIDTH = 130;
+    private static final int VALUE_WIDTH = 90;
+    private static final int PADDING = 10;
+
+    private static final String[] PHASE_NAMES = {
+            "Queued", "DNS Lookup", "TCP Connect", "TLS Handshake",
+            "Request Sent", "Waiting (TTFB)", "Content Download"
+    };
+
+    private static final Color[] PHASE_COLORS = {
+            new Color(150, 150, 150),
+            new Color(0, 150, 136),
+            new Color(255, 152, 0),
+            new Color(156, 39, 176),
+            new Color(33, 150, 243),
+            new Color(76, 175, 80),
+            new Color(3, 169, 244)
+    };
+
+    private ResponseTimings timings;
+
+    public TimingWaterfallPanel() {
+        setBorder(BorderFactory.createEmptyBorder(PADDING, PADDING, PADDING, PADDING));
+    }
+
+    /**
+     * Set timings to display
+     */
+    public void setTimings(ResponseTimings timings) {
+        this.timings = timings;
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Clear timings
+     */
+    public void clear() {
+        setTimings(null);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(LABEL_WIDTH + VALUE_WIDTH + 200,
+                PADDING * 2 + ROW_HEIGHT * (PHASE_NAMES.length + 2));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        g2.setColor(UIManager.getColor("Label.foreground"));
+
+        if (timings == null) {
+            g2.drawString("No timing information", PADDING, PADDING + ROW_HEIGHT / 2);
+            g2.dispose();
+            return;
+        }
+
+        long[] phases = {
+                timings.getQueueNanos(), timings.getDnsNanos(), timings.getConnectNanos(),
+                timings.getTlsNanos(), timings.getRequestWriteNanos(),
+                timings.getFirstByteNanos(), timings.getDownloadNanos()
+        };
+
+        long total = Math.max(1, timings.getTotalNanos());
+        int barAreaX = PADDING + LABEL_WIDTH;
+        int barAreaWidth = Math.max(50, getWidth() - barAreaX - VALUE_WIDTH - PADDING);
+        FontMetrics metrics = g2.getFontMetrics();
+
+        long offset = 0;
+        for (int i = 0; i < phases.length; i++) {
+            int y = PADDING + i * ROW_HEIGHT;
+            int textY = y + (ROW_HEIGHT + metrics.getAscent()) / 2 - 2;
+
+            g2.setColor(UIManager.getColor("Label.foreground"));
+            g2.drawString(PHASE_NAMES[i], PADDING, textY);
+            g2.drawString(formatNanos(phases[i]), barAreaX + barAreaWidth + PADDING, textY);
+
+            int x = barAreaX + (int) (barAreaWidth * offset / total);
+            int width = Math.max(phases[i] > 0 ? 2 : 0, (int) (barAreaWidth * phases[i] / total));
+            g2.setColor(PHASE_COLORS[i]);
+            g2.fillRect(x, y + 5, width, ROW_HEIGHT - 10);
+
+            offset += phases[i];
+        }
+
+        int summaryY = PADDING + phases.length * ROW_HEIGHT + (ROW_HEIGHT + metrics.getAscent()) / 2;
+        g2.setColor(UIManager.getColor("Label.foreground"));
+        g2.drawString("Total", PADDING, summaryY);
+        g2.drawString(formatNanos(timings.getTotalNanos()), barAreaX + barAreaWidth + PADDING, summaryY);
+        if (timings.isConnectionReused()) {
+            g2.setColor(Color.GRAY);
+            g2.drawString("(connection reused)", barAreaX, summaryY);
+        }
+
+        g2.dispose();
+    }
+
+    /**
+     * Format nanoseconds as milliseconds with microsecond precision
+     */
+    private String formatNanos(long nanos) {
+        return String.format("%.3f ms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,180 @@
+package net.ooml.jpostman.ui.dialogs;
+
+import net.ooml.jpostman.model.ClientProfile;
+import net.ooml.jpostman.model.enums.CacheMode;
+import net.ooml.jpostman.model.enums.ExecutionMode;
+import net.ooml.jpostman.model.enums.HttpProtocol;
+import net.ooml.jpostman.service.http.ExecutionBackend;
+import net.ooml.jpostman.ui.i18n.I18nManager;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Dialog for editing the HTTP client profile of a project
+ */
+public class ClientProfileDialog extends JDialog {
+
+    private JSpinner maxIdleSpinner;
+    private JSpinner keepAliveSpinner;
+    private JSpinner maxRequestsSpinner;
+    private JSpinner maxRequestsPerHostSpinner;
+    private JComboBox<HttpProtocol> protocolComboBox;
+    private JComboBox<ExecutionMode> executionModeComboBox;
+    private JSpinner workerThreadsSpinner;
+    private JSpinner connectTimeoutSpinner;
+    private JSpinner readTimeoutSpinner;
+    private JSpinner writeTimeoutSpinner;
+    private JSpinner callTimeoutSpinner;
+    private JSpinner dnsTtlSpinner;
+    private JSpinner dnsNegativeTtlSpinner;
+    private JComboBox<CacheMode> cacheModeComboBox;
+    private JCheckBox followRedirectsCheckBox;
+    private JCheckBox validateSslCheckBox;
+
+    private ClientProfile result;
+
+    public ClientProfileDialog(Frame parent, ClientProfile profile) {
+        super(parent, I18nManager.get("dialog.client_profile.title"), true);
+        initializeUI();
+        load(profile);
+    }
+
+    /**
+     * Show the dialog and return the edited profile, or null if cancelled
+     */
+    public ClientProfile showDialog() {
+        setVisible(true);
+        return result;
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+
+        JPanel formPanel = new JPanel(new GridBagLayout());
+        formPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 5, 10));
+
+        maxIdleSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 10_000, 1));
+        keepAliveSpinner = new JSpinner(new SpinnerNumberModel(1L, 1L, 86_400_000L, 1000L));
+        maxRequestsSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 100_000, 1));
+        maxRequestsPerHostSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 100_000, 1));
+        protocolComboBox = new JComboBox<>(HttpProtocol.values());
+        executionModeComboBox = new JComboBox<>(ExecutionMode.values());
+        if (!ExecutionBackend.isVirtualThreadSupported()) {
+            executionModeComboBox.setToolTipText(I18nManager.get("dialog.client_profile.virtual_unsupported"));
+        }
+        workerThreadsSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 10_000, 1));
+        connectTimeoutSpinner = timeoutSpinner();
+        readTimeoutSpinner = timeoutSpinner();
+        writeTimeoutSpinner = timeoutSpinner();
+        callTimeoutSpinner = timeoutSpinner();
+        dnsTtlSpinner = new JSpinner(new SpinnerNumberModel(0L, 0L, 86_400_000L, 1000L));
+        dnsNegativeTtlSpinner = new JSpinner(new SpinnerNumberModel(0L, 0L, 86_400_000L, 1000L));
+        cacheModeComboBox = new JComboBox<>(CacheMode.values());
+        followRedirectsCheckBox = new JCheckBox(I18nManager.get("dialog.settings.followRedirects"));
+        validateSslCheckBox = new JCheckBox(I18nManager.get("dialog.settings.validateSSL"));
+
+        int row = 0;
+        addRow(formPanel, row++, "dialog.client_profile.max_idle", maxIdleSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.keep_alive", keepAliveSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.max_requests", maxRequestsSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.max_requests_per_host", maxRequestsPerHostSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.protocol", protocolComboBox);
+        addRow(formPanel, row++, "dialog.client_profile.execution_mode", executionModeComboBox);
+        addRow(formPanel, row++, "dialog.client_profile.worker_threads", workerThreadsSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.connect_timeout", connectTimeoutSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.read_timeout", readTimeoutSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.write_timeout", writeTimeoutSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.call_timeout", callTimeoutSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.dns_ttl", dnsTtlSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.dns_negative_ttl", dnsNegativeTtlSpinner);
+        addRow(formPanel, row++, "dialog.client_profile.cache_mode", cacheModeComboBox);
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridx = 1;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.insets = new Insets(3, 3, 3, 3);
+        gbc.gridy = row++;
+        formPanel.add(followRedirectsCheckBox, gbc);
+        gbc.gridy = row;
+        formPanel.add(validateSslCheckBox, gbc);
+
+        add(formPanel, BorderLayout.CENTER);
+
+        // Button panel
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+
+        JButton okButton = new JButton(I18nManager.get("button.ok"));
+        okButton.addActionListener(e -> onOk());
+        buttonPanel.add(okButton);
+
+        JButton cancelButton = new JButton(I18nManager.get("button.cancel"));
+        cancelButton.addActionListener(e -> dispose());
+        buttonPanel.add(cancelButton);
+
+        add(buttonPanel, BorderLayout.SOUTH);
+        getRootPane().setDefaultButton(okButton);
+
+        pack();
+        setLocationRelativeTo(getParent());
+    }
+
+    private static JSpinner timeoutSpinner() {
+        return new JSpinner(new SpinnerNumberModel(0, 0, 3_600_000, 1000));
+    }
+
+    private static void addRow(JPanel panel, int row, String labelKey, JComponent field) {
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(3, 3, 3, 3);
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        panel.add(new JLabel(I18nManager.get(labelKey)), gbc);
+
+        gbc.gridx = 1;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.weightx = 1;
+        panel.add(field, gbc);
+    }
+
+    private void load(ClientProfile profile) {
+        maxIdleSpinner.setValue(profile.getMaxIdleConnections());
+        keepAliveSpinner.setValue(profile.getKeepAliveMs());
+        maxRequestsSpinner.setValue(profile.getMaxRequests());
+        maxRequestsPerHostSpinner.setValue(profile.getMaxRequestsPerHost());
+        protocolComboBox.setSelectedItem(profile.getProtocol());
+        executionModeComboBox.setSelectedItem(profile.getExecutionMode());
+        workerThreadsSpinner.setValue(profile.getWorkerThreads());
+        connectTimeoutSpinner.setValue(profile.getConnectTimeoutMs());
+        readTimeoutSpinner.setValue(profile.getReadTimeoutMs());
+        writeTimeoutSpinner.setValue(profile.getWriteTimeoutMs());
+        callTimeoutSpinner.setValue(profile.getCallTimeoutMs());
+        dnsTtlSpinner.setValue(profile.getDnsTtlMs());
+        dnsNegativeTtlSpinner.setValue(profile.getDnsNegativeTtlMs());
+        cacheModeComboBox.setSelectedItem(profile.getCacheMode());
+        followRedirectsCheckBox.setSelected(Boolean.TRUE.equals(profile.getFollowRedirects()));
+        validateSslCheckBox.setSelected(Boolean.TRUE.equals(profile.getValidateSSL()));
+    }
+
+    private void onOk() {
+        result = ClientProfile.builder()
+                .maxIdleConnections((Integer) maxIdleSpinner.getValue())
+                .keepAliveMs((Long) keepAliveSpinner.getValue())
+                .maxRequests((Integer) maxRequestsSpinner.getValue())
+                .maxRequestsPerHost((Integer) maxRequestsPerHostSpinner.getValue())
+                .protocol((HttpProtocol) protocolComboBox.getSelectedItem())
+                .executionMode((ExecutionMode) executionModeComboBox.getSelectedItem())
+                .workerThreads((Integer) workerThreadsSpinner.getValue())
+                .connectTimeoutMs((Integer) connectTimeoutSpinner.getValue())
+                .readTimeoutMs((Integer) readTimeoutSpinner.getValue())
+                .writeTimeoutMs((Integer) writeTimeoutSpinner.getValue())
+                .callTimeoutMs((Integer) callTimeoutSpinner.getValue())
+                .dnsTtlMs((Long) dnsTtlSpinner.getValue())
+                .dnsNegativeTtlMs((Long) dnsNegativeTtlSpinner.getValue())
+                .cacheMode((CacheMode) cacheModeComboBox.getSelectedItem())
+                .followRedirects(followRedirectsCheckBox.isSelected())
+                .validateSSL(validateSslCheckBox.isSelected())
+                .build();
+        dispose();
+    }
+}
@@ -0,0 +1,192 @@
+package net.ooml.jpostman.ui.dialogs;
+
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.service.mock.MockServer;
+import net.ooml.jpostman.ui.MainFrame;
+import net.ooml.jpostman.ui.i18n.I18nManager;
+import net.ooml.jpostman.util.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Dialog for serving the mock responses of a collection
+ * The server keeps running after the dialog is closed.
+ */
+public class MockServerDialog extends JDialog {
+    private static final Logger log = LoggerFactory.getLogger(MockServerDialog.class);
+
+    private static final int DEFAULT_PORT = 8089;
+    private static final int STATS_REFRESH_MS = 1000;
+
+    private final MainFrame mainFrame;
+    private final MockServer mockServer;
+
+    private JComboBox<Collection> collectionComboBox;
+    private JSpinner portSpinner;
+    private JButton startStopButton;
+    private JLabel statusLabel;
+    private JLabel statsLabel;
+    private Timer statsTimer;
+
+    public MockServerDialog(MainFrame mainFrame, MockServer mockServer) {
+        super(mainFrame, I18nManager.get("dialog.mock_server.title"), false);
+        this.mainFrame = mainFrame;
+        this.mockServer = mockServer;
+        initializeUI();
+        loadCollections();
+        updateState();
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+        setSize(520, 200);
+        setLocationRelativeTo(getParent());
+
+        // Form: collection and port
+        JPanel formPanel = new JPanel(new GridBagLayout());
+        formPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 5, 10));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(3, 3, 3, 3);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        formPanel.add(new JLabel(I18nManager.get("dialog.mock_server.collection")), gbc);
+
+        collectionComboBox = new JComboBox<>();
+        collectionComboBox.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (value instanceof Collection) {
+                    setText(((Collection) value).getName());
+                }
+                return this;
+            }
+        });
+        gbc.gridx = 1;
+        gbc.weightx = 1;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        formPanel.add(collectionComboBox, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        gbc.weightx = 0;
+        gbc.fill = GridBagConstraints.NONE;
+        formPanel.add(new JLabel(I18nManager.get("dialog.mock_server.port")), gbc);
+
+        portSpinner = new JSpinner(new SpinnerNumberModel(DEFAULT_PORT, 0, 65535, 1));
+        portSpinner.setEditor(new JSpinner.NumberEditor(portSpinner, "#"));
+        gbc.gridx = 1;
+        formPanel.add(portSpinner, gbc);
+
+        add(formPanel, BorderLayout.NORTH);
+
+        // Status and throughput counters
+        JPanel statusPanel = new JPanel(new GridLayout(2, 1));
+        statusPanel.setBorder(BorderFactory.createEmptyBorder(0, 13, 0, 13));
+        statusLabel = new JLabel();
+        statsLabel = new JLabel();
+        statsLabel.setForeground(Color.GRAY);
+        statusPanel.add(statusLabel);
+        statusPanel.add(statsLabel);
+        add(statusPanel, BorderLayout.CENTER);
+
+        // Button panel
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+
+        startStopButton = new JButton();
+        startStopButton.addActionListener(e -> onStartStop());
+        buttonPanel.add(startStopButton);
+
+        JButton closeButton = new JButton(I18nManager.get("common.close"));
+        closeButton.addActionListener(e -> dispose());
+        buttonPanel.add(closeButton);
+
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        statsTimer = new Timer(STATS_REFRESH_MS, e -> updateStats());
+        statsTimer.start();
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                statsTimer.stop();
+            }
+        });
+    }
+
+    private void loadCollections() {
+        try {
+            List<Collection> collections = mainFrame.getStorageService()
+                    .loadAllCollections(mainFrame.getCurrentProject());
+            for (Collection collection : collections) {
+                collectionComboBox.addItem(collection);
+            }
+        } catch (IOException e) {
+            log.error("Failed to load collections", e);
+        }
+    }
+
+    private void onStartStop() {
+        if (mockServer.isRunning()) {
+            mockServer.stop();
+            mockServer.clearRoutes();
+            updateState();
+            return;
+        }
+
+        Collection collection = (Collection) collectionComboBox.getSelectedItem();
+        if (collection == null) {
+            return;
+        }
+
+        try {
+            // Reload so mocks saved since the dialog opened are served
+            collection = mainFrame.getStorageService()
+                    .loadCollection(mainFrame.getCurrentProject(), collection.getId());
+            mockServer.clearRoutes();
+            mockServer.mount(collection);
+            mockServer.start((Integer) portSpinner.getValue());
+        } catch (IOException e) {
+            log.error("Failed to start mock server", e);
+            mainFrame.showError(I18nManager.get("error.mock_server_failed") + ": " + e.getMessage());
+        }
+        updateState();
+    }
+
+    private void updateState() {
+        boolean running = mockServer.isRunning();
+        collectionComboBox.setEnabled(!running);
+        portSpinner.setEnabled(!running);
+        startStopButton.setText(I18nManager.get(running ? "dialog.mock_server.stop" : "dialog.mock_server.start"));
+        startStopButton.setEnabled(running || collectionComboBox.getItemCount() > 0);
+        if (running) {
+            statusLabel.setText(I18nManager.get("dialog.mock_server.running",
+                    mockServer.getBaseUrl(), mockServer.getRouteCount()));
+        } else {
+            statusLabel.setText(I18nManager.get("dialog.mock_server.stopped"));
+        }
+        updateStats();
+    }
+
+    private void updateStats() {
+        if (!mockServer.isRunning()) {
+            statsLabel.setText(" ");
+            return;
+        }
+        MockServer.Stats stats = mockServer.getStats();
+        statsLabel.setText(I18nManager.get("dialog.mock_server.stats",
+                stats.getRequests(),
+                stats.getUnmatched(),
+                String.format("%.1f", stats.getRequestsPerSecond()),
+                StringUtil.formatFileSize(stats.getBytesSent())));
+    }
+}
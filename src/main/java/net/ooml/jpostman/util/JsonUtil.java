@@ -2,8 +2,8 @@ package net.ooml.jpostman.util;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import net.ooml.jpostman.service.storage.JsonSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,21 +13,8 @@ import org.slf4j.LoggerFactory;
 public class JsonUtil {
     private static final Logger log = LoggerFactory.getLogger(JsonUtil.class);
 
-    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
-
-    /**
-     * Create configured ObjectMapper
-     */
-    private static ObjectMapper createObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        // Register Java 8 date/time module
-        mapper.registerModule(new JavaTimeModule());
-        // Disable writing dates as timestamps
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        // Enable pretty printing
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-        return mapper;
-    }
+    private static final ObjectMapper OBJECT_MAPPER = JsonSerializer.getObjectMapper();
+    private static final ObjectWriter PRETTY_WRITER = JsonSerializer.writerFor(Object.class);
 
     /**
      * Get the shared ObjectMapper instance
@@ -53,8 +40,7 @@ public class JsonUtil {
      */
     public static String toPrettyJson(Object obj) {
         try {
-            return OBJECT_MAPPER.writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(obj);
+            return PRETTY_WRITER.writeValueAsString(obj);
         } catch (JsonProcessingException e) {
             log.error("Failed to convert object to pretty JSON", e);
             return null;
@@ -82,8 +68,7 @@ public class JsonUtil {
         }
         try {
             Object obj = OBJECT_MAPPER.readValue(json, Object.class);
-            return OBJECT_MAPPER.writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(obj);
+            return PRETTY_WRITER.writeValueAsString(obj);
         } catch (JsonProcessingException e) {
             log.error("Failed to format JSON", e);
             return json;
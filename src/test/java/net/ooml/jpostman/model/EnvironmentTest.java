@@ -0,0 +1,43 @@
+package net.ooml.jpostman.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvironmentTest {
+
+    @Test
+    void lookupFollowsVariablesAddedThroughTheList() {
+        Environment environment = Environment.createNew("Test");
+        assertNull(environment.getVariableValue("token"));
+
+        environment.getVariables().add(Variable.builder().key("token").value("abc").build());
+
+        assertEquals("abc", environment.getVariableValue("token"));
+    }
+
+    @Test
+    void lookupFollowsKeyChanges() {
+        Environment environment = Environment.createNew("Test");
+        environment.setVariable("old", "value");
+        assertEquals("value", environment.getVariableValue("old"));
+
+        environment.getVariables().get(0).setKey("renamed");
+
+        assertNull(environment.getVariableValue("old"));
+        assertEquals("value", environment.getVariableValue("renamed"));
+    }
+
+    @Test
+    void lookupFollowsEnabledChanges() {
+        Environment environment = Environment.createNew("Test");
+        environment.setVariable("token", "abc");
+        Variable token = environment.getVariables().get(0);
+
+        token.setEnabled(false);
+        assertNull(environment.getVariableValue("token"));
+
+        token.setEnabled(true);
+        assertEquals("abc", environment.getVariableValue("token"));
+    }
+}
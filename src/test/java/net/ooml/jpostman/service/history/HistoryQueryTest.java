@@ -0,0 +1,66 @@
+package net.ooml.jpostman.service.history;
+
+import net.ooml.jpostman.model.enums.HttpMethod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryQueryTest {
+
+    @Test
+    void parsesFiltersAndTerms() {
+        HistoryQuery query = HistoryQuery.parse("status:5xx method:post url:/orders timeout refused");
+
+        assertEquals(500, query.getStatusMin());
+        assertEquals(599, query.getStatusMax());
+        assertEquals(HttpMethod.POST, query.getMethod());
+        assertEquals("/orders", query.getUrlContains());
+        assertEquals(List.of("timeout", "refused"), query.getTerms());
+    }
+
+    @Test
+    void parsesStatusRangesAndSingleCodes() {
+        HistoryQuery range = HistoryQuery.parse("status:400-499");
+        assertEquals(400, range.getStatusMin());
+        assertEquals(499, range.getStatusMax());
+
+        HistoryQuery single = HistoryQuery.parse("status:404");
+        assertEquals(404, single.getStatusMin());
+        assertEquals(404, single.getStatusMax());
+    }
+
+    @Test
+    void greaterAndLessThanAreExclusive() {
+        assertEquals(501L, HistoryQuery.parse("duration:>500").getMinDuration());
+        assertEquals(99L, HistoryQuery.parse("duration:<100").getMaxDuration());
+    }
+
+    @Test
+    void orEqualAndRangesAreInclusive() {
+        assertEquals(500L, HistoryQuery.parse("duration:>=500").getMinDuration());
+        assertEquals(100L, HistoryQuery.parse("duration:<=100").getMaxDuration());
+
+        HistoryQuery range = HistoryQuery.parse("duration:100-500");
+        assertEquals(100L, range.getMinDuration());
+        assertEquals(500L, range.getMaxDuration());
+    }
+
+    @Test
+    void sinceIsRelativeToNow() {
+        LocalDateTime before = LocalDateTime.now().minusHours(1);
+        LocalDateTime from = HistoryQuery.parse("since:1h").getFrom();
+
+        assertFalse(from.isBefore(before));
+        assertTrue(from.isBefore(LocalDateTime.now()));
+    }
+
+    @Test
+    void rejectsInvalidFilters() {
+        assertThrows(IllegalArgumentException.class, () -> HistoryQuery.parse("duration:fast"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryQuery.parse("since:1y"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryQuery.parse("method:FETCH"));
+    }
+}
@@ -0,0 +1,121 @@
+package net.ooml.jpostman.service.history;
+
+import net.ooml.jpostman.model.HistoryRecord;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.RequestBody;
+import net.ooml.jpostman.model.Response;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private HistoryStore store;
+
+    @BeforeEach
+    void open() throws Exception {
+        store = new HistoryStore(directory, 100);
+    }
+
+    @AfterEach
+    void close() {
+        store.close();
+    }
+
+    @Test
+    void recordsUrlAndBodyAsSent() throws Exception {
+        Request request = Request.createNew("Create", HttpMethod.POST);
+        request.setUrl("{{baseUrl}}/items");
+        request.setBody(RequestBody.createJson("{\"id\":\"{{id}}\"}"));
+        VariableSnapshot variables = VariableSnapshot.EMPTY
+                .withLocal("baseUrl", "http://api.test")
+                .withLocal("id", "42");
+
+        assertTrue(store.record(request, variables, response(201, 15, "created"), "editor"));
+        HistoryRecord record = store.loadRecent(1).get(0);
+
+        assertEquals("http://api.test/items", record.getUrl());
+        assertEquals("{{baseUrl}}/items", record.getUrlTemplate());
+        assertEquals("{\"id\":\"42\"}", Files.readString(store.getBodyFile(record.getRequestBodyHash())));
+        assertEquals("created", Files.readString(store.getBodyFile(record.getResponseBodyHash())));
+    }
+
+    @Test
+    void bodyIsNotRecordedForMethodsSentWithoutOne() throws Exception {
+        Request request = Request.createNew("Get", HttpMethod.GET);
+        request.setUrl("http://api.test/items");
+        request.setBody(RequestBody.createJson("{\"ignored\":true}"));
+
+        store.record(request, VariableSnapshot.EMPTY, response(200, 5, "[]"), "editor");
+        HistoryRecord record = store.loadRecent(1).get(0);
+
+        assertNull(record.getRequestBodyHash());
+        assertNull(record.getUrlTemplate());
+    }
+
+    @Test
+    void loadsRecentRecordsNewestFirst() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            store.record(get("http://api.test/items/" + i), VariableSnapshot.EMPTY, response(200, i, "{}"), "runner");
+        }
+
+        List<HistoryRecord> recent = store.loadRecent(2);
+
+        assertEquals(2, recent.size());
+        assertEquals("http://api.test/items/4", recent.get(0).getUrl());
+        assertEquals("http://api.test/items/3", recent.get(1).getUrl());
+    }
+
+    @Test
+    void searchesByStatusDurationUrlAndBody() throws Exception {
+        store.record(get("http://api.test/orders/1"), VariableSnapshot.EMPTY, response(200, 100, "ok"), "editor");
+        store.record(get("http://api.test/orders/2"), VariableSnapshot.EMPTY, response(500, 500, "boom"), "editor");
+        store.record(get("http://api.test/users/1"), VariableSnapshot.EMPTY, response(503, 900, "down"), "editor");
+        store.flush();
+
+        assertEquals(2, store.search(HistoryQuery.parse("status:5xx")).size());
+        assertEquals(1, store.search(HistoryQuery.parse("status:5xx url:/orders")).size());
+        assertEquals(1, store.search(HistoryQuery.parse("duration:>500")).size());
+        assertEquals(2, store.search(HistoryQuery.parse("duration:>=500")).size());
+        assertEquals(1, store.search(HistoryQuery.parse("duration:<500")).size());
+        assertEquals("http://api.test/orders/2", store.search(HistoryQuery.parse("boom")).get(0).getUrl());
+    }
+
+    @Test
+    void recordsSurviveReopening() throws Exception {
+        store.record(get("http://api.test/persisted"), VariableSnapshot.EMPTY, response(200, 1, "{}"), "editor");
+        store.close();
+
+        store = new HistoryStore(directory, 100);
+
+        assertEquals("http://api.test/persisted", store.loadRecent(1).get(0).getUrl());
+        assertEquals(1, store.search(HistoryQuery.parse("url:persisted")).size());
+    }
+
+    private static Request get(String url) {
+        Request request = Request.createNew("Get", HttpMethod.GET);
+        request.setUrl(url);
+        return request;
+    }
+
+    private static Response response(int status, long duration, String body) {
+        return Response.builder()
+                .statusCode(status)
+                .duration(duration)
+                .size((long) body.length())
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package net.ooml.jpostman.service.http;
+
+import okhttp3.Dns;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingDnsTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    /**
+     * Resolves every host to 10.0.0.1, except "missing" which does not exist
+     */
+    private final Dns delegate = hostname -> {
+        lookups.incrementAndGet();
+        if ("missing".equals(hostname)) {
+            throw new UnknownHostException(hostname);
+        }
+        return List.of(InetAddress.getByAddress(hostname, new byte[]{10, 0, 0, 1}));
+    };
+
+    @Test
+    void cachesSuccessfulLookups() throws Exception {
+        CachingDns dns = new CachingDns(delegate, 60_000, 60_000);
+
+        dns.lookup("example.com");
+        dns.lookup("example.com");
+
+        assertEquals(1, lookups.get());
+        assertEquals(1, dns.size());
+    }
+
+    @Test
+    void cachesFailedLookupsForNegativeTtl() {
+        CachingDns dns = new CachingDns(delegate, 60_000, 60_000);
+
+        assertThrows(UnknownHostException.class, () -> dns.lookup("missing"));
+        assertThrows(UnknownHostException.class, () -> dns.lookup("missing"));
+
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void zeroTtlDisablesCaching() throws Exception {
+        CachingDns dns = new CachingDns(delegate, 0, 0);
+
+        dns.lookup("example.com");
+        dns.lookup("example.com");
+
+        assertEquals(2, lookups.get());
+        assertEquals(0, dns.size());
+    }
+
+    @Test
+    void expiredEntriesAreLookedUpAgain() throws Exception {
+        CachingDns dns = new CachingDns(delegate, 1, 1);
+
+        dns.lookup("example.com");
+        Thread.sleep(5);
+        dns.lookup("example.com");
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void overrideToAddressSkipsLookup() throws Exception {
+        CachingDns dns = new CachingDns(delegate, 60_000, 60_000);
+        dns.setOverrides(() -> Map.of("API.example.com", "127.0.0.2, 127.0.0.3"));
+
+        List<InetAddress> addresses = dns.lookup("api.example.com");
+
+        assertEquals(2, addresses.size());
+        assertEquals("127.0.0.2", addresses.get(0).getHostAddress());
+        assertEquals("api.example.com", addresses.get(0).getHostName());
+        assertEquals(0, lookups.get());
+        assertEquals(0, dns.size(), "overrides are not cached");
+    }
+
+    @Test
+    void overrideToHostNameResolvesTarget() throws Exception {
+        CachingDns dns = new CachingDns(delegate, 60_000, 60_000);
+        dns.setOverrides(() -> Map.of("api.example.com", "staging.example.com"));
+
+        List<InetAddress> addresses = dns.lookup("api.example.com");
+
+        assertEquals("10.0.0.1", addresses.get(0).getHostAddress());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void overrideLoopFails() {
+        CachingDns dns = new CachingDns(delegate, 60_000, 60_000);
+        dns.setOverrides(() -> Map.of("a.test", "b.test", "b.test", "a.test"));
+
+        assertThrows(UnknownHostException.class, () -> dns.lookup("a.test"));
+    }
+}
@@ -0,0 +1,141 @@
+package net.ooml.jpostman.service.http;
+
+import net.ooml.jpostman.model.ClientProfile;
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.model.Header;
+import net.ooml.jpostman.model.MockResponse;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.Response;
+import net.ooml.jpostman.model.RunReport;
+import net.ooml.jpostman.model.enums.CacheMode;
+import net.ooml.jpostman.model.enums.CacheStatus;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.service.mock.MockServer;
+import net.ooml.jpostman.service.runner.CollectionRunner;
+import net.ooml.jpostman.service.variable.VariableResolver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Disk response cache in each cache mode
+ */
+class HttpCacheTest {
+
+    private static MockServer mockServer;
+
+    @TempDir
+    Path cacheDirectory;
+
+    private HttpClientService httpClient;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        mockServer = new MockServer();
+        mockServer.stub(HttpMethod.GET, "/cached", MockResponse.builder()
+                .body("{\"fresh\":true}")
+                .headers(List.of(Header.builder().key("Cache-Control").value("max-age=60").enabled(true).build()))
+                .build());
+        mockServer.start(0);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        mockServer.stop();
+    }
+
+    @BeforeEach
+    void resetStats() {
+        mockServer.resetStats();
+    }
+
+    @AfterEach
+    void shutdownClient() {
+        if (httpClient != null) {
+            httpClient.shutdown();
+        }
+    }
+
+    @Test
+    void offModeAlwaysUsesTheNetwork() {
+        httpClient = client(CacheMode.OFF);
+
+        Response first = httpClient.execute(cachedRequest());
+        Response second = httpClient.execute(cachedRequest());
+
+        assertNull(first.getCacheStatus());
+        assertNull(second.getCacheStatus());
+        assertEquals(2, mockServer.getStats().getRequests());
+    }
+
+    @Test
+    void standardModeServesFreshResponsesFromCache() {
+        httpClient = client(CacheMode.STANDARD);
+
+        Response first = httpClient.execute(cachedRequest());
+        Response second = httpClient.execute(cachedRequest());
+
+        assertNull(first.getCacheStatus());
+        assertEquals(CacheStatus.HIT, second.getCacheStatus());
+        assertEquals(first.getBody(), second.getBody());
+        assertEquals(1, mockServer.getStats().getRequests());
+    }
+
+    @Test
+    void revalidateModeAsksTheServerEveryTime() {
+        httpClient = client(CacheMode.REVALIDATE);
+
+        httpClient.execute(cachedRequest());
+        Response second = httpClient.execute(cachedRequest());
+
+        assertNotEquals(CacheStatus.HIT, second.getCacheStatus());
+        assertEquals(2, mockServer.getStats().getRequests());
+    }
+
+    @Test
+    void collectionRunsBypassTheCache() {
+        httpClient = client(CacheMode.STANDARD);
+        httpClient.execute(cachedRequest());
+
+        Collection collection = Collection.createNew("Cached");
+        collection.getRequests().add(cachedRequest());
+        collection.getRequests().add(cachedRequest());
+        RunReport report = new CollectionRunner(httpClient).run(collection, 1);
+
+        assertEquals(2, report.getSuccessCount());
+        assertEquals(3, mockServer.getStats().getRequests());
+    }
+
+    @Test
+    void closedCacheIsNoLongerUsed() {
+        httpClient = client(CacheMode.STANDARD);
+        httpClient.execute(cachedRequest());
+
+        httpClient.closeCache(cacheDirectory);
+        Response response = httpClient.execute(cachedRequest());
+
+        assertNull(response.getCacheStatus());
+        assertEquals(2, mockServer.getStats().getRequests());
+    }
+
+    private HttpClientService client(CacheMode mode) {
+        HttpClientService client = new HttpClientService(new VariableResolver(),
+                ClientProfile.builder().cacheMode(mode).build());
+        client.setCacheDirectory(cacheDirectory);
+        return client;
+    }
+
+    private static Request cachedRequest() {
+        Request request = Request.createNew("Cached", HttpMethod.GET);
+        request.setUrl(mockServer.getBaseUrl() + "/cached");
+        return request;
+    }
+}
@@ -0,0 +1,321 @@
+package net.ooml.jpostman.service.http;
+
+import net.ooml.jpostman.model.*;
+import net.ooml.jpostman.model.enums.AuthType;
+import net.ooml.jpostman.model.enums.ExecutionMode;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.service.history.HistoryStore;
+import net.ooml.jpostman.service.loadtest.LoadTestEngine;
+import net.ooml.jpostman.service.mock.MockServer;
+import net.ooml.jpostman.service.runner.CollectionRunner;
+import net.ooml.jpostman.service.variable.VariableResolver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP client tests against an in-process MockServer, no network access needed
+ */
+class HttpClientServiceTest {
+
+    private static final String BODY_UNDER_TEST = "{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"age\":30}";
+
+    private static MockServer mockServer;
+    private static HttpClientService httpClient;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        // httpbin-like routes
+        mockServer = new MockServer();
+        mockServer.stub(null, "/anything", MockResponse.createEcho());
+        mockServer.stub(HttpMethod.GET, "/status/:code", MockResponse.json(418, "{\"teapot\":true}"));
+        mockServer.stub(HttpMethod.GET, "/delay", MockResponse.builder()
+                .body("late")
+                .latencyMs(200L)
+                .build());
+        mockServer.stub(HttpMethod.GET, "/stream", MockResponse.builder()
+                .body("x".repeat(64 * 1024))
+                .chunkSize(4096)
+                .chunkDelayMs(5L)
+                .build());
+        mockServer.start(0);
+
+        Environment testEnv = Environment.createNew("Test");
+        testEnv.setVariable("baseUrl", mockServer.getBaseUrl());
+        testEnv.setVariable("apiKey", "test-key-123");
+        VariableResolver variableResolver = new VariableResolver();
+        variableResolver.setEnvironmentVariables(testEnv);
+
+        httpClient = new HttpClientService(variableResolver, 10000);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        if (httpClient != null) {
+            httpClient.shutdown();
+        }
+        mockServer.stop();
+    }
+
+    @Test
+    void simpleGet() {
+        Response response = httpClient.execute(request(HttpMethod.GET, "{{baseUrl}}/anything"));
+
+        assertEquals(200, response.getStatusCode());
+        assertTrue(response.getBody().contains("\"method\":\"GET\""), "server received GET");
+    }
+
+    @Test
+    void getWithQueryParameters() {
+        Response response = httpClient.execute(request(HttpMethod.GET, "{{baseUrl}}/anything?foo=bar&test=123"));
+
+        assertTrue(response.getBody().contains("\"query\":\"foo=bar&test=123\""), "query string is sent");
+    }
+
+    @Test
+    void postJsonBody() {
+        Request request = request(HttpMethod.POST, "{{baseUrl}}/anything");
+        request.setBody(RequestBody.createJson(BODY_UNDER_TEST));
+
+        Response response = httpClient.execute(request);
+
+        assertTrue(response.getBody().contains("\"method\":\"POST\""), "server received POST");
+        assertTrue(response.getBody().contains("John Doe"), "body is sent");
+        assertTrue(response.getBody().contains("application/json"), "JSON content type is sent");
+    }
+
+    @Test
+    void countsBytesOnTheWire() {
+        Request request = request(HttpMethod.POST, "{{baseUrl}}/anything");
+        request.setBody(RequestBody.createJson(BODY_UNDER_TEST));
+
+        Response response = httpClient.execute(request);
+
+        ByteCounts counts = response.getByteCounts();
+        assertNotNull(counts);
+        assertEquals(BODY_UNDER_TEST.length(), counts.getRequestBodyBytes());
+        assertEquals(response.getSize(), counts.getResponseBodyBytes());
+        assertTrue(counts.getResponseHeaderBytes() > 0);
+    }
+
+    @Test
+    void customHeaders() {
+        Request request = request(HttpMethod.GET, "{{baseUrl}}/anything");
+        request.setHeaders(List.of(
+                Header.builder().key("X-Custom-Header").value("CustomValue123").enabled(true).build(),
+                Header.builder().key("X-API-Key").value("{{apiKey}}").enabled(true).build(),
+                Header.builder().key("X-Disabled-Header").value("never").enabled(false).build()));
+
+        Response response = httpClient.execute(request);
+
+        assertTrue(response.getBody().contains("CustomValue123"), "custom header is sent");
+        assertTrue(response.getBody().contains("test-key-123"), "header variable is resolved");
+        assertFalse(response.getBody().contains("never"), "disabled header is not sent");
+    }
+
+    @Test
+    void basicAuthentication() {
+        Request request = request(HttpMethod.GET, "{{baseUrl}}/anything");
+        request.setAuth(AuthConfig.builder()
+                .type(AuthType.BASIC)
+                .username("user")
+                .password("passwd")
+                .build());
+
+        Response response = httpClient.execute(request);
+
+        // base64("user:passwd")
+        assertTrue(response.getBody().contains("Basic dXNlcjpwYXNzd2Q="), "basic credentials are sent");
+    }
+
+    @Test
+    void bearerTokenAuthentication() {
+        Request request = request(HttpMethod.GET, "{{baseUrl}}/anything");
+        request.setAuth(AuthConfig.builder()
+                .type(AuthType.BEARER)
+                .token("test-token-12345")
+                .build());
+
+        Response response = httpClient.execute(request);
+
+        assertTrue(response.getBody().contains("Bearer test-token-12345"), "bearer token is sent");
+    }
+
+    @Test
+    void statusCodeAndUnmatchedRoute() {
+        Response response = httpClient.execute(request(HttpMethod.GET, "{{baseUrl}}/status/418"));
+        assertEquals(418, response.getStatusCode());
+        assertFalse(response.isSuccessful());
+
+        response = httpClient.execute(request(HttpMethod.GET, "{{baseUrl}}/missing"));
+        assertEquals(404, response.getStatusCode());
+    }
+
+    @Test
+    void artificialLatency() {
+        Response response = httpClient.execute(request(HttpMethod.GET, "{{baseUrl}}/delay"));
+
+        assertTrue(response.getDuration() >= 200, "duration includes 200ms latency");
+    }
+
+    @Test
+    void chunkedStreamingResponse() {
+        Response response = httpClient.execute(request(HttpMethod.GET, "{{baseUrl}}/stream"));
+        try {
+            assertEquals(64 * 1024, response.getSize());
+            assertTrue(response.getHeaders().stream().anyMatch(h -> "chunked".equalsIgnoreCase(h.getValue())),
+                    "response uses chunked transfer encoding");
+        } finally {
+            response.releaseBody();
+        }
+    }
+
+    @Test
+    void collectionRunnerAgainstMountedMocks() {
+        Collection collection = Collection.createNew("Mocked API");
+        for (int i = 0; i < 20; i++) {
+            Request request = request(HttpMethod.GET, "{{baseUrl}}/users/" + i);
+            request.setMock(MockResponse.json(200, "{\"id\":" + i + "}"));
+            collection.getRequests().add(request);
+        }
+        assertEquals(20, mockServer.mount(collection));
+
+        RunReport report = new CollectionRunner(httpClient).run(collection, 4);
+
+        assertEquals(20, report.getSuccessCount());
+        assertTrue(report.getTotalBytesReceived() > 0);
+    }
+
+    @Test
+    void runnerRecordsIntoTheClientHistory(@TempDir Path historyDirectory) throws Exception {
+        HistoryStore history = new HistoryStore(historyDirectory, 1000);
+        httpClient.setHistoryStore(history);
+        try {
+            Collection collection = Collection.createNew("Recorded");
+            for (int i = 0; i < 200; i++) {
+                collection.getRequests().add(request(HttpMethod.GET, "{{baseUrl}}/anything?i=" + i));
+            }
+
+            RunReport report = new CollectionRunner(httpClient).run(collection, 8);
+            List<HistoryRecord> records = history.loadRecent(1000);
+
+            assertEquals(200, report.getSuccessCount());
+            assertEquals(200, records.size());
+            assertTrue(records.stream().allMatch(r -> "runner".equals(r.getSource())));
+            assertTrue(records.get(0).getUrl().startsWith(mockServer.getBaseUrl()), "URL is recorded as sent");
+        } finally {
+            httpClient.setHistoryStore(null);
+            history.close();
+        }
+    }
+
+    @Test
+    void runnerSurvivesABackendSwitch() {
+        HttpClientService client = new HttpClientService(new VariableResolver(), ClientProfile.builder()
+                .executionMode(ExecutionMode.PLATFORM)
+                .workerThreads(2)
+                .build());
+        try {
+            Collection collection = Collection.createNew("Switched");
+            for (int i = 0; i < 10; i++) {
+                collection.getRequests().add(request(HttpMethod.GET, mockServer.getBaseUrl() + "/anything"));
+            }
+
+            // The old backend is retired while the run still has requests to submit
+            RunReport report = new CollectionRunner(client).run(collection, null, 1, (result, completed, total) -> {
+                if (completed == 1) {
+                    client.applyProfile(ClientProfile.builder()
+                            .executionMode(ExecutionMode.PLATFORM)
+                            .workerThreads(3)
+                            .build());
+                }
+            });
+
+            assertEquals(10, report.getSuccessCount());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void runnerPrewarmsOnlyWhenEnabled() {
+        Collection collection = Collection.createNew("Prewarm");
+        Request request = request(HttpMethod.GET, "{{baseUrl}}/anything");
+        collection.getRequests().add(request);
+
+        mockServer.resetStats();
+        new CollectionRunner(httpClient).run(collection, 1);
+        assertEquals(1, mockServer.getStats().getRequests(), "no HEAD request by default");
+
+        mockServer.resetStats();
+        CollectionRunner prewarming = new CollectionRunner(httpClient);
+        prewarming.setPrewarm(true);
+        prewarming.run(collection, 1);
+        assertEquals(2, mockServer.getStats().getRequests(), "HEAD to the origin, then the request");
+    }
+
+    @Test
+    void cancelDuringPrewarmStopsTheRun() throws Exception {
+        MockServer slowOrigin = new MockServer();
+        slowOrigin.stub(HttpMethod.HEAD, "/", MockResponse.builder().latencyMs(500L).build());
+        slowOrigin.stub(null, "/anything", MockResponse.createEcho());
+        slowOrigin.start(0);
+        try {
+            Collection collection = Collection.createNew("Cancelled");
+            for (int i = 0; i < 3; i++) {
+                collection.getRequests().add(request(HttpMethod.GET, slowOrigin.getBaseUrl() + "/anything"));
+            }
+            CollectionRunner runner = new CollectionRunner(httpClient);
+            runner.setPrewarm(true);
+
+            CompletableFuture<RunReport> run = CompletableFuture.supplyAsync(() -> runner.run(collection, 1));
+            Thread.sleep(200);
+            runner.cancel();
+            RunReport report = run.get(10, TimeUnit.SECONDS);
+
+            assertEquals(3, report.getCancelledCount());
+            assertEquals(1, slowOrigin.getStats().getRequests(), "only the prewarm HEAD reaches the server");
+        } finally {
+            slowOrigin.stop();
+        }
+    }
+
+    @Test
+    void loadTest() {
+        LoadTestReport report = new LoadTestEngine(httpClient)
+                .run(request(HttpMethod.GET, "{{baseUrl}}/anything"), 200, Duration.ofSeconds(2), null);
+
+        assertTrue(report.getCompleted() > 0, "load test completes requests");
+        assertEquals(0, report.getErrors());
+    }
+
+    @Test
+    void abortedLoadTestReportsCancelledRequestsSeparately() throws Exception {
+        LoadTestEngine engine = new LoadTestEngine(httpClient);
+        CompletableFuture<LoadTestReport> run = CompletableFuture.supplyAsync(() -> engine
+                .run(request(HttpMethod.GET, "{{baseUrl}}/delay"), 100, Duration.ofSeconds(5), null));
+        Thread.sleep(300);
+        engine.abort();
+        LoadTestReport report = run.get(10, TimeUnit.SECONDS);
+
+        assertTrue(report.getCancelled() > 0, "requests in flight are cancelled");
+        assertEquals(report.getSent(), report.getCompleted() + report.getCancelled() + report.getIncomplete());
+        assertEquals(0, report.getErrors());
+        assertEquals(0.0, report.getErrorRate());
+    }
+
+    private static Request request(HttpMethod method, String url) {
+        Request request = Request.createNew(method + " " + url, method);
+        request.setUrl(url);
+        return request;
+    }
+}
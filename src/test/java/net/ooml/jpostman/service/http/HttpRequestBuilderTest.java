@@ -0,0 +1,126 @@
+package net.ooml.jpostman.service.http;
+
+import net.ooml.jpostman.model.Environment;
+import net.ooml.jpostman.model.Header;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.RequestBody;
+import net.ooml.jpostman.model.enums.CompressionType;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.service.variable.VariableSnapshot;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpRequestBuilderTest {
+
+    private static final String BODY = "{\"items\":[" + "{\"id\":1,\"name\":\"repeated\"},".repeat(50) + "{}]}";
+
+    private final HttpRequestBuilder builder = new HttpRequestBuilder(null);
+
+    @Test
+    void resolvesUrlAndBodyVariables() throws IOException {
+        Request request = post("{\"id\":\"{{id}}\"}");
+        VariableSnapshot variables = VariableSnapshot.EMPTY
+                .withLocal("baseUrl", "http://api.test")
+                .withLocal("id", "42");
+
+        okhttp3.Request built = builder.build(request, variables);
+
+        assertEquals("http://api.test/items", built.url().toString());
+        assertEquals("{\"id\":\"42\"}", bodyOf(built).readUtf8());
+    }
+
+    @Test
+    void compressesBodyWithGzip() throws IOException {
+        Request request = post(BODY);
+        request.setCompression(CompressionType.GZIP);
+
+        okhttp3.Request built = builder.build(request, variables());
+
+        assertEquals("gzip", built.header("Content-Encoding"));
+        byte[] sent = bodyOf(built).readByteArray();
+        assertTrue(sent.length < BODY.length(), "body is smaller on the wire");
+        assertEquals(BODY, inflate(new GZIPInputStream(new ByteArrayInputStream(sent))));
+        assertEquals(sent.length, built.body().contentLength(), "body keeps a Content-Length");
+    }
+
+    @Test
+    void compressesBodyWithDeflate() throws IOException {
+        Request request = post(BODY);
+        request.setCompression(CompressionType.DEFLATE);
+
+        okhttp3.Request built = builder.build(request, variables());
+
+        assertEquals("deflate", built.header("Content-Encoding"));
+        assertEquals(BODY, inflate(new InflaterInputStream(new ByteArrayInputStream(bodyOf(built).readByteArray()))));
+    }
+
+    @Test
+    void usesEnvironmentCompressionByDefault() throws IOException {
+        Environment environment = Environment.createNew("Compressed");
+        environment.setVariable("baseUrl", "http://api.test");
+        environment.setRequestCompression(CompressionType.GZIP);
+
+        okhttp3.Request built = builder.build(post(BODY), VariableSnapshot.of(null, environment));
+
+        assertEquals("gzip", built.header("Content-Encoding"));
+    }
+
+    @Test
+    void requestOverridesEnvironmentCompression() throws IOException {
+        Environment environment = Environment.createNew("Compressed");
+        environment.setVariable("baseUrl", "http://api.test");
+        environment.setRequestCompression(CompressionType.GZIP);
+        Request request = post(BODY);
+        request.setCompression(CompressionType.NONE);
+
+        okhttp3.Request built = builder.build(request, VariableSnapshot.of(null, environment));
+
+        assertNull(built.header("Content-Encoding"));
+        assertEquals(BODY, bodyOf(built).readUtf8());
+    }
+
+    @Test
+    void ownContentEncodingHeaderDisablesCompression() throws IOException {
+        Request request = post(BODY);
+        request.setCompression(CompressionType.GZIP);
+        request.setHeaders(List.of(Header.builder().key("Content-Encoding").value("identity").enabled(true).build()));
+
+        okhttp3.Request built = builder.build(request, variables());
+
+        assertEquals("identity", built.header("Content-Encoding"));
+        assertEquals(BODY, bodyOf(built).readUtf8());
+    }
+
+    private static Request post(String body) {
+        Request request = Request.createNew("Post", HttpMethod.POST);
+        request.setUrl("{{baseUrl}}/items");
+        request.setBody(RequestBody.createJson(body));
+        return request;
+    }
+
+    private static VariableSnapshot variables() {
+        return VariableSnapshot.EMPTY.withLocal("baseUrl", "http://api.test");
+    }
+
+    private static Buffer bodyOf(okhttp3.Request request) throws IOException {
+        Buffer buffer = new Buffer();
+        request.body().writeTo(buffer);
+        return buffer;
+    }
+
+    private static String inflate(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
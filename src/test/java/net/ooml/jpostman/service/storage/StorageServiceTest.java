@@ -0,0 +1,160 @@
+package net.ooml.jpostman.service.storage;
+
+import net.ooml.jpostman.config.PathConfig;
+import net.ooml.jpostman.model.Collection;
+import net.ooml.jpostman.model.Environment;
+import net.ooml.jpostman.model.Request;
+import net.ooml.jpostman.model.enums.HttpMethod;
+import net.ooml.jpostman.model.enums.StorageFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StorageService against a throwaway project in the test application home
+ */
+class StorageServiceTest {
+
+    private final StorageService storage = StorageService.getInstance();
+    private String project;
+
+    @BeforeEach
+    void createProject() throws Exception {
+        project = "test-" + UUID.randomUUID().toString().substring(0, 8);
+        storage.createProject(project);
+    }
+
+    @AfterEach
+    void deleteProject() throws Exception {
+        storage.deleteProject(project);
+    }
+
+    @Test
+    void savedCollectionIsLoadedBack() throws Exception {
+        Collection collection = collectionWithRequest("Orders");
+
+        storage.saveCollection(project, collection);
+        Collection loaded = storage.loadCollection(project, collection.getId());
+
+        assertEquals("Orders", loaded.getName());
+        assertEquals(1, loaded.getRequests().size());
+        assertEquals("{{baseUrl}}/orders", loaded.getRequests().get(0).getUrl());
+    }
+
+    @Test
+    void loadReturnsCopiesOfTheCachedCollection() throws Exception {
+        Collection collection = collectionWithRequest("Orders");
+        storage.saveCollection(project, collection).get();
+
+        Collection first = storage.loadCollection(project, collection.getId());
+        first.setName("Unsaved edit");
+        collection.setName("Changed after save");
+
+        assertNotSame(first, storage.loadCollection(project, collection.getId()));
+        assertEquals("Orders", storage.loadCollection(project, collection.getId()).getName());
+    }
+
+    @Test
+    void externalEditIsDetected() throws Exception {
+        Collection collection = collectionWithRequest("Orders");
+        storage.saveCollection(project, collection).get();
+        storage.loadCollection(project, collection.getId());
+
+        Path file = StorageCodec.of(StorageFormat.JSON)
+                .resolve(PathConfig.getCollectionsDirectory(project), collection.getId());
+        Files.writeString(file, Files.readString(file).replace("\"Orders\"", "\"Edited elsewhere\""));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        assertEquals("Edited elsewhere", storage.loadCollection(project, collection.getId()).getName());
+    }
+
+    @Test
+    void summariesListEveryCollection() throws Exception {
+        storage.saveCollection(project, collectionWithRequest("First"));
+        storage.saveCollection(project, collectionWithRequest("Second"));
+
+        List<String> names = storage.loadCollectionSummaries(project).stream()
+                .map(Collection::getName)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(List.of("First", "Second"), names);
+    }
+
+    @Test
+    void convertsProjectBetweenFormats() throws Exception {
+        Collection collection = collectionWithRequest("Orders");
+        storage.saveCollection(project, collection);
+        Environment environment = Environment.createNew("Staging");
+        environment.setVariable("baseUrl", "https://staging.test");
+        storage.saveEnvironment(project, environment);
+
+        assertEquals(2, storage.convertProject(project, StorageFormat.SMILE));
+        assertEquals(StorageFormat.SMILE, storage.getStorageFormat(project));
+        assertEquals(List.of(".smile", ".smile"), extensions());
+        assertEquals("Orders", storage.loadCollection(project, collection.getId()).getName());
+        assertEquals("https://staging.test",
+                storage.loadEnvironment(project, "Staging").getVariableValue("baseUrl"));
+
+        storage.convertProject(project, StorageFormat.JSON);
+        assertEquals(List.of(".json", ".json"), extensions());
+    }
+
+    @Test
+    void keepsTheNewestCopyOfADocumentInBothFormats() throws Exception {
+        Collection collection = collectionWithRequest("Current");
+        storage.saveCollection(project, collection).get();
+
+        // Stale copy left behind by an interrupted conversion
+        Path collectionsDir = PathConfig.getCollectionsDirectory(project);
+        StorageCodec smile = StorageCodec.of(StorageFormat.SMILE);
+        Collection stale = collectionWithRequest("Stale");
+        stale.setId(collection.getId());
+        Path staleFile = smile.resolve(collectionsDir, collection.getId());
+        Files.write(staleFile, smile.documentWriter(Collection.class).writeValueAsBytes(stale));
+        Files.setLastModifiedTime(staleFile, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+
+        List<Collection> collections = storage.loadAllCollections(project);
+
+        assertEquals(1, collections.size());
+        assertEquals("Current", collections.get(0).getName());
+        assertFalse(Files.exists(staleFile));
+    }
+
+    @Test
+    void deletedCollectionIsGone() throws Exception {
+        Collection collection = collectionWithRequest("Orders");
+        storage.saveCollection(project, collection);
+
+        assertTrue(storage.deleteCollection(project, collection.getId()));
+        assertTrue(storage.loadAllCollections(project).isEmpty());
+    }
+
+    private List<String> extensions() throws Exception {
+        try (Stream<Path> collections = Files.list(PathConfig.getCollectionsDirectory(project));
+             Stream<Path> environments = Files.list(PathConfig.getEnvironmentsDirectory(project))) {
+            return Stream.concat(collections, environments)
+                    .map(file -> file.getFileName().toString())
+                    .map(name -> name.substring(name.lastIndexOf('.')))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static Collection collectionWithRequest(String name) {
+        Collection collection = Collection.createNew(name);
+        Request request = Request.createNew("List orders", HttpMethod.GET);
+        request.setUrl("{{baseUrl}}/orders");
+        collection.addRequest(request);
+        return collection;
+    }
+}
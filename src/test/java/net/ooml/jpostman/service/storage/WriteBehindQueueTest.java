@@ -0,0 +1,95 @@
+package net.ooml.jpostman.service.storage;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+
+    private static final ObjectWriter WRITER = JsonSerializer.compactWriterFor(Object.class);
+
+    @TempDir
+    Path directory;
+
+    private final WriteBehindQueue queue = new WriteBehindQueue(10_000);
+
+    @AfterEach
+    void shutdown() {
+        queue.shutdown();
+    }
+
+    @Test
+    void serializesOnSubmit() throws Exception {
+        Path file = directory.resolve("list.json");
+        List<String> value = new ArrayList<>(List.of("saved"));
+
+        CompletableFuture<Void> written = queue.submit(file, value, WRITER);
+        value.add("changed after save");
+        queue.flush(file);
+
+        assertTrue(written.isDone());
+        assertEquals("[\"saved\"]", Files.readString(file));
+    }
+
+    @Test
+    void coalescesSavesOfTheSameFile() throws Exception {
+        Path file = directory.resolve("value.json");
+
+        CompletableFuture<Void> first = queue.submit(file, Map.of("version", 1), WRITER);
+        CompletableFuture<Void> second = queue.submit(file, Map.of("version", 2), WRITER);
+        queue.flush(file);
+
+        assertSame(first, second);
+        assertEquals("{\"version\":2}", Files.readString(file));
+    }
+
+    @Test
+    void writesAfterTheCoalescingDelay() throws Exception {
+        WriteBehindQueue fast = new WriteBehindQueue(10);
+        try {
+            Path file = directory.resolve("delayed.json");
+            fast.submit(file, List.of(1), WRITER).get(5, TimeUnit.SECONDS);
+            assertEquals("[1]", Files.readString(file));
+        } finally {
+            fast.shutdown();
+        }
+    }
+
+    @Test
+    void flushDirectoryWritesOnlyFilesUnderIt() throws Exception {
+        Path inside = directory.resolve("a").resolve("inside.json");
+        Path outside = directory.resolve("b").resolve("outside.json");
+        Files.createDirectories(inside.getParent());
+        Files.createDirectories(outside.getParent());
+
+        queue.submit(inside, List.of(), WRITER);
+        CompletableFuture<Void> other = queue.submit(outside, List.of(), WRITER);
+        queue.flushDirectory(inside.getParent());
+
+        assertTrue(Files.exists(inside));
+        assertFalse(other.isDone());
+    }
+
+    @Test
+    void discardDropsQueuedWrites() throws Exception {
+        Path file = directory.resolve("discarded.json");
+
+        CompletableFuture<Void> written = queue.submit(file, List.of(), WRITER);
+        assertTrue(queue.discard(file));
+        queue.flushAll();
+
+        assertTrue(written.isCancelled(), "a dropped write is not reported as written");
+        assertFalse(Files.exists(file));
+    }
+}